@@ -0,0 +1,160 @@
+package ph.com.nightowlstudios.cluster;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.AsyncMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AsyncMap} of a {@link LocalClusterManager}: a view, bound to the Vert.x of one node, on entries
+ * shared by every node of the JVM. Entries put with a ttl are removed by a timer of that node, and read as
+ * absent once expired should the node be gone before it fires.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class LocalAsyncMap<K, V> implements AsyncMap<K, V> {
+
+  private final Vertx vertx;
+  private final ConcurrentMap<K, Holder<V>> entries;
+
+  LocalAsyncMap(Vertx vertx, ConcurrentMap<K, Holder<V>> entries) {
+    this.vertx = vertx;
+    this.entries = entries;
+  }
+
+  @Override
+  public Future<V> get(K k) {
+    return Future.succeededFuture(valueOf(this.entries.get(k)));
+  }
+
+  @Override
+  public Future<Void> put(K k, V v) {
+    this.entries.put(k, new Holder<>(v, 0));
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> put(K k, V v, long ttl) {
+    Holder<V> holder = expiring(k, v, ttl);
+    this.entries.put(k, holder);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<V> putIfAbsent(K k, V v) {
+    return putIfAbsent(k, new Holder<>(v, 0));
+  }
+
+  @Override
+  public Future<V> putIfAbsent(K k, V v, long ttl) {
+    return putIfAbsent(k, expiring(k, v, ttl));
+  }
+
+  @Override
+  public Future<V> remove(K k) {
+    return Future.succeededFuture(valueOf(this.entries.remove(k)));
+  }
+
+  @Override
+  public Future<Boolean> removeIfPresent(K k, V v) {
+    Holder<V> current = this.entries.get(k);
+    return Future.succeededFuture(valueOf(current) != null && current.value.equals(v) && this.entries.remove(k, current));
+  }
+
+  @Override
+  public Future<V> replace(K k, V v) {
+    Holder<V> current = this.entries.get(k);
+    if (valueOf(current) == null || !this.entries.replace(k, current, new Holder<>(v, 0))) {
+      return Future.succeededFuture();
+    }
+    return Future.succeededFuture(current.value);
+  }
+
+  @Override
+  public Future<Boolean> replaceIfPresent(K k, V oldValue, V newValue) {
+    Holder<V> current = this.entries.get(k);
+    return Future.succeededFuture(valueOf(current) != null && current.value.equals(oldValue)
+      && this.entries.replace(k, current, new Holder<>(newValue, 0)));
+  }
+
+  @Override
+  public Future<Void> clear() {
+    this.entries.clear();
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<Integer> size() {
+    return entries().map(Map::size);
+  }
+
+  @Override
+  public Future<Set<K>> keys() {
+    return entries().map(entries -> new HashSet<>(entries.keySet()));
+  }
+
+  @Override
+  public Future<List<V>> values() {
+    return entries().map(entries -> new ArrayList<>(entries.values()));
+  }
+
+  @Override
+  public Future<Map<K, V>> entries() {
+    Map<K, V> live = new HashMap<>();
+    this.entries.forEach((k, holder) -> {
+      V value = valueOf(holder);
+      if (value != null) {
+        live.put(k, value);
+      }
+    });
+    return Future.succeededFuture(live);
+  }
+
+  private Future<V> putIfAbsent(K k, Holder<V> holder) {
+    Holder<V> current;
+    do {
+      current = this.entries.putIfAbsent(k, holder);
+      if (current == null) {
+        return Future.succeededFuture();
+      }
+      if (valueOf(current) != null) {
+        return Future.succeededFuture(current.value);
+      }
+      // Expired but not removed yet, take its place.
+    } while (!this.entries.replace(k, current, holder));
+    return Future.succeededFuture();
+  }
+
+  private Holder<V> expiring(K k, V v, long ttl) {
+    Holder<V> holder = new Holder<>(v, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl));
+    this.vertx.setTimer(Math.max(1, ttl), id -> this.entries.remove(k, holder));
+    return holder;
+  }
+
+  private static <V> V valueOf(Holder<V> holder) {
+    return holder == null || holder.expired() ? null : holder.value;
+  }
+
+  static final class Holder<V> {
+    private final V value;
+    private final long expiresAt;
+
+    private Holder(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean expired() {
+      return this.expiresAt != 0 && this.expiresAt - System.nanoTime() <= 0;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package ph.com.nightowlstudios.cluster;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.core.shareddata.Counter;
+import io.vertx.core.shareddata.Lock;
+import io.vertx.core.spi.cluster.ClusterManager;
+import io.vertx.core.spi.cluster.NodeInfo;
+import io.vertx.core.spi.cluster.NodeListener;
+import io.vertx.core.spi.cluster.NodeSelector;
+import io.vertx.core.spi.cluster.RegistrationInfo;
+import io.vertx.core.spi.cluster.RegistrationUpdateEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-JVM {@link ClusterManager}: every clustered <code>Vert.x</code> instance of the JVM created with one joins
+ * the same cluster, without any discovery or coordination service. Nodes still talk to each other through the
+ * clustered event bus, over the loopback interface.
+ * <p>
+ * Meant for running multi-node setups, ie: HTTP nodes and service nodes, in one process:
+ * <pre>
+ * Vertx.clusteredVertx(new VertxOptions().setClusterManager(new LocalClusterManager()))
+ * </pre>
+ * Use a real cluster manager for anything spanning more than one JVM.
+ * <p>
+ * Only public Vert.x APIs are used. Cluster state lives in the JVM, while the maps, counters and locks a node
+ * gets are bound to its own Vert.x. A node drops its info and registrations when it leaves, and the last node
+ * to leave drops the maps, counters and locks.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class LocalClusterManager implements ClusterManager {
+
+  private static final Map<String, LocalClusterManager> nodes = Collections.synchronizedMap(new LinkedHashMap<>());
+  private static final Map<String, NodeInfo> nodeInfos = new ConcurrentHashMap<>();
+  private static final Map<String, List<RegistrationInfo>> registrations = new ConcurrentHashMap<>();
+  private static final Map<String, Map<?, ?>> syncMaps = new ConcurrentHashMap<>();
+  private static final Map<String, ConcurrentMap<?, ?>> asyncMaps = new ConcurrentHashMap<>();
+  private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private static final Map<String, Semaphore> locks = new ConcurrentHashMap<>();
+
+  private Vertx vertx;
+  private NodeSelector nodeSelector;
+  private NodeListener nodeListener;
+  private NodeInfo nodeInfo;
+  private volatile String nodeId;
+  private volatile boolean active;
+
+  @Override
+  public void init(Vertx vertx, NodeSelector nodeSelector) {
+    this.vertx = vertx;
+    this.nodeSelector = nodeSelector;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> void getAsyncMap(String name, Promise<AsyncMap<K, V>> promise) {
+    ConcurrentMap<K, LocalAsyncMap.Holder<V>> entries = (ConcurrentMap<K, LocalAsyncMap.Holder<V>>) asyncMaps.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    promise.complete(new LocalAsyncMap<>(this.vertx, entries));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Map<K, V> getSyncMap(String name) {
+    return (Map<K, V>) syncMaps.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+  }
+
+  @Override
+  public void getLockWithTimeout(String name, long timeout, Promise<Lock> promise) {
+    Semaphore semaphore = locks.computeIfAbsent(name, key -> new Semaphore(1));
+    this.vertx.<Lock>executeBlocking(acquire -> {
+      try {
+        if (!semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+          acquire.fail(String.format("Timed out waiting to get lock %s", name));
+          return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        acquire.complete(() -> {
+          if (released.compareAndSet(false, true)) {
+            semaphore.release();
+          }
+        });
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        acquire.fail(e);
+      }
+    }, false, promise);
+  }
+
+  @Override
+  public void getCounter(String name, Promise<Counter> promise) {
+    promise.complete(new LocalCounter(counters.computeIfAbsent(name, key -> new AtomicLong())));
+  }
+
+  @Override
+  public String getNodeId() {
+    return this.nodeId;
+  }
+
+  @Override
+  public List<String> getNodes() {
+    synchronized (nodes) {
+      return new ArrayList<>(nodes.keySet());
+    }
+  }
+
+  @Override
+  public void nodeListener(NodeListener listener) {
+    this.nodeListener = listener;
+  }
+
+  @Override
+  public void setNodeInfo(NodeInfo nodeInfo, Promise<Void> promise) {
+    this.nodeInfo = nodeInfo;
+    nodeInfos.put(this.nodeId, nodeInfo);
+    promise.complete();
+  }
+
+  @Override
+  public NodeInfo getNodeInfo() {
+    return this.nodeInfo;
+  }
+
+  @Override
+  public void getNodeInfo(String nodeId, Promise<NodeInfo> promise) {
+    NodeInfo info = nodeInfos.get(nodeId);
+    if (info != null) {
+      promise.complete(info);
+    } else {
+      promise.fail(String.format("Node %s is not a member of the cluster", nodeId));
+    }
+  }
+
+  @Override
+  public void join(Promise<Void> promise) {
+    this.vertx.<Void>executeBlocking(joined -> {
+      this.nodeId = UUID.randomUUID().toString();
+      List<LocalClusterManager> others;
+      synchronized (nodes) {
+        others = new ArrayList<>(nodes.values());
+        nodes.put(this.nodeId, this);
+      }
+      this.active = true;
+      others.forEach(node -> node.nodeAdded(this.nodeId));
+      joined.complete();
+    }, false, promise);
+  }
+
+  @Override
+  public void leave(Promise<Void> promise) {
+    this.vertx.<Void>executeBlocking(left -> {
+      List<LocalClusterManager> others;
+      synchronized (nodes) {
+        nodes.remove(this.nodeId);
+        others = new ArrayList<>(nodes.values());
+        if (others.isEmpty()) {
+          clear();
+        }
+      }
+      nodeInfos.remove(this.nodeId);
+      registrations.forEach((address, infos) -> {
+        if (infos.removeIf(info -> this.nodeId.equals(info.nodeId()))) {
+          registrationsUpdated(address);
+        }
+        if (infos.isEmpty()) {
+          registrations.remove(address, infos);
+        }
+      });
+      this.active = false;
+      this.nodeInfo = null;
+      this.nodeListener = null;
+      others.forEach(node -> node.nodeLeft(this.nodeId));
+      left.complete();
+    }, false, promise);
+  }
+
+  @Override
+  public boolean isActive() {
+    return this.active;
+  }
+
+  @Override
+  public void addRegistration(String address, RegistrationInfo registrationInfo, Promise<Void> promise) {
+    registrations.computeIfAbsent(address, key -> new CopyOnWriteArrayList<>()).add(registrationInfo);
+    registrationsUpdated(address);
+    promise.complete();
+  }
+
+  @Override
+  public void removeRegistration(String address, RegistrationInfo registrationInfo, Promise<Void> promise) {
+    List<RegistrationInfo> infos = registrations.get(address);
+    if (infos != null && infos.remove(registrationInfo)) {
+      registrationsUpdated(address);
+    }
+    promise.complete();
+  }
+
+  @Override
+  public void getRegistrations(String address, Promise<List<RegistrationInfo>> promise) {
+    promise.complete(new ArrayList<>(registrations.getOrDefault(address, Collections.emptyList())));
+  }
+
+  @Override
+  public String clusterHost() {
+    return "localhost";
+  }
+
+  private void nodeAdded(String nodeId) {
+    NodeListener listener = this.nodeListener;
+    if (listener != null) {
+      listener.nodeAdded(nodeId);
+    }
+  }
+
+  private void nodeLeft(String nodeId) {
+    NodeListener listener = this.nodeListener;
+    if (listener != null) {
+      listener.nodeLeft(nodeId);
+    }
+  }
+
+  /**
+   * Drops the maps, counters and locks of the cluster once its last node left, so a cluster formed later
+   * in the same JVM starts empty.
+   */
+  private static void clear() {
+    syncMaps.clear();
+    asyncMaps.clear();
+    counters.clear();
+    locks.clear();
+  }
+
+  private static void registrationsUpdated(String address) {
+    RegistrationUpdateEvent event = new RegistrationUpdateEvent(address,
+      new ArrayList<>(registrations.getOrDefault(address, Collections.emptyList())));
+    List<LocalClusterManager> members;
+    synchronized (nodes) {
+      members = new ArrayList<>(nodes.values());
+    }
+    members.stream()
+      .filter(node -> node.nodeSelector.wantsUpdatesFor(address))
+      .forEach(node -> node.nodeSelector.registrationsUpdated(event));
+  }
+}
@@ -0,0 +1,56 @@
+package ph.com.nightowlstudios.cluster;
+
+import io.vertx.core.Future;
+import io.vertx.core.shareddata.Counter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Counter} of a {@link LocalClusterManager}, shared by every node of the JVM.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class LocalCounter implements Counter {
+
+  private final AtomicLong value;
+
+  LocalCounter(AtomicLong value) {
+    this.value = value;
+  }
+
+  @Override
+  public Future<Long> get() {
+    return Future.succeededFuture(this.value.get());
+  }
+
+  @Override
+  public Future<Long> incrementAndGet() {
+    return Future.succeededFuture(this.value.incrementAndGet());
+  }
+
+  @Override
+  public Future<Long> getAndIncrement() {
+    return Future.succeededFuture(this.value.getAndIncrement());
+  }
+
+  @Override
+  public Future<Long> decrementAndGet() {
+    return Future.succeededFuture(this.value.decrementAndGet());
+  }
+
+  @Override
+  public Future<Long> addAndGet(long value) {
+    return Future.succeededFuture(this.value.addAndGet(value));
+  }
+
+  @Override
+  public Future<Long> getAndAdd(long value) {
+    return Future.succeededFuture(this.value.getAndAdd(value));
+  }
+
+  @Override
+  public Future<Boolean> compareAndSet(long expected, long value) {
+    return Future.succeededFuture(this.value.compareAndSet(expected, value));
+  }
+}
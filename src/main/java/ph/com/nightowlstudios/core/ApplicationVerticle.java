@@ -15,7 +15,10 @@ import io.vertx.ext.web.handler.sockjs.SockJSHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ph.com.nightowlstudios.resource.Resource;
+import ph.com.nightowlstudios.service.Execution;
+import ph.com.nightowlstudios.service.LocalServiceCodec;
 import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.tracing.Tracing;
 
 import java.util.*;
 
@@ -51,8 +54,15 @@ public abstract class ApplicationVerticle extends AbstractVerticle {
 
   @Override
   public void start(Promise<Void> startPromise) {
+    LocalServiceCodec.register(vertx, localCopyPolicy());
+    if (config().containsKey("tracing")) {
+      Tracing.configure(config().getJsonObject("tracing"));
+    }
     setup();
     CompositeFuture.all(buildDeployList())
+      .compose(none -> vertx.isClustered()
+        ? ClusterServices.join(vertx, names(this.serviceVerticles.keySet()))
+        : Future.<Void>succeededFuture())
       .onSuccess(none -> startPromise.complete())
       .onFailure(failure -> {
         log.error("Unable to deploy Edge Application", failure.getCause());
@@ -74,10 +84,18 @@ public abstract class ApplicationVerticle extends AbstractVerticle {
   private List<Future> buildDeployList() {
     List<Future> list = new ArrayList<>();
     this.serviceVerticles.forEach((service, options) -> list.add(createLauncher(service, options)));
-    list.add(createLauncher(this.serverVerticle));
+    if (role().deploysHttpServer()) {
+      list.add(createLauncher(this.serverVerticle));
+    }
     return list;
   }
 
+  private static List<String> names(Collection<Class<?>> services) {
+    List<String> names = new ArrayList<>();
+    services.forEach(service -> names.add(service.getName()));
+    return names;
+  }
+
   @SuppressWarnings("unchecked")
   private Future<String> createLauncher(Class<?> service, DeploymentOptions options) {
     // Merge the global `application.yml` config the `DeploymentOptions`
@@ -103,8 +121,65 @@ public abstract class ApplicationVerticle extends AbstractVerticle {
   }
 
   protected <T extends Service> void registerService(Class<T> service, DeploymentOptions options) {
+    if (!role().deploysServices()) {
+      // Deployed by other nodes of the cluster.
+      Edge.registerRemoteService(service.getName());
+      return;
+    }
     this.serviceVerticles.put(service, options);
-    Edge.registerService(service);
+    Edge.registerService(vertx, service);
+  }
+
+  /**
+   * What this node deploys when the application is clustered, from <code>cluster.role</code>.
+   * Non-clustered applications always deploy everything.
+   *
+   * @see NodeRole
+   */
+  protected NodeRole role() {
+    if (vertx == null || !vertx.isClustered()) {
+      return NodeRole.ALL;
+    }
+    return NodeRole.valueOf(config()
+      .getJsonObject("cluster", new JsonObject())
+      .getString("role", "all")
+      .toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Deploys <code>service</code> so that its actions run as <code>execution</code> says, ie:
+   * {@link Execution#VIRTUAL_THREADS} for actions that block.
+   *
+   * @param service   the service to deploy
+   * @param execution where its actions run
+   */
+  protected <T extends Service> void registerService(Class<T> service, Execution execution) {
+    this.registerService(service, new DeploymentOptions()
+      .setWorker(execution == Execution.WORKER)
+      .setConfig(new JsonObject().put(Execution.CONFIG_KEY, execution.name())));
+  }
+
+  /**
+   * Deploys one instance of <code>service</code> per available core, each owning a partition of the keys.
+   *
+   * @see #registerPartitionedService(Class, int)
+   */
+  protected <T extends Service> void registerPartitionedService(Class<T> service) {
+    this.registerPartitionedService(service, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Deploys <code>instances</code> instances of <code>service</code>, each listening on its own partition address
+   * besides the service address. Requests made through {@link ph.com.nightowlstudios.service.ServiceBus#partitionBy(int)}
+   * are routed by a consistent hash of the chosen argument, so state kept per key on an instance needs no locking.
+   *
+   * @param service   the service to deploy
+   * @param instances number of partitions
+   */
+  protected <T extends Service> void registerPartitionedService(Class<T> service, int instances) {
+    this.registerService(service, new DeploymentOptions()
+      .setInstances(instances)
+      .setConfig(new JsonObject().put(Service.PARTITIONED, true)));
   }
 
   /**
@@ -180,6 +255,20 @@ public abstract class ApplicationVerticle extends AbstractVerticle {
     return config().getJsonObject("ws", defaultConfig);
   }
 
+  protected JsonObject getServiceBusConfig() {
+    return config().getJsonObject("serviceBus", new JsonObject());
+  }
+
+  /**
+   * How arguments and return values are handed to services deployed in this JVM.
+   * Set through <code>serviceBus.copyPolicy</code>, either <code>none</code> (default) or <code>deep</code>.
+   *
+   * @see LocalServiceCodec
+   */
+  protected LocalServiceCodec.CopyPolicy localCopyPolicy() {
+    return LocalServiceCodec.CopyPolicy.valueOf(getServiceBusConfig().getString("copyPolicy", "none").toUpperCase(Locale.ROOT));
+  }
+
   protected String bannerText() {
     return BANNER_TXT;
   }
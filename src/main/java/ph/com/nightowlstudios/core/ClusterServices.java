@@ -0,0 +1,50 @@
+package ph.com.nightowlstudios.core;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.AsyncMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shares the services of each node with the rest of the cluster, so that {@link Edge#serviceBus(Class)}
+ * accepts services deployed on other nodes.
+ * <p>
+ * Nodes write their services to a cluster-wide map when they start, read what the nodes before them wrote,
+ * and announce their own to nodes already running.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class ClusterServices {
+
+  private static final String MAP = "edge.services";
+  private static final String ANNOUNCE_ADDRESS = "edge.services.announce";
+
+  private ClusterServices() {
+  }
+
+  @SuppressWarnings("rawtypes")
+  static Future<Void> join(Vertx vertx, Collection<String> services) {
+    vertx.eventBus().<String>consumer(ANNOUNCE_ADDRESS, message -> Edge.registerRemoteService(message.body()));
+    return vertx.sharedData()
+      .<String, Boolean>getClusterWideMap(MAP)
+      .compose(map -> {
+        List<Future> puts = new ArrayList<>();
+        services.forEach(service -> puts.add(map.put(service, Boolean.TRUE)));
+        return CompositeFuture.all(puts).compose(none -> entries(map));
+      })
+      .onSuccess(known -> {
+        known.forEach(Edge::registerRemoteService);
+        services.forEach(service -> vertx.eventBus().publish(ANNOUNCE_ADDRESS, service));
+      })
+      .mapEmpty();
+  }
+
+  private static Future<Collection<String>> entries(AsyncMap<String, Boolean> map) {
+    return map.keys().map(keys -> keys);
+  }
+}
@@ -0,0 +1,133 @@
+package ph.com.nightowlstudios.core;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which a request must be answered, carried from an HTTP route down to the SQL it runs.
+ * <ul>
+ *   <li>{@link #handler(long)} starts one for each request of a route</li>
+ *   <li>{@link ph.com.nightowlstudios.service.ServiceBus} sends the remaining time along with each message
+ *   and uses it as the reply timeout</li>
+ *   <li>{@link ph.com.nightowlstudios.service.Service} drops messages whose deadline has passed and makes
+ *   the deadline {@link #current()} while an action runs</li>
+ *   <li>{@link ph.com.nightowlstudios.persistence.PersistenceClient} cancels queries still running when
+ *   the current deadline passes</li>
+ * </ul>
+ * Work that is given up on fails with {@link #EXCEEDED}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class Deadline {
+
+  /**
+   * Event bus header holding the remaining time, in milliseconds.
+   */
+  public static final String HEADER = "deadline";
+
+  /**
+   * Failure code of work abandoned because its deadline passed.
+   */
+  public static final int EXCEEDED = HttpResponseStatus.GATEWAY_TIMEOUT.code();
+
+  private static final String CONTEXT_KEY = "edge.deadline";
+  private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+  private final long expiresAt;
+
+  private Deadline(long expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public static Deadline in(long millis) {
+    return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  /**
+   * @return the deadline of the action running on this thread, or <code>null</code>.
+   */
+  public static Deadline current() {
+    return current.get();
+  }
+
+  /**
+   * Runs <code>supplier</code> with <code>deadline</code> as the {@link #current()} deadline.
+   * Only the synchronous part of <code>supplier</code> sees it.
+   */
+  public static <T> T call(Deadline deadline, Supplier<T> supplier) {
+    Deadline previous = current.get();
+    current.set(deadline);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        current.remove();
+      } else {
+        current.set(previous);
+      }
+    }
+  }
+
+  /**
+   * @return the deadline of the request, or <code>null</code> when its route has none.
+   */
+  public static Deadline of(RoutingContext ctx) {
+    return ctx.get(CONTEXT_KEY);
+  }
+
+  /**
+   * Route handler giving each request <code>millis</code> to complete. A request that runs past it
+   * fails with {@link #EXCEEDED}.
+   *
+   * @param millis the route timeout
+   * @return the handler, to be added before the route's own handlers.
+   */
+  public static Handler<RoutingContext> handler(long millis) {
+    return ctx -> {
+      ctx.put(CONTEXT_KEY, Deadline.in(millis));
+      long timer = ctx.vertx().setTimer(millis, id -> {
+        if (!ctx.response().ended() && !ctx.response().headWritten()) {
+          ctx.fail(EXCEEDED);
+        }
+      });
+      ctx.addBodyEndHandler(v -> ctx.vertx().cancelTimer(timer));
+      ctx.next();
+    };
+  }
+
+  /**
+   * @return milliseconds left, <code>0</code> once expired.
+   */
+  public long remaining() {
+    return Math.max(0, TimeUnit.NANOSECONDS.toMillis(this.expiresAt - System.nanoTime()));
+  }
+
+  public boolean expired() {
+    return this.expiresAt - System.nanoTime() <= 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Deadline && ((Deadline) o).expiresAt == this.expiresAt;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.expiresAt);
+  }
+
+  /**
+   * @param work what was abandoned, for the failure message
+   * @return the failure of work abandoned because of this deadline.
+   */
+  public ReplyException exceeded(String work) {
+    return new ReplyException(ReplyFailure.TIMEOUT, EXCEEDED, String.format("Deadline exceeded before %s completed", work));
+  }
+}
@@ -6,8 +6,11 @@ import org.slf4j.LoggerFactory;
 import ph.com.nightowlstudios.service.Service;
 import ph.com.nightowlstudios.service.ServiceBus;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
@@ -17,7 +20,15 @@ public class Edge {
 
   private static final Logger logger = LoggerFactory.getLogger(Edge.class);
 
-  private static final Set<String> registeredServices = new HashSet<>();
+  /**
+   * Services deployed in this JVM or announced by other nodes of the cluster.
+   */
+  private static final Set<String> registeredServices = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Services deployed on each <code>Vert.x</code> instance of this JVM.
+   */
+  private static final Map<Vertx, Set<String>> localServices = Collections.synchronizedMap(new WeakHashMap<>());
 
   private Edge() {}
 
@@ -40,7 +51,27 @@ public class Edge {
     return new RuntimeException("Unknown Service");
   }
 
-  static void registerService(Class<?> serviceClass) {
+  /**
+   * @param vertx        the <code>Vert.x</code> instance the caller runs on
+   * @param serviceClass the service to check
+   * @return <code>true</code> when the service is deployed by the {@link ApplicationVerticle} of that instance.
+   */
+  public static boolean isLocalService(Vertx vertx, Class<?> serviceClass) {
+    Set<String> services = localServices.get(vertx);
+    return services != null && services.contains(serviceClass.getName());
+  }
+
+  static void registerService(Vertx vertx, Class<?> serviceClass) {
     registeredServices.add(serviceClass.getName());
+    localServices.computeIfAbsent(vertx, key -> ConcurrentHashMap.newKeySet()).add(serviceClass.getName());
+  }
+
+  /**
+   * Records a service deployed on another node of the cluster.
+   */
+  static void registerRemoteService(String serviceName) {
+    if (registeredServices.add(serviceName)) {
+      logger.info("Discovered {} service in the cluster.", serviceName);
+    }
   }
 }
@@ -19,6 +19,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ph.com.nightowlstudios.resource.Resource;
+import ph.com.nightowlstudios.tracing.Tracing;
 
 import java.util.Optional;
 import java.util.Set;
@@ -136,6 +137,7 @@ class HttpServerVerticle extends AbstractVerticle {
 
   private Router createApiRouter() throws RuntimeException {
     Router router = Router.router(vertx);
+    router.route().handler(Tracing.handler());
     router.route().handler(createRouteLogHandler.get());
     router.route().failureHandler(createRouteFailHandler.get());
 
@@ -0,0 +1,32 @@
+package ph.com.nightowlstudios.core;
+
+/**
+ * What an {@link ApplicationVerticle} deploys, set through <code>cluster.role</code>. Nodes of a clustered
+ * application may split HTTP handling and services between them, services registered on an
+ * {@link #HTTP} node are then looked up on the rest of the cluster.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public enum NodeRole {
+  /**
+   * Both the HTTP server and the registered services, the default.
+   */
+  ALL,
+  /**
+   * The HTTP server only.
+   */
+  HTTP,
+  /**
+   * The registered services only.
+   */
+  SERVICES;
+
+  boolean deploysHttpServer() {
+    return this != SERVICES;
+  }
+
+  boolean deploysServices() {
+    return this != HTTP;
+  }
+}
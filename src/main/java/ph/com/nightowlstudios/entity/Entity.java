@@ -8,7 +8,6 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 import ph.com.nightowlstudios.utils.Utils;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -38,20 +37,11 @@ public interface Entity {
   }
 
   static <T extends Entity> String[] getColumns(Class<T> clasz) {
-    return Arrays
-            .stream(clasz.getDeclaredFields())
-            .filter(field -> field.isAnnotationPresent(Column.class))
-            .map(field -> field.getDeclaredAnnotation(Column.class).value())
-            .toArray(String[]::new);
+    return EntityMetadata.of(clasz).columns().clone();
   }
 
   static <T extends Entity> String[] getColumnsWithoutId(Class<T> clasz) {
-    return Arrays
-            .stream(clasz.getDeclaredFields())
-            .filter(field -> field.isAnnotationPresent(Column.class))
-            .filter(field -> !StringUtils.equals(field.getName(), "id"))
-            .map(field -> field.getDeclaredAnnotation(Column.class).value())
-            .toArray(String[]::new);
+    return EntityMetadata.of(clasz).columnsWithoutId().clone();
   }
 
   static <T extends Entity> String column(Class<T> entityClass, String column) {
@@ -0,0 +1,278 @@
+package ph.com.nightowlstudios.entity;
+
+import io.vertx.sqlclient.Tuple;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table, columns and the write statements of an {@link Entity}, along with handles on the getters of its
+ * {@link Column} fields, computed once per entity class.
+ * <p>
+ * Values are read through <code>get&lt;FieldName&gt;()</code>, or <code>is&lt;FieldName&gt;()</code> for
+ * <code>boolean</code> fields. A field without such a getter is bound as <code>null</code>. The <code>id</code>
+ * field is the primary key, generated on insert.
+ * <p>
+ * The table and the statements are only resolved once asked for, so the columns of an entity without a
+ * {@link Table} are still available.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class EntityMetadata<T extends Entity> {
+
+  private static final String ID = "id";
+  private static final int MAX_PARAMETERS = 65535;
+  private static final Map<Class<?>, EntityMetadata<?>> metadata = new ConcurrentHashMap<>();
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private final Class<T> entityClass;
+  private final String[] columns;
+  private final String[] columnsWithoutId;
+  private final MethodHandle[] getters;
+  private final int idIndex;
+  private final MethodHandle idGetter;
+  private volatile Statements statements;
+
+  private EntityMetadata(Class<T> entityClass) {
+    this.entityClass = entityClass;
+    List<String> columns = new ArrayList<>();
+    List<MethodHandle> getters = new ArrayList<>();
+    int idIndex = -1;
+    for (Field field : entityClass.getDeclaredFields()) {
+      if (!field.isAnnotationPresent(Column.class)) {
+        continue;
+      }
+      if (StringUtils.equals(field.getName(), ID)) {
+        idIndex = columns.size();
+      }
+      columns.add(field.getDeclaredAnnotation(Column.class).value());
+      String prefix = field.getType().equals(boolean.class) ? "is" : "get";
+      getters.add(getterOf(entityClass, prefix + StringUtils.capitalize(field.getName())));
+    }
+    this.columns = columns.toArray(new String[0]);
+    this.getters = getters.toArray(new MethodHandle[0]);
+    this.idIndex = idIndex;
+    if (idIndex >= 0) {
+      columns.remove(idIndex);
+    }
+    this.columnsWithoutId = columns.toArray(new String[0]);
+    this.idGetter = getterOf(entityClass, "getId");
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T extends Entity> EntityMetadata<T> of(Class<T> entityClass) {
+    return (EntityMetadata<T>) metadata.computeIfAbsent(entityClass, key -> new EntityMetadata<>(entityClass));
+  }
+
+  /**
+   * @throws IllegalStateException when the entity has no {@link Table}.
+   */
+  public String tableName() {
+    return statements().tableName;
+  }
+
+  /**
+   * @return the columns, in the order their fields are declared. The array is shared, do not modify it.
+   */
+  public String[] columns() {
+    return this.columns;
+  }
+
+  /**
+   * @return the columns but the <code>id</code>. The array is shared, do not modify it.
+   */
+  public String[] columnsWithoutId() {
+    return this.columnsWithoutId;
+  }
+
+  /**
+   * @return <code>INSERT</code> of {@link #columnsWithoutId()}, returning the generated id.
+   */
+  public String insertSQL() {
+    return statements().insertSQL;
+  }
+
+  /**
+   * @return a multi-row <code>INSERT</code> of {@link #columnsWithoutId()}, returning the generated ids.
+   */
+  public String insertSQL(int rows) {
+    return rows == 1 ? insertSQL() : insertSQL(rows, " RETURNING (id)");
+  }
+
+  /**
+   * @return a multi-row <code>INSERT</code> of {@link #columnsWithoutId()}, returning nothing.
+   */
+  public String bulkInsertSQL(int rows) {
+    return insertSQL(rows, "");
+  }
+
+  /**
+   * @return the most rows a multi-row <code>INSERT</code> can take, a statement taking at most 65535 parameters.
+   */
+  public int maxInsertRows() {
+    return Math.max(1, MAX_PARAMETERS / Math.max(1, this.columnsWithoutId.length));
+  }
+
+  /**
+   * @return <code>UPDATE</code> of {@link #columns()} by id, the id being the last parameter.
+   */
+  public String updateSQL() {
+    return statements().updateSQL;
+  }
+
+  /**
+   * @return <code>DELETE</code> by id.
+   */
+  public String deleteSQL() {
+    return statements().deleteSQL;
+  }
+
+  /**
+   * @return <code>INSERT</code> of <code>columns</code>, returning the generated id.
+   */
+  public static String insertSQL(String tableName, String... columns) {
+    return String.format("INSERT INTO %s (%s) VALUES (%s) RETURNING (id)",
+      tableName, String.join(",", columns), placeholders(1, columns.length));
+  }
+
+  /**
+   * @return <code>UPDATE</code> of <code>columns</code>, without a <code>WHERE</code> clause.
+   */
+  public static String updateSQL(String tableName, String... columns) {
+    StringBuilder set = new StringBuilder();
+    for (int i = 0; i < columns.length; i++) {
+      set.append(i == 0 ? "" : ", ").append(columns[i]).append("=$").append(i + 1);
+    }
+    return String.format("UPDATE %s SET %s", tableName, set);
+  }
+
+  /**
+   * @return the value of <code>entity</code>'s id, or <code>null</code>.
+   */
+  public Object id(T entity) {
+    return get(this.idGetter, entity);
+  }
+
+  /**
+   * @return the parameters of {@link #insertSQL()}.
+   */
+  public Tuple insertTuple(T entity) {
+    Object[] values = new Object[this.columnsWithoutId.length];
+    insertValues(entity, values, 0);
+    return Tuple.wrap(values);
+  }
+
+  /**
+   * @return the parameters of {@link #insertSQL(int)} for <code>entities</code>.
+   */
+  public Tuple insertTuple(List<T> entities) {
+    Object[] values = new Object[entities.size() * this.columnsWithoutId.length];
+    for (int i = 0; i < entities.size(); i++) {
+      insertValues(entities.get(i), values, i * this.columnsWithoutId.length);
+    }
+    return Tuple.wrap(values);
+  }
+
+  /**
+   * @return the parameters of {@link #updateSQL()}.
+   */
+  public Tuple updateTuple(T entity) {
+    Object[] values = new Object[this.getters.length + 1];
+    for (int i = 0; i < this.getters.length; i++) {
+      values[i] = get(this.getters[i], entity);
+    }
+    values[this.getters.length] = id(entity);
+    return Tuple.wrap(values);
+  }
+
+  /**
+   * @return the parameters of {@link #deleteSQL()}.
+   */
+  public Tuple deleteTuple(T entity) {
+    return Tuple.of(id(entity));
+  }
+
+  private String insertSQL(int rows, String returning) {
+    StringBuilder values = new StringBuilder();
+    for (int row = 0; row < rows; row++) {
+      values.append(row == 0 ? "(" : ", (")
+        .append(placeholders(row * this.columnsWithoutId.length + 1, this.columnsWithoutId.length))
+        .append(')');
+    }
+    return String.format("INSERT INTO %s (%s) VALUES %s%s",
+      tableName(), String.join(",", this.columnsWithoutId), values, returning);
+  }
+
+  private Statements statements() {
+    Statements resolved = this.statements;
+    if (resolved == null) {
+      if (!this.entityClass.isAnnotationPresent(Table.class)) {
+        throw new IllegalStateException(String.format("%s has no @Table to write to", this.entityClass.getName()));
+      }
+      resolved = new Statements(Entity.getTableName(this.entityClass), this.columns, this.columnsWithoutId);
+      this.statements = resolved;
+    }
+    return resolved;
+  }
+
+  private void insertValues(T entity, Object[] values, int offset) {
+    int value = offset;
+    for (int i = 0; i < this.getters.length; i++) {
+      if (i != this.idIndex) {
+        values[value++] = get(this.getters[i], entity);
+      }
+    }
+  }
+
+  private static Object get(MethodHandle getter, Object entity) {
+    if (getter == null) {
+      return null;
+    }
+    try {
+      return getter.invokeExact(entity);
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  private static MethodHandle getterOf(Class<?> entityClass, String name) {
+    try {
+      Method method = entityClass.getDeclaredMethod(name);
+      method.setAccessible(true);
+      return lookup.unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static final class Statements {
+    private final String tableName;
+    private final String insertSQL;
+    private final String updateSQL;
+    private final String deleteSQL;
+
+    private Statements(String tableName, String[] columns, String[] columnsWithoutId) {
+      this.tableName = tableName;
+      this.insertSQL = insertSQL(tableName, columnsWithoutId);
+      this.updateSQL = String.format("%s WHERE id=$%d", updateSQL(tableName, columns), columns.length + 1);
+      this.deleteSQL = String.format("DELETE FROM %s WHERE id=$1", tableName);
+    }
+  }
+
+  private static String placeholders(int from, int count) {
+    StringBuilder placeholders = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      placeholders.append(i == 0 ? "" : ", ").append('$').append(from + i);
+    }
+    return placeholders.toString();
+  }
+}
@@ -0,0 +1,45 @@
+package ph.com.nightowlstudios.metrics;
+
+/**
+ * Recorder of a single service action, on both the {@link ph.com.nightowlstudios.service.Service} handling it
+ * and the {@link ph.com.nightowlstudios.service.ServiceBus} calling it. Implementations must be thread-safe
+ * and should not allocate.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @see MetricsRegistry
+ * @since 10/17/26
+ **/
+public interface ActionMetrics {
+
+  void handlerStarted();
+
+  /**
+   * @param nanos time from receiving the message to replying
+   * @param code  {@link Metrics#OK}, or the failure code replied
+   */
+  void handlerCompleted(long nanos, int code);
+
+  void requestStarted();
+
+  /**
+   * @param nanos time from sending the request to getting the reply
+   * @param code  {@link Metrics#OK}, or the failure code of the reply
+   */
+  void requestCompleted(long nanos, int code);
+
+  /**
+   * Only recorded for {@link ph.com.nightowlstudios.service.BinaryEnvelope binary} payloads: JSON
+   * payloads are only encoded by the event bus once they leave the JVM, and local ones are passed by
+   * reference, so neither has a size short of encoding it once more.
+   *
+   * @param bytes size of the encoded request
+   */
+  void requestSize(int bytes);
+
+  /**
+   * Only recorded for binary payloads, see {@link #requestSize(int)}.
+   *
+   * @param bytes size of the encoded reply
+   */
+  void replySize(int bytes);
+}
@@ -0,0 +1,174 @@
+package ph.com.nightowlstudios.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * In-memory {@link MetricsRegistry} keeping {@link Histogram}s and counters per service and action.
+ * Latencies are recorded in microseconds and exposed in seconds.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class DefaultMetricsRegistry implements MetricsRegistry {
+
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  /**
+   * Codes up to this one get their own counter, any other code is counted as <code>other</code>.
+   */
+  private static final int MAX_CODE = 599;
+
+  private final Map<String, Map<String, DefaultActionMetrics>> services = new ConcurrentHashMap<>();
+  private final Map<String, Gauges> gauges = new ConcurrentSkipListMap<>();
+
+  @Override
+  public ActionMetrics action(String service, String action) {
+    Map<String, DefaultActionMetrics> actions = this.services.get(service);
+    if (actions == null) {
+      actions = this.services.computeIfAbsent(service, key -> new ConcurrentHashMap<>());
+    }
+    DefaultActionMetrics metrics = actions.get(action);
+    return metrics != null ? metrics : actions.computeIfAbsent(action, key -> new DefaultActionMetrics());
+  }
+
+  @Override
+  public void gauge(String name, String help, String labels, DoubleSupplier value) {
+    this.gauges.computeIfAbsent(name, key -> new Gauges(help)).values.put(labels, value);
+  }
+
+  @Override
+  public String scrape() {
+    StringBuilder out = new StringBuilder();
+    summary(out, "edge_action_handler_seconds", "Time services take to reply to an action", metrics -> metrics.handler);
+    summary(out, "edge_action_request_seconds", "Time callers wait for the reply of an action", metrics -> metrics.request);
+    summary(out, "edge_action_request_bytes", "Size of binary request payloads", metrics -> metrics.requestSize);
+    summary(out, "edge_action_reply_bytes", "Size of binary reply payloads", metrics -> metrics.replySize);
+    header(out, "edge_action_in_flight", "Actions being handled, or awaiting a reply", "gauge");
+    each((labels, metrics) -> {
+      sample(out, "edge_action_in_flight", labels + ",side=\"handler\"", metrics.handlerInFlight.sum());
+      sample(out, "edge_action_in_flight", labels + ",side=\"caller\"", metrics.requestInFlight.sum());
+    });
+    header(out, "edge_action_results_total", "Completed actions by reply code", "counter");
+    each((labels, metrics) -> {
+      codes(out, labels + ",side=\"handler\"", metrics.handlerCodes);
+      codes(out, labels + ",side=\"caller\"", metrics.requestCodes);
+    });
+    this.gauges.forEach((name, gauges) -> {
+      header(out, name, gauges.help, "gauge");
+      gauges.values.forEach((labels, value) ->
+        out.append(name).append('{').append(labels).append("} ").append(value.getAsDouble()).append('\n'));
+    });
+    return out.toString();
+  }
+
+  private void summary(StringBuilder out, String name, String help, Function<DefaultActionMetrics, Histogram> histogramOf) {
+    boolean seconds = name.endsWith("_seconds");
+    header(out, name, help, "summary");
+    each((labels, metrics) -> {
+      Histogram histogram = histogramOf.apply(metrics);
+      if (histogram.count() == 0) {
+        return;
+      }
+      for (double quantile : QUANTILES) {
+        out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+          .append(scale(histogram.valueAt(quantile), seconds)).append('\n');
+      }
+      out.append(name).append("_sum{").append(labels).append("} ").append(scale(histogram.sum(), seconds)).append('\n');
+      out.append(name).append("_count{").append(labels).append("} ").append(histogram.count()).append('\n');
+    });
+  }
+
+  private static void codes(StringBuilder out, String labels, AtomicLongArray codes) {
+    for (int code = 0; code < codes.length(); code++) {
+      long count = codes.get(code);
+      if (count > 0) {
+        String codeLabel = code > MAX_CODE ? "other" : String.valueOf(code);
+        sample(out, "edge_action_results_total", labels + ",code=\"" + codeLabel + "\"", count);
+      }
+    }
+  }
+
+  private void each(BiConsumer<String, DefaultActionMetrics> consumer) {
+    this.services.forEach((service, actions) -> actions.forEach((action, metrics) ->
+      consumer.accept("service=\"" + service + "\",action=\"" + action + "\"", metrics)));
+  }
+
+  private static void header(StringBuilder out, String name, String help, String type) {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void sample(StringBuilder out, String name, String labels, long value) {
+    out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  private static String scale(long value, boolean micros) {
+    return micros ? String.valueOf(value / 1_000_000d) : String.valueOf(value);
+  }
+
+  private static int slot(int code) {
+    return code >= 0 && code <= MAX_CODE ? code : MAX_CODE + 1;
+  }
+
+  private static final class Gauges {
+    private final String help;
+    private final Map<String, DoubleSupplier> values = new ConcurrentSkipListMap<>();
+
+    private Gauges(String help) {
+      this.help = help;
+    }
+  }
+
+  private static final class DefaultActionMetrics implements ActionMetrics {
+    private final Histogram handler = new Histogram();
+    private final Histogram request = new Histogram();
+    private final Histogram requestSize = new Histogram();
+    private final Histogram replySize = new Histogram();
+    private final LongAdder handlerInFlight = new LongAdder();
+    private final LongAdder requestInFlight = new LongAdder();
+    private final AtomicLongArray handlerCodes = new AtomicLongArray(MAX_CODE + 2);
+    private final AtomicLongArray requestCodes = new AtomicLongArray(MAX_CODE + 2);
+
+    @Override
+    public void handlerStarted() {
+      this.handlerInFlight.increment();
+    }
+
+    @Override
+    public void handlerCompleted(long nanos, int code) {
+      this.handlerInFlight.decrement();
+      this.handler.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+      this.handlerCodes.incrementAndGet(slot(code));
+    }
+
+    @Override
+    public void requestStarted() {
+      this.requestInFlight.increment();
+    }
+
+    @Override
+    public void requestCompleted(long nanos, int code) {
+      this.requestInFlight.decrement();
+      this.request.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+      this.requestCodes.incrementAndGet(slot(code));
+    }
+
+    @Override
+    public void requestSize(int bytes) {
+      this.requestSize.record(bytes);
+    }
+
+    @Override
+    public void replySize(int bytes) {
+      this.replySize.record(bytes);
+    }
+  }
+}
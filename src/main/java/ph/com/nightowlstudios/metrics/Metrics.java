@@ -0,0 +1,64 @@
+package ph.com.nightowlstudios.metrics;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Holder of the {@link MetricsRegistry} services and service buses record to.
+ * <p>
+ * Expose the metrics by mounting {@link #prometheusHandler()}, ie: in
+ * {@link ph.com.nightowlstudios.core.ApplicationVerticle#onRouterCreated(io.vertx.ext.web.Router)}:
+ * <pre>
+ * router.get("/metrics").handler(Metrics.prometheusHandler());
+ * </pre>
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class Metrics {
+
+  /**
+   * Code recorded for successful actions.
+   */
+  public static final int OK = HttpResponseStatus.OK.code();
+
+  /**
+   * Action label of requests to actions the service does not have, so unknown names cannot grow the
+   * number of recorded series.
+   */
+  public static final String UNKNOWN_ACTION = "unknown";
+
+  private static volatile MetricsRegistry registry = new DefaultMetricsRegistry();
+
+  private Metrics() {
+  }
+
+  public static MetricsRegistry registry() {
+    return registry;
+  }
+
+  public static void use(MetricsRegistry metricsRegistry) {
+    registry = metricsRegistry;
+  }
+
+  /**
+   * @return the code to record for an action that failed with <code>failure</code>.
+   */
+  public static int failureCode(Throwable failure) {
+    return failure instanceof ReplyException
+      ? ((ReplyException) failure).failureCode()
+      : HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
+  }
+
+  /**
+   * @return a route handler replying with {@link MetricsRegistry#scrape()}.
+   */
+  public static Handler<RoutingContext> prometheusHandler() {
+    return ctx -> ctx.response()
+      .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain; version=0.0.4; charset=utf-8")
+      .end(registry.scrape());
+  }
+}
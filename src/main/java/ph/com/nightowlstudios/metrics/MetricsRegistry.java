@@ -0,0 +1,38 @@
+package ph.com.nightowlstudios.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Source of {@link ActionMetrics}, replace it through {@link Metrics#use(MetricsRegistry)} to bridge to
+ * another metrics library.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public interface MetricsRegistry {
+
+  /**
+   * Called for every message, lookups of known actions should not allocate.
+   *
+   * @param service the service class name
+   * @param action  the action name
+   * @return the recorder of the action.
+   */
+  ActionMetrics action(String service, String action);
+
+  /**
+   * Registers a value read at scrape time. Registering the same name and labels again replaces it.
+   *
+   * @param name   the metric name, ie: <code>edge_circuit_breaker_state</code>
+   * @param help   what the metric measures
+   * @param labels the Prometheus labels, ie: <code>breaker="UserService"</code>
+   * @param value  reads the current value
+   */
+  default void gauge(String name, String help, String labels, DoubleSupplier value) {
+  }
+
+  /**
+   * @return every metric in the Prometheus text exposition format.
+   */
+  String scrape();
+}
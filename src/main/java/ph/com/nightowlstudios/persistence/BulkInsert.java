@@ -0,0 +1,139 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.sqlclient.SqlConnection;
+import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.EntityMetadata;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes entities as they come as multi-row <code>INSERT</code>s of <code>chunkSize</code> rows, one chunk
+ * in flight while the next one fills. The source is paused once the next chunk is full too, so at most two
+ * chunks are held in memory.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class BulkInsert<T extends Entity> {
+
+  private final SqlConnection connection;
+  private final EntityMetadata<T> metadata;
+  private final int chunkSize;
+  private final String chunkSQL;
+  private final Handler<Long> progress;
+  private final Promise<Long> promise = Promise.promise();
+  private List<T> pending;
+  private ReadStream<T> stream;
+  private Iterator<T> iterator;
+  private boolean writing;
+  private boolean ended;
+  private long written;
+
+  BulkInsert(SqlConnection connection, EntityMetadata<T> metadata, int chunkSize, Handler<Long> progress) {
+    this.connection = connection;
+    this.metadata = metadata;
+    this.chunkSize = chunkSize;
+    this.chunkSQL = metadata.bulkInsertSQL(chunkSize);
+    this.progress = progress != null ? progress : written -> {
+    };
+    this.pending = new ArrayList<>(chunkSize);
+  }
+
+  /**
+   * @param stream paused source of the entities, resumed here
+   * @return the number of rows written, once <code>stream</code> ended and every row is written.
+   */
+  Future<Long> from(ReadStream<T> stream) {
+    this.stream = stream;
+    stream.exceptionHandler(this::fail);
+    stream.endHandler(v -> {
+      this.ended = true;
+      flush();
+    });
+    stream.handler(this::add);
+    stream.resume();
+    return this.promise.future();
+  }
+
+  /**
+   * @return the number of rows written, once every row of <code>iterator</code> is written.
+   */
+  Future<Long> from(Iterator<T> iterator) {
+    this.iterator = iterator;
+    flush();
+    return this.promise.future();
+  }
+
+  private void add(T entity) {
+    if (this.promise.future().isComplete()) {
+      return;
+    }
+    this.pending.add(entity);
+    if (this.pending.size() >= this.chunkSize) {
+      if (this.writing) {
+        this.stream.pause();
+      } else {
+        flush();
+      }
+    }
+  }
+
+  private void flush() {
+    if (this.writing || this.promise.future().isComplete()) {
+      return;
+    }
+    if (this.iterator != null) {
+      while (this.pending.size() < this.chunkSize && this.iterator.hasNext()) {
+        this.pending.add(this.iterator.next());
+      }
+      this.ended = !this.iterator.hasNext();
+    }
+    if (this.pending.isEmpty()) {
+      if (this.ended) {
+        this.promise.tryComplete(this.written);
+      }
+      return;
+    }
+    if (this.pending.size() < this.chunkSize && !this.ended) {
+      return;
+    }
+    List<T> chunk = this.pending;
+    if (chunk.size() > this.chunkSize) {
+      // Items a paused stream still delivered go to the next chunk.
+      this.pending = new ArrayList<>(chunk.subList(this.chunkSize, chunk.size()));
+      chunk = chunk.subList(0, this.chunkSize);
+    } else {
+      this.pending = new ArrayList<>(this.chunkSize);
+    }
+    String sql = chunk.size() == this.chunkSize ? this.chunkSQL : this.metadata.bulkInsertSQL(chunk.size());
+    this.writing = true;
+    this.connection
+      .preparedQuery(sql)
+      .execute(this.metadata.insertTuple(chunk))
+      .onComplete(done -> {
+        this.writing = false;
+        if (done.failed()) {
+          fail(done.cause());
+          return;
+        }
+        this.written += done.result().rowCount();
+        this.progress.handle(this.written);
+        if (this.stream != null) {
+          this.stream.resume();
+        }
+        flush();
+      });
+  }
+
+  private void fail(Throwable failure) {
+    if (this.promise.tryFail(failure) && this.stream != null) {
+      this.stream.handler(null);
+    }
+  }
+}
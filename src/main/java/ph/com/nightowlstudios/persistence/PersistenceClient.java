@@ -1,19 +1,35 @@
 package ph.com.nightowlstudios.persistence;
 
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgConnection;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.PoolOptions;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.SqlResult;
+import io.vertx.sqlclient.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ph.com.nightowlstudios.core.Deadline;
+import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.EntityMetadata;
 import ph.com.nightowlstudios.persistence.query.Query;
+import ph.com.nightowlstudios.tracing.Span;
+import ph.com.nightowlstudios.tracing.Tracing;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collector;
 
 /**
@@ -24,7 +40,11 @@ public class PersistenceClient {
 
   private static final Logger log = LoggerFactory.getLogger(PersistenceClient.class);
 
+  private final Vertx vertx;
   private final Pool pool;
+  private final int batchSize;
+  private final boolean rewriteBatchedInserts;
+  private final int fetchSize;
 
   public PersistenceClient() {
     this(
@@ -41,80 +61,287 @@ public class PersistenceClient {
       .setUser(dbConf.getString("user"))
       .setPassword(dbConf.getString("password"));
     PoolOptions poolOptions = new PoolOptions().setMaxSize(dbConf.getInteger("maxPoolSize"));
+    this.vertx = vertx;
     this.pool = PgPool.pool(vertx, connectOptions, poolOptions);
+    this.batchSize = Math.max(1, dbConf.getInteger("batchSize", 1000));
+    this.rewriteBatchedInserts = dbConf.getBoolean("rewriteBatchedInserts", false);
+    this.fetchSize = Math.max(1, dbConf.getInteger("fetchSize", 256));
   }
 
   protected Pool pool() {
     return this.pool;
   }
 
+  /**
+   * @return the most statements sent in one pipelined batch, <code>db.batchSize</code>.
+   */
+  public int batchSize() {
+    return this.batchSize;
+  }
+
+  /**
+   * @return whether batches of inserts are sent as multi-row <code>INSERT</code>s instead,
+   * <code>db.rewriteBatchedInserts</code>.
+   */
+  public boolean rewriteBatchedInserts() {
+    return this.rewriteBatchedInserts;
+  }
+
   public <T> Future<T> query(Query q, Collector<Row, ?, T> collector) {
-    Promise<T> promise = Promise.promise();
     log.debug("Executing SQL: {}", q.sql());
     log.debug("Against Tuples: {}", q.tuple().deepToString());
-    pool()
+    return execute(q.sql(), client -> client
       .preparedQuery(q.sql())
       .collecting(collector)
-      .execute(q.tuple(), ar -> {
-        if (ar.failed()) {
-          log.error("SQL query FAIL: {}", ar.cause().getMessage());
-          promise.fail(ar.cause());
-          return;
-        }
-        promise.complete(ar.result().value());
-      });
-    return promise.future();
+      .execute(q.tuple())
+      .map(SqlResult::value));
   }
 
   public Future<RowSet<Row>> query(Query q) {
-    Promise<RowSet<Row>> promise = Promise.promise();
     log.debug("Executing SQL: {}", q.sql());
     log.debug("Against Tuples: {}", q.tuple().deepToString());
-    pool()
+    return execute(q.sql(), client -> client
       .preparedQuery(q.sql())
-      .execute(q.tuple(), ar -> {
-        if (ar.failed()) {
-          log.error("SQL query FAIL: {}", ar.cause().getMessage());
-          promise.fail(ar.cause());
-          return;
-        }
-        promise.complete(ar.result());
-      });
-    return promise.future();
+      .execute(q.tuple()));
   }
 
   public <T> Future<T> query(String sql, Collector<Row, ?, T> collector) {
-    Promise<T> promise = Promise.promise();
     log.debug("Executing plain SQL: {}", sql);
-    pool()
+    return execute(sql, client -> client
       .query(sql)
       .collecting(collector)
-      .execute(ar -> {
-        if (ar.failed()) {
-          log.error("SQL query FAIL: {}", ar.cause().getMessage());
-          promise.fail(ar.cause());
-          return;
-        }
-        promise.complete(ar.result().value());
-      });
-    return promise.future();
+      .execute()
+      .map(SqlResult::value));
   }
 
   public Future<Void> query(String sql) {
-    Promise<Void> promise = Promise.promise();
     log.debug("Executing plain SQL: {}", sql);
-    pool()
+    return execute(sql, client -> client
       .query(sql)
-      .execute(ar -> {
-        if (ar.failed()) {
-          log.error("SQL query FAIL: {}", ar.cause().getMessage());
-          promise.fail(ar.cause());
-          return;
+      .execute()
+      .<Void>mapEmpty());
+  }
+
+  /**
+   * @return the rows fetched at a time by {@link #stream(Query)}, <code>db.fetchSize</code>.
+   */
+  public int fetchSize() {
+    return this.fetchSize;
+  }
+
+  public Future<RowStream<Row>> stream(Query q) {
+    return stream(q, Function.identity());
+  }
+
+  public <T extends Entity> Future<RowStream<T>> stream(Query q, Class<T> entityClass) {
+    return stream(q, RowMapper.of(entityClass).forResult());
+  }
+
+  /**
+   * Streams the rows of <code>q</code> through a cursor, {@link #fetchSize()} rows at a time, only fetching
+   * more once the previous rows were consumed. The stream can be piped into an HTTP response, see
+   * {@link ph.com.nightowlstudios.resource.Resource#endContext(io.vertx.ext.web.RoutingContext, ReadStream)}
+   * <p>
+   * The stream holds a pooled connection and a transaction, the cursor needing one, until it ends, fails or
+   * is closed. Close a stream that is not read to its end.
+   *
+   * @param rowMapper maps each row to the streamed item
+   * @return the stream, once the query is prepared.
+   */
+  public <T> Future<RowStream<T>> stream(Query q, Function<Row, T> rowMapper) {
+    log.debug("Streaming SQL: {}", q.sql());
+    log.debug("Against Tuples: {}", q.tuple().deepToString());
+    Span parent = Tracing.current();
+    Span span = parent == null ? null : parent.child("sql").tag("db.system", "postgresql").tag("db.statement", q.sql());
+    return pool().getConnection()
+      .compose(connection -> connection.begin()
+        .compose(tx -> connection.prepare(q.sql())
+          .<RowStream<T>>map(statement -> new QueryStream<>(connection, tx, statement.createStream(this.fetchSize, q.tuple()), rowMapper, span)))
+        .onFailure(failure -> connection.close()))
+      .onFailure(failure -> {
+        if (span != null) {
+          span.end(failure);
         }
-        promise.complete();
+        log.error("SQL query FAIL: {}", failure.getMessage());
       });
+  }
+
+  /**
+   * Runs <code>sql</code> once for each tuple of <code>batch</code>, in a single transaction. Tuples are sent
+   * {@link #batchSize()} at a time, each chunk pipelined in one round trip.
+   *
+   * @return the result of each tuple, in order.
+   */
+  public Future<List<RowSet<Row>>> batch(String sql, List<Tuple> batch) {
+    log.debug("Executing SQL batch of {}: {}", batch.size(), sql);
+    if (batch.isEmpty()) {
+      return Future.succeededFuture(new ArrayList<>());
+    }
+    return execute(sql, client -> transaction(client, connection -> {
+      List<RowSet<Row>> results = new ArrayList<>(batch.size());
+      return executeBatch(connection, sql, batch, 0, results).map(results);
+    }));
+  }
+
+  /**
+   * Runs <code>queries</code> one after the other, in a single transaction.
+   *
+   * @return the result of each query, in order.
+   */
+  public Future<List<RowSet<Row>>> transaction(List<Query> queries) {
+    if (queries.isEmpty()) {
+      return Future.succeededFuture(new ArrayList<>());
+    }
+    return execute(queries.get(0).sql(), client -> transaction(client, connection -> {
+      List<RowSet<Row>> results = new ArrayList<>(queries.size());
+      return executeAll(connection, queries, 0, results).map(results);
+    }));
+  }
+
+  /**
+   * Bulk ingestion of <code>entities</code> into the table of <code>entityClass</code>, in a single transaction.
+   * Entities are written as they stream in, as multi-row <code>INSERT</code>s of up to {@link #batchSize()}
+   * rows, and <code>entities</code> is paused while the database catches up. Memory stays flat whatever
+   * the number of rows.
+   *
+   * @param entities the rows to write, paused here until a connection is available, and drained without being
+   *                 written when the insert fails
+   * @param progress called with the number of rows written so far, after each chunk, may be <code>null</code>
+   * @return the number of rows written.
+   */
+  public <T extends Entity> Future<Long> bulkInsert(Class<T> entityClass, ReadStream<T> entities, Handler<Long> progress) {
+    entities.pause();
+    EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+    int chunkSize = Math.min(this.batchSize, metadata.maxInsertRows());
+    return execute(metadata.bulkInsertSQL(1), client -> transaction(client, connection ->
+      new BulkInsert<>(connection, metadata, chunkSize, progress).from(entities)))
+      .onFailure(failure -> discard(entities));
+  }
+
+  /**
+   * @see #bulkInsert(Class, ReadStream, Handler)
+   */
+  public <T extends Entity> Future<Long> bulkInsert(Class<T> entityClass, Iterable<T> entities, Handler<Long> progress) {
+    EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+    int chunkSize = Math.min(this.batchSize, metadata.maxInsertRows());
+    return execute(metadata.bulkInsertSQL(1), client -> transaction(client, connection ->
+      new BulkInsert<>(connection, metadata, chunkSize, progress).from(entities.iterator())));
+  }
+
+  /**
+   * Lets a source that is no longer written drain, whether it failed before or after its first chunk,
+   * so it is not left paused.
+   */
+  private static void discard(ReadStream<?> entities) {
+    entities.exceptionHandler(null);
+    entities.endHandler(null);
+    entities.handler(null);
+    entities.resume();
+  }
+
+  private Future<Void> executeBatch(SqlConnection connection, String sql, List<Tuple> batch, int from, List<RowSet<Row>> results) {
+    if (from >= batch.size()) {
+      return Future.succeededFuture();
+    }
+    int to = Math.min(batch.size(), from + this.batchSize);
+    return connection
+      .preparedQuery(sql)
+      .executeBatch(batch.subList(from, to))
+      .compose(rows -> {
+        for (RowSet<Row> result = rows; result != null; result = result.next()) {
+          results.add(result);
+        }
+        return executeBatch(connection, sql, batch, to, results);
+      });
+  }
+
+  private Future<Void> executeAll(SqlConnection connection, List<Query> queries, int from, List<RowSet<Row>> results) {
+    if (from >= queries.size()) {
+      return Future.succeededFuture();
+    }
+    Query q = queries.get(from);
+    log.debug("Executing SQL: {}", q.sql());
+    return connection
+      .preparedQuery(q.sql())
+      .execute(q.tuple())
+      .compose(rows -> {
+        results.add(rows);
+        return executeAll(connection, queries, from + 1, results);
+      });
+  }
+
+  /**
+   * Runs <code>work</code> in a transaction, on a connection of <code>client</code> when it is the pool.
+   */
+  private static <T> Future<T> transaction(SqlClient client, Function<SqlConnection, Future<T>> work) {
+    if (client instanceof Pool) {
+      return ((Pool) client).withTransaction(work);
+    }
+    SqlConnection connection = (SqlConnection) client;
+    return connection.begin().compose(tx -> work.apply(connection).compose(
+      result -> tx.commit().map(result),
+      failure -> tx.rollback().transform(ignore -> Future.<T>failedFuture(failure))));
+  }
+
+  /**
+   * Runs <code>query</code> on the pool. When called under a {@link Deadline#current()} deadline, the query
+   * gets its own connection and is cancelled on the server if it is still running once the deadline passes,
+   * and the wait for a pooled connection is bounded by the deadline too.
+   * <p>
+   * Under a {@link Tracing#current()} span, the query is timed in a child span tagged with <code>sql</code>.
+   */
+  private <T> Future<T> execute(String sql, Function<SqlClient, Future<T>> query) {
+    Deadline deadline = Deadline.current();
+    Span parent = Tracing.current();
+    Span span = parent == null ? null : parent.child("sql").tag("db.system", "postgresql").tag("db.statement", sql);
+    Future<T> result = deadline == null ? query.apply(pool()) : executeBefore(deadline, query);
+    return result.onComplete(done -> {
+      if (span != null) {
+        span.end(done.cause());
+      }
+      if (done.failed()) {
+        log.error("SQL query FAIL: {}", done.cause().getMessage());
+      }
+    });
+  }
+
+  private <T> Future<T> executeBefore(Deadline deadline, Function<SqlClient, Future<T>> query) {
+    if (deadline.expired()) {
+      return Future.failedFuture(deadline.exceeded("SQL query"));
+    }
+    Promise<T> promise = Promise.promise();
+    SqlConnection[] running = {null};
+    long timer = this.vertx.setTimer(Math.max(1, deadline.remaining()), id -> {
+      // Stop a query still running on the server so its connection goes back to the pool.
+      if (promise.tryFail(deadline.exceeded("SQL query")) && running[0] instanceof PgConnection) {
+        ((PgConnection) running[0]).cancelRequest(cancelled -> {
+        });
+      }
+    });
+    pool().getConnection().onComplete(connected -> {
+      if (connected.failed()) {
+        this.vertx.cancelTimer(timer);
+        promise.tryFail(connected.cause());
+        return;
+      }
+      SqlConnection connection = connected.result();
+      if (promise.future().isComplete()) {
+        connection.close();
+        return;
+      }
+      running[0] = connection;
+      query.apply(connection).onComplete(done -> {
+        this.vertx.cancelTimer(timer);
+        running[0] = null;
+        connection.close();
+        if (done.succeeded()) {
+          promise.tryComplete(done.result());
+        } else {
+          promise.tryFail(done.cause());
+        }
+      });
+    });
     return promise.future();
   }
 
 }
-
@@ -0,0 +1,136 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import ph.com.nightowlstudios.tracing.Span;
+
+import java.util.function.Function;
+
+/**
+ * Rows of a query read through a cursor, {@link PersistenceClient#fetchSize()} rows at a time, mapped as they
+ * are emitted. The stream owns its connection and transaction: both are released once it ends, fails or is
+ * {@link #close() closed}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class QueryStream<T> implements RowStream<T> {
+
+  private final SqlConnection connection;
+  private final Transaction transaction;
+  private final RowStream<Row> rows;
+  private final Function<Row, T> rowMapper;
+  private final Span span;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+  private boolean released;
+
+  QueryStream(SqlConnection connection, Transaction transaction, RowStream<Row> rows, Function<Row, T> rowMapper, Span span) {
+    this.connection = connection;
+    this.transaction = transaction;
+    this.rows = rows;
+    this.rowMapper = rowMapper;
+    this.span = span;
+    rows.exceptionHandler(this::fail);
+    rows.endHandler(v -> release(true, null).onComplete(done -> {
+      if (done.failed()) {
+        fail(done.cause());
+      } else if (this.endHandler != null) {
+        this.endHandler.handle(null);
+      }
+    }));
+  }
+
+  @Override
+  public RowStream<T> exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public RowStream<T> handler(Handler<T> handler) {
+    if (handler == null) {
+      this.rows.handler(null);
+      return this;
+    }
+    this.rows.handler(row -> {
+      if (this.released) {
+        return;
+      }
+      T item;
+      try {
+        item = this.rowMapper.apply(row);
+      } catch (RuntimeException e) {
+        this.rows.close();
+        fail(e);
+        return;
+      }
+      handler.handle(item);
+    });
+    return this;
+  }
+
+  @Override
+  public RowStream<T> pause() {
+    this.rows.pause();
+    return this;
+  }
+
+  @Override
+  public RowStream<T> resume() {
+    this.rows.resume();
+    return this;
+  }
+
+  @Override
+  public RowStream<T> fetch(long amount) {
+    this.rows.fetch(amount);
+    return this;
+  }
+
+  @Override
+  public RowStream<T> endHandler(Handler<Void> handler) {
+    this.endHandler = handler;
+    return this;
+  }
+
+  /**
+   * Stops reading, ie: once the consumer is gone, and releases the connection.
+   */
+  @Override
+  public Future<Void> close() {
+    return this.rows.close().transform(ignore -> release(false, null));
+  }
+
+  @Override
+  public void close(Handler<AsyncResult<Void>> completionHandler) {
+    close().onComplete(completionHandler);
+  }
+
+  private void fail(Throwable failure) {
+    release(false, failure);
+    if (this.exceptionHandler != null) {
+      this.exceptionHandler.handle(failure);
+    }
+  }
+
+  /**
+   * Commits a stream read to its end and rolls back any other, then gives the connection back to the pool.
+   */
+  private Future<Void> release(boolean commit, Throwable failure) {
+    if (this.released) {
+      return Future.succeededFuture();
+    }
+    this.released = true;
+    if (this.span != null) {
+      this.span.end(failure);
+    }
+    Future<Void> completion = commit ? this.transaction.commit() : this.transaction.rollback();
+    return completion.onComplete(done -> this.connection.close());
+  }
+}
@@ -0,0 +1,235 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.sqlclient.Row;
+import org.apache.commons.lang3.StringUtils;
+import ph.com.nightowlstudios.entity.Column;
+import ph.com.nightowlstudios.entity.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Maps rows to an {@link Entity}, through handles on its constructor and the setters of its
+ * {@link Column} fields, resolved once per entity class. A column is set through
+ * <code>set&lt;FieldName&gt;(FieldType)</code>, fields without such a setter and columns missing from the
+ * row are left as they are.
+ * <p>
+ * Column positions are resolved once per result, see {@link #collector()}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class RowMapper<T extends Entity> {
+
+  private static final Map<Class<?>, RowMapper<?>> mappers = new ConcurrentHashMap<>();
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private final Class<T> entityClass;
+  private final MethodHandle constructor;
+  private final String[] columns;
+  private final ColumnSetter[] setters;
+
+  private RowMapper(Class<T> entityClass) {
+    this.entityClass = entityClass;
+    this.constructor = constructorOf(entityClass);
+    List<String> columns = new ArrayList<>();
+    List<ColumnSetter> setters = new ArrayList<>();
+    for (Field field : entityClass.getDeclaredFields()) {
+      if (!field.isAnnotationPresent(Column.class)) {
+        continue;
+      }
+      MethodHandle setter = setterOf(entityClass, field);
+      if (setter != null) {
+        columns.add(field.getDeclaredAnnotation(Column.class).value());
+        setters.add(columnSetter(field.getType(), setter));
+      }
+    }
+    this.columns = columns.toArray(new String[0]);
+    this.setters = setters.toArray(new ColumnSetter[0]);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T extends Entity> RowMapper<T> of(Class<T> entityClass) {
+    return (RowMapper<T>) mappers.computeIfAbsent(entityClass, key -> new RowMapper<>(entityClass));
+  }
+
+  public T map(Row row) {
+    return map(row, positions(row));
+  }
+
+  /**
+   * @return a collector of rows into entities that resolves column positions on its first row only,
+   * for rows of the same result.
+   */
+  public Collector<Row, ?, List<T>> collector() {
+    return Collector.<Row, Accumulator, List<T>>of(
+      Accumulator::new,
+      Accumulator::add,
+      (first, second) -> {
+        first.entities.addAll(second.entities);
+        return first;
+      },
+      accumulator -> accumulator.entities
+    );
+  }
+
+  /**
+   * @return a mapper of the rows of one result, that resolves column positions on its first row only.
+   */
+  public Function<Row, T> forResult() {
+    int[][] positions = {null};
+    return row -> {
+      if (positions[0] == null) {
+        positions[0] = positions(row);
+      }
+      return map(row, positions[0]);
+    };
+  }
+
+  /**
+   * @return the position in <code>row</code> of each mapped column, <code>-1</code> when missing.
+   */
+  int[] positions(Row row) {
+    int[] positions = new int[this.columns.length];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = row.getColumnIndex(this.columns[i]);
+    }
+    return positions;
+  }
+
+  T map(Row row, int[] positions) {
+    T entity = newInstance();
+    for (int i = 0; i < positions.length; i++) {
+      if (positions[i] < 0) {
+        continue;
+      }
+      try {
+        this.setters[i].set(entity, row, positions[i]);
+      } catch (Throwable e) {
+        // A value that does not fit its field is skipped, as it always was.
+      }
+    }
+    return entity;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T newInstance() {
+    try {
+      Object entity = this.constructor.invokeExact();
+      return (T) entity;
+    } catch (Throwable e) {
+      throw new RuntimeException(String.format("ERROR mapping Row to Entity %s", this.entityClass.getName()), e);
+    }
+  }
+
+  private static MethodHandle constructorOf(Class<?> entityClass) {
+    try {
+      Constructor<?> constructor = entityClass.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      throw new IllegalStateException(String.format("%s needs a no-args constructor to be mapped from rows", entityClass.getName()), e);
+    }
+  }
+
+  private static MethodHandle setterOf(Class<?> entityClass, Field field) {
+    try {
+      Method method = entityClass.getDeclaredMethod("set" + StringUtils.capitalize(field.getName()), field.getType());
+      method.setAccessible(true);
+      return lookup.unreflect(method);
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return a setter reading the column with the <code>Row</code> getter of the field type, and setting
+   * primitives unboxed. <code>null</code> is not set on primitive fields.
+   */
+  private static ColumnSetter columnSetter(Class<?> type, MethodHandle setter) {
+    MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, type.isPrimitive() ? type : Object.class));
+    if (type == int.class) {
+      return (entity, row, pos) -> {
+        Integer value = row.getInteger(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.intValue());
+        }
+      };
+    } else if (type == long.class) {
+      return (entity, row, pos) -> {
+        Long value = row.getLong(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.longValue());
+        }
+      };
+    } else if (type == double.class) {
+      return (entity, row, pos) -> {
+        Double value = row.getDouble(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.doubleValue());
+        }
+      };
+    } else if (type == float.class) {
+      return (entity, row, pos) -> {
+        Float value = row.getFloat(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.floatValue());
+        }
+      };
+    } else if (type == short.class) {
+      return (entity, row, pos) -> {
+        Short value = row.getShort(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.shortValue());
+        }
+      };
+    } else if (type == boolean.class) {
+      return (entity, row, pos) -> {
+        Boolean value = row.getBoolean(pos);
+        if (value != null) {
+          handle.invokeExact(entity, value.booleanValue());
+        }
+      };
+    } else if (type.isPrimitive()) {
+      MethodHandle boxed = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+      Class<?> boxedType = MethodType.methodType(type).wrap().returnType();
+      return (entity, row, pos) -> {
+        Object value = row.get(boxedType, pos);
+        if (value != null) {
+          boxed.invokeExact(entity, value);
+        }
+      };
+    }
+    return (entity, row, pos) -> {
+      Object value = row.get(type, pos);
+      handle.invokeExact(entity, value);
+    };
+  }
+
+  @FunctionalInterface
+  private interface ColumnSetter {
+    void set(Object entity, Row row, int pos) throws Throwable;
+  }
+
+  private final class Accumulator {
+    private final List<T> entities = new ArrayList<>();
+    private int[] positions;
+
+    private void add(Row row) {
+      if (this.positions == null) {
+        this.positions = positions(row);
+      }
+      this.entities.add(map(row, this.positions));
+    }
+  }
+}
@@ -62,6 +62,10 @@ public interface Query {
     return QueryBuilder.delete(entity);
   }
 
+  static Query of(String sql, Tuple tuple) {
+    return new QueryBuilder.QueryImpl(sql, tuple);
+  }
+
   static <T extends Entity> JoinSelectQueryBuilder joinSelect(Class<T> entityClass) { return new JoinSelectQueryBuilder(entityClass); }
 
   static JoinSelectQueryBuilder joinSelect(String tableName) { return new JoinSelectQueryBuilder(tableName); }
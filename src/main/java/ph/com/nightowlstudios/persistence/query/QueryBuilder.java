@@ -1,10 +1,9 @@
 package ph.com.nightowlstudios.persistence.query;
 
-import io.vavr.control.Try;
 import io.vertx.sqlclient.Tuple;
 import org.apache.commons.lang3.StringUtils;
-import ph.com.nightowlstudios.entity.Column;
 import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.EntityMetadata;
 import ph.com.nightowlstudios.entity.Table;
 
 import java.util.*;
@@ -425,34 +424,22 @@ public class QueryBuilder {
     return result.toString();
   }
 
+  @SuppressWarnings("unchecked")
   public static <T extends Entity> Query insert(T entity) {
-    return new QueryImpl(
-            buildInsertSQL(
-                    Entity.getTableName(entity.getClass()),
-                    Entity.getColumnsWithoutId(entity.getClass())
-            ),
-            toTupleWithoutId(entity));
+    EntityMetadata<T> metadata = EntityMetadata.of((Class<T>) entity.getClass());
+    return new QueryImpl(metadata.insertSQL(), metadata.insertTuple(entity));
   }
 
+  @SuppressWarnings("unchecked")
   public static <T extends Entity> Query update(T entity) {
-    String SQL = String.format(
-      "%s WHERE id='%s'",
-      buildUpdateSQL(Entity.getTableName(entity.getClass()), Entity.getColumns(entity.getClass())),
-      Try.of(() -> entity.getClass()
-        .getDeclaredMethod("getId")
-        .invoke(entity))
-        .getOrNull()
-    );
-    return new QueryImpl(SQL, toTuple(entity));
+    EntityMetadata<T> metadata = EntityMetadata.of((Class<T>) entity.getClass());
+    return new QueryImpl(metadata.updateSQL(), metadata.updateTuple(entity));
   }
 
+  @SuppressWarnings("unchecked")
   public static <T extends Entity> Query delete(T entity) {
-    Object uuid = Try.of(() -> entity.getClass()
-      .getDeclaredMethod("getId")
-      .invoke(entity))
-      .getOrNull();
-    String SQL = String.format("DELETE FROM %s WHERE id=$1", Entity.getTableName(entity.getClass()));
-    return new QueryImpl(SQL, Tuple.of(uuid));
+    EntityMetadata<T> metadata = EntityMetadata.of((Class<T>) entity.getClass());
+    return new QueryImpl(metadata.deleteSQL(), metadata.deleteTuple(entity));
   }
 
   private String buildSelectSQL(String tableName) {
@@ -462,17 +449,7 @@ public class QueryBuilder {
   }
 
   private String buildUpdateSQL(String tableName) {
-    return buildUpdateSQL(tableName, this.columns.toArray(new String[0]));
-  }
-
-  private static String buildUpdateSQL(String tableName, String... columns) {
-    String format = "%s %s SET %s";
-    String values = IntStream
-      .rangeClosed(1, columns.length)
-      .mapToObj(i -> String.format(
-        "%s=$%d", columns[i - 1], i))
-      .collect(Collectors.joining(", "));
-    return String.format(format, QueryType.UPDATE, tableName, values);
+    return EntityMetadata.updateSQL(tableName, this.columns.toArray(new String[0]));
   }
 
   private String buildDeleteSQL(String tableName) {
@@ -480,24 +457,7 @@ public class QueryBuilder {
   }
 
   private String buildInsertSQL(String tableName) {
-    return buildInsertSQL(tableName, this.columns.toArray(new String[0]));
-  }
-
-  private static String buildInsertSQL(String tableName, String... columns) {
-    String format = "%s INTO %s (%s) VALUES (%s) RETURNING (id)";
-    return String.format(
-      format,
-      QueryType.INSERT,
-      tableName,
-      String.join(COMMA, columns),
-      buildValuesForInsert(columns.length));
-  }
-
-  private static String buildValuesForInsert(int size) {
-    return IntStream
-      .rangeClosed(1, size)
-      .mapToObj(i -> String.format("$%d", i))
-      .collect(Collectors.joining(", "));
+    return EntityMetadata.insertSQL(tableName, this.columns.toArray(new String[0]));
   }
 
   private String buildWhereClause() {
@@ -520,35 +480,6 @@ public class QueryBuilder {
     return String.format("WHERE %s%s$%d %s", this.whereColumn, this.whereOp, startIndex, logicals).trim();
   }
 
-  private static <T extends Entity> Tuple toTupleWithoutId(T entity) {
-    return Tuple.tuple(Arrays
-            .stream(entity.getClass().getDeclaredFields())
-            .filter(field -> field.isAnnotationPresent(Column.class))
-            .filter(field -> !StringUtils.equals(field.getName(), "id"))
-            .map(field -> {
-              final String prefix = field.getType().equals(boolean.class) ? "is" : "get";
-              return Try.of(() -> entity.getClass()
-                              .getDeclaredMethod(prefix + StringUtils.capitalize(field.getName()))
-                              .invoke(entity))
-                      .getOrNull();
-            })
-            .collect(Collectors.toList()));
-  }
-
-  private static <T extends Entity> Tuple toTuple(T entity) {
-    return Tuple.tuple(Arrays
-            .stream(entity.getClass().getDeclaredFields())
-            .filter(field -> field.isAnnotationPresent(Column.class))
-            .map(field -> {
-              final String prefix = field.getType().equals(boolean.class) ? "is" : "get";
-              return Try.of(() -> entity.getClass()
-                              .getDeclaredMethod(prefix + StringUtils.capitalize(field.getName()))
-                              .invoke(entity))
-          .getOrNull();
-      })
-      .collect(Collectors.toList()));
-  }
-
   QueryBuilder(String tableName, QueryType queryType) {
     this.tableName = tableName;
     this.queryType = queryType;
@@ -0,0 +1,324 @@
+package ph.com.nightowlstudios.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Generates, for every concrete {@link ph.com.nightowlstudios.service.Service} of the compiled sources:
+ * <ul>
+ *   <li><code>&lt;Service&gt;Client</code>, a typed stub with one method per action, bound to a single
+ *   {@link ph.com.nightowlstudios.service.ServiceBus} and a {@link ph.com.nightowlstudios.service.ServiceMethod}
+ *   constant per action</li>
+ *   <li><code>&lt;Service&gt;Skeleton</code>, a {@link ph.com.nightowlstudios.service.ServiceSkeleton} invoking
+ *   each action with a plain method call</li>
+ * </ul>
+ * Nested services are named after their enclosing classes joined with <code>_</code>, ie: <code>Outer_InnerClient</code>.
+ * Registered as a service provider, so it runs for any project with <code>edge</code> on its compile classpath.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@SupportedAnnotationTypes("*")
+public class ServiceProcessor extends AbstractProcessor {
+
+  private static final String SERVICE = "ph.com.nightowlstudios.service.Service";
+  private static final String FUTURE = "io.vertx.core.Future";
+  private static final String READ_STREAM = "io.vertx.core.streams.ReadStream";
+  private static final String VERTICLE = "io.vertx.core.AbstractVerticle";
+
+  /**
+   * Signatures of the public methods of <code>AbstractVerticle</code>, which are not actions when overridden,
+   * same as <code>ServiceActions.isAction</code>.
+   */
+  private Set<String> lifecycleMethods;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    TypeElement service = processingEnv.getElementUtils().getTypeElement(SERVICE);
+    if (service == null) {
+      return false;
+    }
+    if (this.lifecycleMethods == null) {
+      this.lifecycleMethods = new HashSet<>();
+      TypeElement verticle = processingEnv.getElementUtils().getTypeElement(VERTICLE);
+      for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(verticle))) {
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+          this.lifecycleMethods.add(signatureOf(method));
+        }
+      }
+    }
+    for (TypeElement type : ElementFilter.typesIn(round.getRootElements())) {
+      generateAll(type, service);
+    }
+    return false;
+  }
+
+  private void generateAll(TypeElement type, TypeElement service) {
+    if (isConcreteService(type, service)) {
+      try {
+        generate(type);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to generate service stubs: " + e.getMessage(), type);
+      }
+    }
+    for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+      if (nested.getModifiers().contains(Modifier.STATIC)) {
+        generateAll(nested, service);
+      }
+    }
+  }
+
+  private boolean isConcreteService(TypeElement type, TypeElement service) {
+    return type.getKind() == ElementKind.CLASS
+      && !type.getModifiers().contains(Modifier.ABSTRACT)
+      && !type.getModifiers().contains(Modifier.PRIVATE)
+      && !type.getQualifiedName().contentEquals(SERVICE)
+      && processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type.asType()), processingEnv.getTypeUtils().erasure(service.asType()));
+  }
+
+  private void generate(TypeElement type) throws IOException {
+    String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String baseName = baseNameOf(type);
+    String serviceName = type.getQualifiedName().toString();
+    List<ExecutableElement> actions = actionsOf(type);
+    writeClient(type, packageName, baseName, serviceName, actions);
+    writeSkeleton(type, packageName, baseName, serviceName, actions);
+  }
+
+  /**
+   * Public instance methods of the service and its superclasses, up to {@link ph.com.nightowlstudios.service.Service}.
+   */
+  private List<ExecutableElement> actionsOf(TypeElement type) {
+    Map<String, ExecutableElement> actions = new LinkedHashMap<>();
+    TypeElement current = type;
+    while (current != null && !current.getQualifiedName().contentEquals(SERVICE)) {
+      for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC) || this.lifecycleMethods.contains(signatureOf(method))) {
+          continue;
+        }
+        actions.putIfAbsent(signatureOf(method), method);
+      }
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return new ArrayList<>(actions.values());
+  }
+
+  private void writeClient(TypeElement type, String packageName, String baseName, String serviceName, List<ExecutableElement> actions) throws IOException {
+    String className = baseName + "Client";
+    StringBuilder out = new StringBuilder();
+    header(out, packageName, "io.vertx.core.Future", "io.vertx.core.Vertx", "io.vertx.core.streams.ReadStream",
+      "ph.com.nightowlstudios.core.Edge", "ph.com.nightowlstudios.service.ServiceBus",
+      "ph.com.nightowlstudios.service.ServiceMethod", "java.util.Optional");
+    out.append("/**\n * Typed client of {@link ").append(serviceName).append("}, generated by {@link ")
+      .append(ServiceProcessor.class.getName()).append("}.\n */\n");
+    out.append("public final class ").append(className).append(" {\n\n");
+    out.append("  public static final String ADDRESS = \"").append(processingEnv.getElementUtils().getBinaryName(type)).append("\";\n");
+    Map<ExecutableElement, String> constants = new LinkedHashMap<>();
+    Set<String> used = new HashSet<>();
+    for (ExecutableElement action : actions) {
+      if (!action.getTypeParameters().isEmpty()) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Generic actions are left out of the generated client", action);
+        continue;
+      }
+      String constant = constantNameOf(action, used);
+      constants.put(action, constant);
+      if (!isStream(action)) {
+        TypeMirror reply = replyTypeOf(action);
+        out.append("  public static final ServiceMethod<").append(reply).append("> ").append(constant)
+          .append(" = ServiceMethod.of(\"").append(action.getSimpleName()).append("\", ")
+          .append(processingEnv.getTypeUtils().erasure(reply)).append(".class);\n");
+      } else {
+        out.append("  public static final String ").append(constant).append(" = \"").append(action.getSimpleName()).append("\";\n");
+      }
+    }
+    out.append("\n  private final ServiceBus<").append(serviceName).append("> bus;\n\n");
+    out.append("  public ").append(className).append("(Vertx vertx) {\n")
+      .append("    this(Edge.serviceBus(vertx, ").append(serviceName).append(".class));\n  }\n\n");
+    out.append("  public ").append(className).append("(ServiceBus<").append(serviceName).append("> bus) {\n")
+      .append("    this.bus = bus;\n  }\n\n");
+    out.append("  public ServiceBus<").append(serviceName).append("> bus() {\n    return this.bus;\n  }\n");
+    for (Map.Entry<ExecutableElement, String> entry : constants.entrySet()) {
+      ExecutableElement action = entry.getKey();
+      StringJoiner parameters = new StringJoiner(", ");
+      StringJoiner arguments = new StringJoiner(", ");
+      for (VariableElement parameter : action.getParameters()) {
+        parameters.add(parameter.asType() + " " + parameter.getSimpleName());
+        arguments.add(parameter.getSimpleName());
+      }
+      String args = arguments.length() == 0 ? "" : ", " + arguments;
+      out.append("\n  public ");
+      if (isStream(action)) {
+        out.append("Future<ReadStream<").append(replyTypeOf(action)).append(">> ").append(action.getSimpleName())
+          .append('(').append(parameters).append(") {\n")
+          .append("    return this.bus.stream(").append(entry.getValue()).append(args).append(");\n  }\n");
+      } else {
+        out.append("Future<Optional<").append(replyTypeOf(action)).append(">> ").append(action.getSimpleName())
+          .append('(').append(parameters).append(") {\n")
+          .append("    return this.bus.request(").append(entry.getValue()).append(args).append(");\n  }\n");
+      }
+    }
+    out.append("}\n");
+    write(type, packageName, className, out);
+  }
+
+  private void writeSkeleton(TypeElement type, String packageName, String baseName, String serviceName, List<ExecutableElement> actions) throws IOException {
+    String className = baseName + "Skeleton";
+    StringBuilder out = new StringBuilder();
+    header(out, packageName, "ph.com.nightowlstudios.service.ServiceSkeleton");
+    out.append("/**\n * Dispatch of {@link ").append(serviceName).append("} actions, generated by {@link ")
+      .append(ServiceProcessor.class.getName()).append("}.\n */\n");
+    out.append("public final class ").append(className).append(" implements ServiceSkeleton<").append(serviceName).append("> {\n\n");
+    out.append("  @Override\n  @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+    out.append("  public ServiceSkeleton.Invoker invoker(").append(serviceName).append(" service, String signature) {\n");
+    out.append("    switch (signature) {\n");
+    for (ExecutableElement action : actions) {
+      StringJoiner arguments = new StringJoiner(", ");
+      int position = 0;
+      for (VariableElement parameter : action.getParameters()) {
+        arguments.add("(" + castTypeOf(parameter.asType()) + ") args[" + position++ + "]");
+      }
+      out.append("      case \"").append(signatureOf(action)).append("\":\n");
+      String call = "service." + action.getSimpleName() + "(" + arguments + ")";
+      if (action.getReturnType().getKind() == TypeKind.VOID) {
+        out.append("        return args -> {\n          ").append(call).append(";\n          return null;\n        };\n");
+      } else {
+        out.append("        return args -> ").append(call).append(";\n");
+      }
+    }
+    out.append("      default:\n        return null;\n    }\n  }\n}\n");
+    write(type, packageName, className, out);
+  }
+
+  private static void header(StringBuilder out, String packageName, String... imports) {
+    if (!packageName.isEmpty()) {
+      out.append("package ").append(packageName).append(";\n\n");
+    }
+    for (String name : imports) {
+      out.append("import ").append(name).append(";\n");
+    }
+    out.append('\n');
+  }
+
+  private void write(TypeElement type, String packageName, String className, StringBuilder source) throws IOException {
+    String name = packageName.isEmpty() ? className : packageName + "." + className;
+    try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+      writer.write(source.toString());
+    }
+  }
+
+  /**
+   * Same as <code>ServiceActions.signatureOf</code>: the action name and the canonical names of its erased parameter types.
+   */
+  private String signatureOf(ExecutableElement method) {
+    StringJoiner parameters = new StringJoiner(",", method.getSimpleName() + "(", ")");
+    for (VariableElement parameter : method.getParameters()) {
+      parameters.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+    }
+    return parameters.toString();
+  }
+
+  private String castTypeOf(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+    }
+    return processingEnv.getTypeUtils().erasure(type).toString();
+  }
+
+  /**
+   * @return whether the action returns <code>ReadStream&lt;T&gt;</code> or <code>Future&lt;ReadStream&lt;T&gt;&gt;</code>,
+   * which {@link ph.com.nightowlstudios.service.Service} replies to as a stream.
+   */
+  private boolean isStream(ExecutableElement action) {
+    TypeMirror type = action.getReturnType();
+    if (isOf(type, FUTURE)) {
+      type = typeArgumentOf(type);
+    }
+    return isOf(type, READ_STREAM);
+  }
+
+  /**
+   * @return <code>T</code> of an action returning <code>Future&lt;T&gt;</code>, <code>ReadStream&lt;T&gt;</code>,
+   * <code>Future&lt;ReadStream&lt;T&gt;&gt;</code> or <code>T</code>, boxed.
+   */
+  private TypeMirror replyTypeOf(ExecutableElement action) {
+    TypeMirror type = action.getReturnType();
+    if (isStream(action) && isOf(type, FUTURE)) {
+      type = typeArgumentOf(type);
+    }
+    if (type.getKind() == TypeKind.VOID) {
+      return processingEnv.getElementUtils().getTypeElement(Void.class.getName()).asType();
+    }
+    if (type.getKind().isPrimitive()) {
+      return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).asType();
+    }
+    if (isOf(type, FUTURE) || isOf(type, READ_STREAM)) {
+      return typeArgumentOf(type);
+    }
+    return type;
+  }
+
+  /**
+   * @return the type argument of <code>type</code>, <code>Object</code> when raw or not a declared type.
+   */
+  private TypeMirror typeArgumentOf(TypeMirror type) {
+    List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+    return arguments.isEmpty() || arguments.get(0).getKind() != TypeKind.DECLARED
+      ? processingEnv.getElementUtils().getTypeElement(Object.class.getName()).asType()
+      : arguments.get(0);
+  }
+
+  private static boolean isOf(TypeMirror type, String className) {
+    return type.getKind() == TypeKind.DECLARED
+      && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(className);
+  }
+
+  private static String baseNameOf(TypeElement type) {
+    StringBuilder name = new StringBuilder(type.getSimpleName());
+    Element enclosing = type.getEnclosingElement();
+    while (enclosing != null && !(enclosing instanceof PackageElement)) {
+      name.insert(0, enclosing.getSimpleName() + "_");
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.toString();
+  }
+
+  private static String constantNameOf(ExecutableElement action, Set<String> used) {
+    String name = action.getSimpleName().toString().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    String constant = name;
+    for (int overload = 1; !used.add(constant); overload++) {
+      constant = name + "_" + overload;
+    }
+    return constant;
+  }
+}
@@ -2,8 +2,12 @@ package ph.com.nightowlstudios.repository;
 
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.Tuple;
 import ph.com.nightowlstudios.dto.DTO;
 import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.EntityMetadata;
 import ph.com.nightowlstudios.persistence.Collectors;
 import ph.com.nightowlstudios.persistence.PersistenceClient;
 import ph.com.nightowlstudios.persistence.query.Query;
@@ -68,6 +72,76 @@ public abstract class Repository {
     return db().query(query, collect(rowMapper));
   }
 
+  /**
+   * @see PersistenceClient#stream(Query, Function)
+   */
+  public <T extends Entity> Future<RowStream<T>> streamMany(Query query, Class<T> entityClass) {
+    return db().stream(query, entityClass);
+  }
+
+  /**
+   * @see PersistenceClient#stream(Query, Function)
+   */
+  public <T> Future<RowStream<T>> streamMany(Query query, Function<Row, T> rowMapper) {
+    return db().stream(query, rowMapper);
+  }
+
+  /**
+   * Inserts <code>entities</code> in a single transaction, {@link PersistenceClient#batchSize()} at a time,
+   * as a pipelined batch of <code>INSERT</code>s or, with <code>db.rewriteBatchedInserts</code>, as one
+   * multi-row <code>INSERT</code> per chunk.
+   *
+   * @return the generated ids, in the order of <code>entities</code>.
+   */
+  public <T extends Entity> Future<List<UUID>> insertAll(Class<T> entityClass, List<T> entities) {
+    EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+    Future<List<RowSet<Row>>> results;
+    if (db().rewriteBatchedInserts()) {
+      int chunkSize = Math.min(db().batchSize(), metadata.maxInsertRows());
+      List<Query> inserts = new ArrayList<>();
+      for (int from = 0; from < entities.size(); from += chunkSize) {
+        List<T> chunk = entities.subList(from, Math.min(entities.size(), from + chunkSize));
+        inserts.add(Query.of(metadata.insertSQL(chunk.size()), metadata.insertTuple(chunk)));
+      }
+      results = db().transaction(inserts);
+    } else {
+      List<Tuple> batch = new ArrayList<>(entities.size());
+      entities.forEach(entity -> batch.add(metadata.insertTuple(entity)));
+      results = db().batch(metadata.insertSQL(), batch);
+    }
+    return results.map(rowSets -> {
+      List<UUID> ids = new ArrayList<>(entities.size());
+      rowSets.forEach(rows -> rows.forEach(row -> ids.add(row.getUUID(0))));
+      return ids;
+    });
+  }
+
+  /**
+   * Updates <code>entities</code> by id in a single transaction, as pipelined batches of
+   * {@link PersistenceClient#batchSize()} <code>UPDATE</code>s.
+   *
+   * @return the number of updated rows.
+   */
+  public <T extends Entity> Future<Integer> updateAll(Class<T> entityClass, List<T> entities) {
+    EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+    List<Tuple> batch = new ArrayList<>(entities.size());
+    entities.forEach(entity -> batch.add(metadata.updateTuple(entity)));
+    return db().batch(metadata.updateSQL(), batch).map(Repository::rowCount);
+  }
+
+  /**
+   * Deletes <code>entities</code> by id in a single transaction, as pipelined batches of
+   * {@link PersistenceClient#batchSize()} <code>DELETE</code>s.
+   *
+   * @return the number of deleted rows.
+   */
+  public <T extends Entity> Future<Integer> deleteAll(Class<T> entityClass, List<T> entities) {
+    EntityMetadata<T> metadata = EntityMetadata.of(entityClass);
+    List<Tuple> batch = new ArrayList<>(entities.size());
+    entities.forEach(entity -> batch.add(metadata.deleteTuple(entity)));
+    return db().batch(metadata.deleteSQL(), batch).map(Repository::rowCount);
+  }
+
   protected <T> Future<Optional<T>> findOne(Query q, Function<Row, T> rowMapper) {
     return db().query(q, collect(rowMapper)).map(Utils::getFirstElement);
   }
@@ -82,4 +156,12 @@ public abstract class Repository {
       }
     );
   }
+
+  private static int rowCount(List<RowSet<Row>> results) {
+    int count = 0;
+    for (RowSet<Row> rows : results) {
+      count += rows.rowCount();
+    }
+    return count;
+  }
 }
@@ -5,18 +5,31 @@ import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.sqlclient.RowStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ph.com.nightowlstudios.auth.BasicAuthentication;
 import ph.com.nightowlstudios.auth.UserRole;
+import ph.com.nightowlstudios.core.Deadline;
 import ph.com.nightowlstudios.dto.DTO;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceStream;
+import ph.com.nightowlstudios.tracing.Span;
+import ph.com.nightowlstudios.tracing.Tracing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -94,6 +107,35 @@ public abstract class Resource {
     return Optional.ofNullable(ctx.user().<T>get(key)).orElse(def);
   }
 
+  /**
+   * Route handler giving each request <code>millis</code> to complete, ie:
+   * <code>get("/reports").handler(timeout(5000)).handler(this::getReports)</code>.
+   * Pass the request deadline along with {@link ph.com.nightowlstudios.service.ServiceBus#withDeadline(Deadline)}.
+   *
+   * @see Deadline
+   */
+  protected Handler<RoutingContext> timeout(long millis) {
+    return Deadline.handler(millis);
+  }
+
+  /**
+   * @return the deadline of the request, or <code>null</code> when its route has no {@link #timeout(long)}.
+   */
+  protected Deadline deadline(RoutingContext ctx) {
+    return Deadline.of(ctx);
+  }
+
+  /**
+   * Pass it along with {@link ph.com.nightowlstudios.service.ServiceBus#withSpan(Span)} for requests made
+   * after the handler went asynchronous.
+   *
+   * @return the span of the request, or <code>null</code> when tracing is disabled.
+   * @see Tracing
+   */
+  protected Span span(RoutingContext ctx) {
+    return Tracing.of(ctx);
+  }
+
   protected Route route(HttpMethod method, String path) {
     return router().route(method, path);
   }
@@ -174,6 +216,59 @@ public abstract class Resource {
     endContext(ctx, body);
   }
 
+  /**
+   * Writes <code>stream</code> as a chunked JSON array, pausing it whenever the response write queue is full.
+   * ie: the stream of {@link ph.com.nightowlstudios.service.ServiceBus#stream(String, Object...)}, or of
+   * {@link ph.com.nightowlstudios.persistence.PersistenceClient#stream(ph.com.nightowlstudios.persistence.query.Query)},
+   * which are closed if the client goes away before the end.
+   *
+   * @param ctx    the routing context to end
+   * @param stream the items of the JSON array
+   * @param <T>    the type of items
+   */
+  protected <T> void endContext(RoutingContext ctx, ReadStream<T> stream) {
+    HttpServerResponse response = ctx.response();
+    boolean[] started = {false};
+    stream.exceptionHandler(error -> {
+      if (!response.headWritten()) {
+        failureHandler(ctx, error);
+      } else {
+        logger().error("Streamed response failed midway", error);
+        response.reset();
+      }
+    });
+    stream.endHandler(v -> {
+      if (!started[0]) {
+        endContext(ctx, new JsonArray());
+        return;
+      }
+      response.end("]");
+    });
+    response.drainHandler(v -> stream.resume());
+    // Release the query's connection, or cancel the service's stream, when the client goes away midway.
+    if (stream instanceof RowStream) {
+      response.closeHandler(v -> ((RowStream<?>) stream).close());
+    } else if (stream instanceof ServiceStream) {
+      response.closeHandler(v -> ((ServiceStream<?>) stream).close());
+    }
+    stream.handler(item -> {
+      if (!started[0]) {
+        started[0] = true;
+        response
+          .setStatusCode(HttpResponseStatus.OK.code())
+          .setChunked(true)
+          .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+          .write("[");
+      } else {
+        response.write(",");
+      }
+      response.write(item instanceof DTO ? ((DTO) item).toJson().encode() : Json.encode(item));
+      if (response.writeQueueFull()) {
+        stream.pause();
+      }
+    });
+  }
+
   protected <T> void on(RoutingContext ctx, Future<T> action, Handler<T> onSuccess) {
     action.onSuccess(onSuccess).onFailure(error -> this.failureHandler(ctx, error));
   }
@@ -183,6 +278,18 @@ public abstract class Resource {
   }
 
   protected void failureHandler(RoutingContext ctx, Throwable cause) {
+    if (cause instanceof ReplyException && ((ReplyException) cause).failureCode() == Service.OVERLOADED) {
+      ctx.response().putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter()));
+      ctx.fail(HttpResponseStatus.SERVICE_UNAVAILABLE.code(), cause);
+      return;
+    }
+
+    if (cause instanceof ReplyException &&
+            (((ReplyException) cause).failureType() == ReplyFailure.TIMEOUT || ((ReplyException) cause).failureCode() == Deadline.EXCEEDED)) {
+      ctx.fail(Deadline.EXCEEDED, cause);
+      return;
+    }
+
     if (cause instanceof IllegalArgumentException) {
       ctx.fail(HttpResponseStatus.BAD_REQUEST.code(), cause);
       return;
@@ -204,6 +311,16 @@ public abstract class Resource {
     ctx.fail(cause.getCause());
   }
 
+  /**
+   * Seconds an overloaded client is told to wait before retrying, from <code>services.retryAfter</code>.
+   */
+  protected int retryAfter() {
+    return Optional.ofNullable(Vertx.currentContext())
+      .map(context -> context.config().getJsonObject("services"))
+      .map(services -> services.getInteger("retryAfter"))
+      .orElse(1);
+  }
+
   /**
    * Applies a Future <code>execute</code> function on each element of <code>list</code>.
    * The <code>Future</code> completes until all of the functions are executed.
@@ -0,0 +1,174 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of the results of a {@link Cached} action, shared by all instances of its service on the
+ * same <code>Vert.x</code> instance.
+ * <p>
+ * Entries are keyed on the canonical encoding of the arguments, see {@link ServiceUtils#canonicalKey(Object...)},
+ * and are dropped once their ttl is over or when the cache is full and they are the least recently used.
+ * Other services invalidate them with {@link #invalidate(Vertx, Class, String)}.
+ * <p>
+ * Results are handed out as is, services deployed in this JVM should not mutate them unless the local
+ * copy policy is {@link LocalServiceCodec.CopyPolicy#DEEP}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class ActionCache {
+
+  /**
+   * Address services listen on for invalidations.
+   */
+  static final String INVALIDATE_ADDRESS = "edge.cache.invalidate";
+  static final String SERVICE = "service";
+  static final String KEY = "key";
+
+  private static final Map<Vertx, Map<String, ActionCache>> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final long ttlNanos;
+  private final Map<String, CachedResult> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private ActionCache(long ttlNanos, int maxEntries) {
+    this.ttlNanos = ttlNanos;
+    this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  static ActionCache of(Vertx vertx, Class<?> serviceClass, String action, Cached cached) {
+    return cachesOf(vertx).computeIfAbsent(name(serviceClass.getName(), action),
+      name -> new ActionCache(cached.unit().toNanos(cached.ttl()), Math.max(1, cached.maxEntries())));
+  }
+
+  /**
+   * Drops every cached result of <code>action</code>, in every JVM of the cluster.
+   */
+  public static void invalidate(Vertx vertx, Class<? extends Service> serviceClass, String action) {
+    vertx.eventBus().publish(INVALIDATE_ADDRESS, new JsonObject()
+      .put(SERVICE, serviceClass.getName())
+      .put(ServiceUtils.ACTION, action));
+  }
+
+  /**
+   * Drops the cached result of <code>action</code> for the given arguments, in every JVM of the cluster.
+   */
+  public static void invalidate(Vertx vertx, Class<? extends Service> serviceClass, String action, Object... arguments) {
+    vertx.eventBus().publish(INVALIDATE_ADDRESS, new JsonObject()
+      .put(SERVICE, serviceClass.getName())
+      .put(ServiceUtils.ACTION, action)
+      .put(KEY, ServiceUtils.canonicalKey(arguments)));
+  }
+
+  /**
+   * Applies an invalidation published by {@link #invalidate(Vertx, Class, String)} to the caches of <code>vertx</code>.
+   */
+  static void invalidate(Vertx vertx, JsonObject invalidation) {
+    ActionCache cache = cachesOf(vertx).get(name(invalidation.getString(SERVICE), invalidation.getString(ServiceUtils.ACTION)));
+    if (cache == null) {
+      return;
+    }
+    String key = invalidation.getString(KEY);
+    synchronized (cache) {
+      if (key == null) {
+        cache.entries.clear();
+      } else {
+        cache.entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * @return hits, misses, evictions, size and hit rate of every action cache of <code>vertx</code>, keyed on
+   * service name and action.
+   */
+  public static JsonObject stats(Vertx vertx) {
+    JsonObject stats = new JsonObject();
+    cachesOf(vertx).forEach((name, cache) -> stats.put(name, cache.statistics()));
+    return stats;
+  }
+
+  /**
+   * @return the cached result for <code>arguments</code>, or the result of <code>action</code> which is
+   * cached when it succeeds.
+   */
+  Future<Object> get(Object[] arguments, Supplier<Future<Object>> action) {
+    String key = ServiceUtils.canonicalKey(arguments);
+    CachedResult entry;
+    synchronized (this) {
+      entry = this.entries.get(key);
+      if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+        this.entries.remove(key);
+        entry = null;
+      }
+    }
+    if (entry != null) {
+      this.hits.increment();
+      return Future.succeededFuture(entry.value);
+    }
+    this.misses.increment();
+    return action.get().onSuccess(value -> {
+      if (value instanceof ReadStream) {
+        return;
+      }
+      synchronized (this) {
+        this.entries.put(key, new CachedResult(value, System.nanoTime() + this.ttlNanos));
+      }
+    });
+  }
+
+  private JsonObject statistics() {
+    long hitCount = this.hits.sum();
+    long missCount = this.misses.sum();
+    int size;
+    synchronized (this) {
+      size = this.entries.size();
+    }
+    return new JsonObject()
+      .put("hits", hitCount)
+      .put("misses", missCount)
+      .put("evictions", this.evictions.sum())
+      .put("size", size)
+      .put("hitRate", hitCount + missCount == 0 ? 0d : (double) hitCount / (hitCount + missCount));
+  }
+
+  private static Map<String, ActionCache> cachesOf(Vertx vertx) {
+    return caches.computeIfAbsent(vertx, key -> new ConcurrentHashMap<>());
+  }
+
+  private static String name(String serviceName, String action) {
+    return serviceName + "." + action;
+  }
+
+  private static final class CachedResult {
+    private final Object value;
+    private final long expiresAt;
+
+    private CachedResult(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limits of a {@link Service}, and of its individual actions, configured under
+ * <code>services.&lt;ServiceName&gt;</code>, ie:
+ * <pre>
+ * services:
+ *   UserService:
+ *     maxConcurrent: 32
+ *     maxQueued: 64
+ *     lanes:
+ *       bulk:
+ *         weight: 1
+ *         maxQueued: 1000
+ *     actions:
+ *       search:
+ *         maxConcurrent: 4
+ * </pre>
+ * An action that finds its limit reached waits in the bounded queue of its {@link Priority} lane. Once that
+ * queue is full too, it fails right away with {@link Service#OVERLOADED}. Freed permits go to the lanes by
+ * weight, see {@link Priority#defaultWeight()}. Limits are shared by all instances of the service on the same
+ * <code>Vert.x</code> instance.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class AdmissionControl {
+
+  private static final Map<Vertx, Map<String, Limiter>> limiters = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Limiter serviceLimiter;
+  private final Map<String, Limiter> actionLimiters;
+
+  private AdmissionControl(Limiter serviceLimiter, Map<String, Limiter> actionLimiters) {
+    this.serviceLimiter = serviceLimiter;
+    this.actionLimiters = actionLimiters;
+  }
+
+  /**
+   * @param serviceClass the service to limit
+   * @param config       the <code>services.&lt;ServiceName&gt;</code> section, may be empty
+   */
+  static AdmissionControl of(Vertx vertx, Class<?> serviceClass, JsonObject config) {
+    Map<String, Limiter> limiters = limitersOf(vertx);
+    Limiter serviceLimiter = limiter(limiters, serviceClass.getName(), config);
+    Map<String, Limiter> actionLimiters = new HashMap<>();
+    config.getJsonObject("actions", new JsonObject()).forEach(entry -> {
+      Limiter limiter = limiter(limiters, serviceClass.getName() + "." + entry.getKey(), (JsonObject) entry.getValue());
+      if (limiter != null) {
+        actionLimiters.put(entry.getKey(), limiter);
+      }
+    });
+    return new AdmissionControl(serviceLimiter, actionLimiters);
+  }
+
+  /**
+   * @return the configuration of <code>serviceClass</code> in the <code>services</code> section,
+   * keyed on either its simple or fully qualified name.
+   */
+  static JsonObject configOf(Class<?> serviceClass, JsonObject services) {
+    JsonObject config = services.getJsonObject(serviceClass.getName());
+    return config != null ? config : services.getJsonObject(serviceClass.getSimpleName(), new JsonObject());
+  }
+
+  /**
+   * Runs <code>task</code> once both the action and the service limits admit it.
+   * Queued tasks wait in the <code>priority</code> lane and are resumed on <code>context</code>.
+   */
+  Future<Object> submit(Context context, String action, Priority priority, Supplier<Future<Object>> task) {
+    Limiter actionLimiter = this.actionLimiters.get(action);
+    if (actionLimiter == null && this.serviceLimiter == null) {
+      return task.get();
+    }
+    return acquire(actionLimiter, context, priority)
+      .compose(ignore -> acquire(this.serviceLimiter, context, priority).onFailure(failure -> release(actionLimiter)))
+      .compose(ignore -> {
+        Future<Object> response;
+        try {
+          response = task.get();
+        } catch (RuntimeException e) {
+          response = Future.failedFuture(e);
+        }
+        return response.onComplete(done -> {
+          release(this.serviceLimiter);
+          release(actionLimiter);
+        });
+      });
+  }
+
+  /**
+   * @return running, queued and rejected counts along with the configured limits of every limited
+   * service and action of <code>vertx</code>, keyed on service name, or service name and action. Each lane
+   * reports its queue depth, weight and the time its requests waited.
+   */
+  public static JsonObject stats(Vertx vertx) {
+    JsonObject stats = new JsonObject();
+    limitersOf(vertx).forEach((name, limiter) -> stats.put(name, limiter.stats()));
+    return stats;
+  }
+
+  private static Map<String, Limiter> limitersOf(Vertx vertx) {
+    return limiters.computeIfAbsent(vertx, key -> new ConcurrentHashMap<>());
+  }
+
+  private static Limiter limiter(Map<String, Limiter> limiters, String name, JsonObject config) {
+    int maxConcurrent = config.getInteger("maxConcurrent", 0);
+    if (maxConcurrent <= 0) {
+      return null;
+    }
+    int maxQueued = config.getInteger("maxQueued", maxConcurrent);
+    JsonObject lanesConfig = config.getJsonObject("lanes", new JsonObject());
+    Lane[] lanes = new Lane[Priority.values().length];
+    for (Priority priority : Priority.values()) {
+      JsonObject laneConfig = lanesConfig.getJsonObject(priority.key(), new JsonObject());
+      lanes[priority.ordinal()] = new Lane(
+        priority,
+        Math.max(1, laneConfig.getInteger("weight", priority.defaultWeight())),
+        laneConfig.getInteger("maxQueued", maxQueued));
+    }
+    return limiters.computeIfAbsent(name, key -> new Limiter(key, maxConcurrent, lanes));
+  }
+
+  private static Future<Void> acquire(Limiter limiter, Context context, Priority priority) {
+    return limiter == null ? Future.succeededFuture() : limiter.acquire(context, priority);
+  }
+
+  private static void release(Limiter limiter) {
+    if (limiter != null) {
+      limiter.release();
+    }
+  }
+
+  private static final class Limiter {
+    private final String name;
+    private final int maxConcurrent;
+    private final Lane[] lanes;
+    private int running;
+    private long rejected;
+
+    private Limiter(String name, int maxConcurrent, Lane[] lanes) {
+      this.name = name;
+      this.maxConcurrent = maxConcurrent;
+      this.lanes = lanes;
+    }
+
+    synchronized Future<Void> acquire(Context context, Priority priority) {
+      if (this.running < this.maxConcurrent) {
+        this.running++;
+        return Future.succeededFuture();
+      }
+      Lane lane = this.lanes[priority.ordinal()];
+      if (lane.queue.size() < lane.maxQueued) {
+        Waiter waiter = new Waiter(context);
+        lane.queue.add(waiter);
+        return waiter.promise.future();
+      }
+      this.rejected++;
+      lane.rejected++;
+      return Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, Service.OVERLOADED,
+        String.format("%s is overloaded, %d running and %d queued in the %s lane", this.name, this.running, lane.queue.size(), priority.key())));
+    }
+
+    void release() {
+      Waiter next;
+      synchronized (this) {
+        next = poll();
+        if (next == null) {
+          this.running--;
+          return;
+        }
+      }
+      // The permit goes straight to the next waiter.
+      next.context.runOnContext(v -> next.promise.complete());
+    }
+
+    /**
+     * Smooth weighted round robin over the lanes that have waiters: every lane earns its weight, the
+     * richest one is served and pays back the total weight of the waiting lanes.
+     */
+    private Waiter poll() {
+      Lane next = null;
+      int totalWeight = 0;
+      for (Lane lane : this.lanes) {
+        if (lane.queue.isEmpty()) {
+          continue;
+        }
+        lane.credit += lane.weight;
+        totalWeight += lane.weight;
+        if (next == null || lane.credit > next.credit) {
+          next = lane;
+        }
+      }
+      if (next == null) {
+        return null;
+      }
+      next.credit -= totalWeight;
+      Waiter waiter = next.queue.poll();
+      next.dequeued(waiter);
+      return waiter;
+    }
+
+    synchronized JsonObject stats() {
+      JsonObject lanes = new JsonObject();
+      int queued = 0;
+      for (Lane lane : this.lanes) {
+        queued += lane.queue.size();
+        lanes.put(lane.priority.key(), lane.stats());
+      }
+      return new JsonObject()
+        .put("running", this.running)
+        .put("queued", queued)
+        .put("rejected", this.rejected)
+        .put("maxConcurrent", this.maxConcurrent)
+        .put("lanes", lanes);
+    }
+  }
+
+  private static final class Lane {
+    private final Priority priority;
+    private final int weight;
+    private final int maxQueued;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int credit;
+    private long rejected;
+    private long admitted;
+    private long waitedNanos;
+    private long maxWaitedNanos;
+
+    private Lane(Priority priority, int weight, int maxQueued) {
+      this.priority = priority;
+      this.weight = weight;
+      this.maxQueued = maxQueued;
+    }
+
+    private void dequeued(Waiter waiter) {
+      long waited = System.nanoTime() - waiter.queuedAt;
+      this.admitted++;
+      this.waitedNanos += waited;
+      this.maxWaitedNanos = Math.max(this.maxWaitedNanos, waited);
+      if (this.queue.isEmpty()) {
+        this.credit = 0;
+      }
+    }
+
+    private JsonObject stats() {
+      return new JsonObject()
+        .put("queued", this.queue.size())
+        .put("maxQueued", this.maxQueued)
+        .put("weight", this.weight)
+        .put("rejected", this.rejected)
+        .put("admittedFromQueue", this.admitted)
+        .put("avgWaitMillis", this.admitted == 0 ? 0d : TimeUnit.NANOSECONDS.toMicros(this.waitedNanos / this.admitted) / 1000d)
+        .put("maxWaitMillis", TimeUnit.NANOSECONDS.toMicros(this.maxWaitedNanos) / 1000d);
+    }
+  }
+
+  private static final class Waiter {
+    private final Context context;
+    private final long queuedAt = System.nanoTime();
+    private final Promise<Void> promise = Promise.promise();
+
+    private Waiter(Context context) {
+      this.context = context;
+    }
+  }
+}
@@ -0,0 +1,448 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact, versioned binary alternative to the JSON request and reply payloads of {@link ServiceUtils},
+ * meant for clustered or cross-process delivery.
+ * <pre>
+ *   header : magic(1) version(1) flags(1) registry-fingerprint(4)
+ *   request: count(4) value*
+ *   reply  : value
+ *   value  : type-id(2) content
+ * </pre>
+ * Built-in types have fixed ids, Entities and DTOs get theirs from {@link ServiceTypes}. Variable sized
+ * contents are length-prefixed. A <code>List</code> whose elements share one type writes that type once
+ * followed by the bare elements. When a body is larger than the compression threshold it is deflated and
+ * the <code>compressed</code> flag is set.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class BinaryEnvelope {
+
+  static final byte MAGIC = (byte) 0xED;
+  static final byte VERSION = 1;
+
+  private static final byte FLAG_COMPRESSED = 0x01;
+  private static final int HEADER_LENGTH = 7;
+
+  private static final short NULL = 0;
+  private static final short STRING = 1;
+  private static final short INTEGER = 2;
+  private static final short LONG = 3;
+  private static final short DOUBLE = 4;
+  private static final short FLOAT = 5;
+  private static final short BOOLEAN = 6;
+  private static final short SHORT = 7;
+  private static final short BYTE = 8;
+  private static final short CHARACTER = 9;
+  private static final short UUID_TYPE = 10;
+  private static final short INSTANT = 11;
+  private static final short BUFFER = 12;
+  private static final short BYTES = 13;
+  private static final short JSON_OBJECT = 14;
+  private static final short JSON_ARRAY = 15;
+  private static final short LIST = 16;
+  private static final short NAMED = 17;
+  private static final short MIXED = 18;
+
+  private static final Map<Class<?>, Short> BUILT_IN_IDS = new HashMap<>();
+
+  static {
+    BUILT_IN_IDS.put(String.class, STRING);
+    BUILT_IN_IDS.put(Integer.class, INTEGER);
+    BUILT_IN_IDS.put(Long.class, LONG);
+    BUILT_IN_IDS.put(Double.class, DOUBLE);
+    BUILT_IN_IDS.put(Float.class, FLOAT);
+    BUILT_IN_IDS.put(Boolean.class, BOOLEAN);
+    BUILT_IN_IDS.put(Short.class, SHORT);
+    BUILT_IN_IDS.put(Byte.class, BYTE);
+    BUILT_IN_IDS.put(Character.class, CHARACTER);
+    BUILT_IN_IDS.put(UUID.class, UUID_TYPE);
+    BUILT_IN_IDS.put(Instant.class, INSTANT);
+    BUILT_IN_IDS.put(byte[].class, BYTES);
+    BUILT_IN_IDS.put(JsonObject.class, JSON_OBJECT);
+    BUILT_IN_IDS.put(JsonArray.class, JSON_ARRAY);
+  }
+
+  private BinaryEnvelope() {
+  }
+
+  static Buffer encodeRequest(int compressThreshold, Object... args) {
+    Buffer body = Buffer.buffer();
+    body.appendInt(args.length);
+    for (Object arg : args) {
+      writeValue(body, arg);
+    }
+    return seal(body, compressThreshold);
+  }
+
+  static Object[] decodeRequest(Buffer envelope) {
+    Reader reader = open(envelope);
+    Object[] args = new Object[reader.readInt()];
+    for (int i = 0; i < args.length; i++) {
+      args[i] = reader.readValue();
+    }
+    return args;
+  }
+
+  static Buffer encodeReply(int compressThreshold, Object value) {
+    Buffer body = Buffer.buffer();
+    writeValue(body, value instanceof Optional ? ((Optional<?>) value).orElse(null) : value);
+    return seal(body, compressThreshold);
+  }
+
+  static Object decodeReply(Buffer envelope) {
+    return open(envelope).readValue();
+  }
+
+  /**
+   * Encodes and decodes <code>args</code> as a request through both the JSON payload and the binary envelope.
+   * Handy for checking whether the binary format pays off for a given set of arguments.
+   *
+   * @param iterations how many times each format is encoded and decoded
+   * @param args       sample request arguments
+   * @return sizes in bytes and average encode/decode times in nanoseconds of each format
+   */
+  public static JsonObject measure(int iterations, Object... args) {
+    Class<?>[] types = Arrays.stream(args).map(arg -> arg == null ? Object.class : arg.getClass()).toArray(Class[]::new);
+
+    long start = System.nanoTime();
+    JsonObject json = null;
+    for (int i = 0; i < iterations; i++) {
+      json = ServiceUtils.buildRequestPayload(args);
+    }
+    long jsonEncode = System.nanoTime() - start;
+    Buffer jsonBuffer = json.toBuffer();
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      ServiceUtils.extractRequestPayloadParameters(new JsonObject(jsonBuffer), types);
+    }
+    long jsonDecode = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    Buffer binary = null;
+    for (int i = 0; i < iterations; i++) {
+      binary = encodeRequest(0, args);
+    }
+    long binaryEncode = System.nanoTime() - start;
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      decodeRequest(binary);
+    }
+    long binaryDecode = System.nanoTime() - start;
+
+    return new JsonObject()
+      .put("json", new JsonObject()
+        .put("bytes", jsonBuffer.length())
+        .put("encodeNanos", jsonEncode / iterations)
+        .put("decodeNanos", jsonDecode / iterations))
+      .put("binary", new JsonObject()
+        .put("bytes", binary.length())
+        .put("encodeNanos", binaryEncode / iterations)
+        .put("decodeNanos", binaryDecode / iterations));
+  }
+
+  private static Buffer seal(Buffer body, int compressThreshold) {
+    boolean compress = compressThreshold > 0 && body.length() > compressThreshold;
+    Buffer envelope = Buffer.buffer(HEADER_LENGTH + body.length())
+      .appendByte(MAGIC)
+      .appendByte(VERSION)
+      .appendByte(compress ? FLAG_COMPRESSED : 0)
+      .appendInt(ServiceTypes.fingerprint());
+    return envelope.appendBytes(compress ? deflate(body.getBytes()) : body.getBytes());
+  }
+
+  private static Reader open(Buffer envelope) {
+    if (envelope.length() < HEADER_LENGTH || envelope.getByte(0) != MAGIC) {
+      throw new IllegalArgumentException("Not a binary service envelope");
+    }
+    if (envelope.getByte(1) != VERSION) {
+      throw new IllegalArgumentException(String.format("Unsupported binary service envelope version %d", envelope.getByte(1)));
+    }
+    int fingerprint = envelope.getInt(3);
+    if ((envelope.getByte(2) & FLAG_COMPRESSED) != 0) {
+      return new Reader(Buffer.buffer(inflate(envelope.getBytes(HEADER_LENGTH, envelope.length()))), 0, fingerprint);
+    }
+    return new Reader(envelope, HEADER_LENGTH, fingerprint);
+  }
+
+  private static short typeOf(Object value) {
+    if (value == null) {
+      return NULL;
+    }
+    Short id = BUILT_IN_IDS.get(value.getClass());
+    if (id != null) {
+      return id;
+    } else if (value instanceof Buffer) {
+      return BUFFER;
+    } else if (value instanceof List) {
+      return LIST;
+    }
+    int applicationId = ServiceTypes.idOf(value.getClass());
+    return applicationId >= 0 ? (short) applicationId : NAMED;
+  }
+
+  private static void writeValue(Buffer out, Object value) {
+    short type = typeOf(value);
+    out.appendShort(type);
+    writeContent(out, type, value);
+  }
+
+  private static void writeContent(Buffer out, short type, Object value) {
+    switch (type) {
+      case NULL:
+        break;
+      case STRING:
+        writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        break;
+      case INTEGER:
+        out.appendInt((Integer) value);
+        break;
+      case LONG:
+        out.appendLong((Long) value);
+        break;
+      case DOUBLE:
+        out.appendDouble((Double) value);
+        break;
+      case FLOAT:
+        out.appendFloat((Float) value);
+        break;
+      case BOOLEAN:
+        out.appendByte((byte) ((Boolean) value ? 1 : 0));
+        break;
+      case SHORT:
+        out.appendShort((Short) value);
+        break;
+      case BYTE:
+        out.appendByte((Byte) value);
+        break;
+      case CHARACTER:
+        out.appendShort((short) ((Character) value).charValue());
+        break;
+      case UUID_TYPE:
+        out.appendLong(((UUID) value).getMostSignificantBits()).appendLong(((UUID) value).getLeastSignificantBits());
+        break;
+      case INSTANT:
+        out.appendLong(((Instant) value).getEpochSecond()).appendInt(((Instant) value).getNano());
+        break;
+      case BUFFER:
+        out.appendInt(((Buffer) value).length()).appendBuffer((Buffer) value);
+        break;
+      case BYTES:
+        writeBytes(out, (byte[]) value);
+        break;
+      case JSON_OBJECT:
+        writeBuffer(out, ((JsonObject) value).toBuffer());
+        break;
+      case JSON_ARRAY:
+        writeBuffer(out, ((JsonArray) value).toBuffer());
+        break;
+      case LIST:
+        writeList(out, (List<?>) value);
+        break;
+      case NAMED:
+        writeBytes(out, value.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        writeBuffer(out, Json.encodeToBuffer(PayloadCodecs.encode(value)));
+        break;
+      default:
+        writeBuffer(out, Json.encodeToBuffer(PayloadCodecs.encode(value)));
+    }
+  }
+
+  private static void writeList(Buffer out, List<?> list) {
+    short elementType = list.isEmpty() ? NULL : typeOf(list.get(0));
+    for (Object item : list) {
+      if (typeOf(item) != elementType || elementType == NAMED) {
+        elementType = MIXED;
+        break;
+      }
+    }
+    out.appendShort(elementType).appendInt(list.size());
+    for (Object item : list) {
+      if (elementType == MIXED) {
+        writeValue(out, item);
+      } else {
+        writeContent(out, elementType, item);
+      }
+    }
+  }
+
+  private static void writeBytes(Buffer out, byte[] bytes) {
+    out.appendInt(bytes.length).appendBytes(bytes);
+  }
+
+  private static void writeBuffer(Buffer out, Buffer buffer) {
+    out.appendInt(buffer.length()).appendBuffer(buffer);
+  }
+
+  private static byte[] deflate(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] bytes) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 2);
+      byte[] chunk = new byte[8192];
+      while (!inflater.finished()) {
+        int read = inflater.inflate(chunk);
+        if (read == 0 && inflater.needsInput()) {
+          throw new IllegalArgumentException("Truncated binary service envelope");
+        }
+        out.write(chunk, 0, read);
+      }
+      return out.toByteArray();
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Corrupted binary service envelope", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static final class Reader {
+    private final Buffer buffer;
+    private final int fingerprint;
+    private int pos;
+
+    Reader(Buffer buffer, int pos, int fingerprint) {
+      this.buffer = buffer;
+      this.pos = pos;
+      this.fingerprint = fingerprint;
+    }
+
+    Object readValue() {
+      return readContent(readShort());
+    }
+
+    Object readContent(short type) {
+      switch (type) {
+        case NULL:
+          return null;
+        case STRING:
+          return new String(readBytes(), StandardCharsets.UTF_8);
+        case INTEGER:
+          return readInt();
+        case LONG:
+          return readLong();
+        case DOUBLE:
+          double d = this.buffer.getDouble(this.pos);
+          this.pos += Double.BYTES;
+          return d;
+        case FLOAT:
+          float f = this.buffer.getFloat(this.pos);
+          this.pos += Float.BYTES;
+          return f;
+        case BOOLEAN:
+          return this.buffer.getByte(this.pos++) != 0;
+        case SHORT:
+          return readShort();
+        case BYTE:
+          return this.buffer.getByte(this.pos++);
+        case CHARACTER:
+          return (char) readShort();
+        case UUID_TYPE:
+          return new UUID(readLong(), readLong());
+        case INSTANT:
+          return Instant.ofEpochSecond(readLong(), readInt());
+        case BUFFER:
+          return readBuffer();
+        case BYTES:
+          return readBytes();
+        case JSON_OBJECT:
+          return new JsonObject(readBuffer());
+        case JSON_ARRAY:
+          return new JsonArray(readBuffer());
+        case LIST:
+          return readList();
+        case NAMED:
+          Class<?> namedType = PayloadCodecs.classOf(new String(readBytes(), StandardCharsets.UTF_8));
+          return PayloadCodecs.decode(namedType, readJson());
+        default:
+          if (this.fingerprint != ServiceTypes.fingerprint()) {
+            throw new IllegalStateException("Sender registered a different set of ServiceTypes");
+          }
+          return PayloadCodecs.decode(ServiceTypes.typeOf(type), readJson());
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readJson() {
+      Object value = Json.decodeValue(readBuffer());
+      if (value instanceof Map) {
+        return new JsonObject((Map<String, Object>) value);
+      }
+      if (value instanceof List) {
+        return new JsonArray((List<?>) value);
+      }
+      return value;
+    }
+
+    private List<Object> readList() {
+      short elementType = readShort();
+      int size = readInt();
+      List<Object> list = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        list.add(elementType == MIXED ? readValue() : readContent(elementType));
+      }
+      return list;
+    }
+
+    private short readShort() {
+      short value = this.buffer.getShort(this.pos);
+      this.pos += Short.BYTES;
+      return value;
+    }
+
+    private int readInt() {
+      int value = this.buffer.getInt(this.pos);
+      this.pos += Integer.BYTES;
+      return value;
+    }
+
+    private long readLong() {
+      long value = this.buffer.getLong(this.pos);
+      this.pos += Long.BYTES;
+      return value;
+    }
+
+    private byte[] readBytes() {
+      int length = readInt();
+      byte[] bytes = this.buffer.getBytes(this.pos, this.pos + length);
+      this.pos += length;
+      return bytes;
+    }
+
+    private Buffer readBuffer() {
+      int length = readInt();
+      Buffer slice = this.buffer.getBuffer(this.pos, this.pos + length);
+      this.pos += length;
+      return slice;
+    }
+  }
+}
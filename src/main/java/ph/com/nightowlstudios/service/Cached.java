@@ -0,0 +1,32 @@
+package ph.com.nightowlstudios.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the successful results of a {@link Service} action, keyed on its arguments.
+ * Only meant for actions whose result depends on nothing but their arguments, ie: reads.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @see ActionCache
+ * @since 10/17/26
+ **/
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+  /**
+   * How long a result is served from the cache.
+   */
+  long ttl() default 60;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /**
+   * Results kept before the least recently used ones are evicted.
+   */
+  int maxEntries() default 1000;
+}
@@ -0,0 +1,255 @@
+package ph.com.nightowlstudios.service;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.circuitbreaker.CircuitBreaker;
+import io.vertx.circuitbreaker.CircuitBreakerOptions;
+import io.vertx.circuitbreaker.CircuitBreakerState;
+import io.vertx.circuitbreaker.OpenCircuitException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ph.com.nightowlstudios.metrics.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breakers guarding {@link ServiceBus} calls, configured under
+ * <code>serviceBus.circuitBreakers.&lt;ServiceName&gt;</code>, ie:
+ * <pre>
+ * serviceBus:
+ *   circuitBreakers:
+ *     UserService:
+ *       failureRateThreshold: 50    # % of failed calls that opens the circuit
+ *       slowCallRateThreshold: 100  # % of slow calls that opens the circuit
+ *       slowCallMillis: 2000        # calls taking longer are slow
+ *       windowSize: 20              # last calls the rates are computed over
+ *       minimumCalls: 10            # calls needed before the rates are checked
+ *       openMillis: 5000            # how long the circuit stays open before a probe call is let through
+ *       actions:
+ *         search:
+ *           slowCallMillis: 500     # the action gets a breaker of its own
+ * </pre>
+ * Failed calls are those that timed out, found no handler, or failed with a code of <code>500</code> and up.
+ * While open, calls fail right away with {@link Service#OVERLOADED}, or get the fallback of
+ * {@link ServiceBus#fallback(String, java.util.function.Function)}. Once <code>openMillis</code> passed, one
+ * call probes the service: the circuit closes if it succeeds in time, and opens again otherwise.
+ * <p>
+ * Each breaker reports its state as the <code>edge_circuit_breaker_state</code> gauge, <code>0</code> closed,
+ * <code>1</code> half-open and <code>2</code> open, along with its failure and slow call rates.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class CircuitBreakers {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreakers.class);
+
+  private static final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * Marks services and actions that have no breaker, so they are looked up once.
+   */
+  private static final Breaker NONE = new Breaker();
+
+  private static final Map<String, Map<String, Breaker>> resolved = new ConcurrentHashMap<>();
+
+  private CircuitBreakers() {
+  }
+
+  /**
+   * @param config the <code>serviceBus.circuitBreakers</code> section
+   * @return the breaker guarding <code>action</code>, or <code>null</code> when it has none.
+   */
+  static Breaker of(Vertx vertx, Class<?> serviceClass, String action, JsonObject config) {
+    Map<String, Breaker> actions = resolved.get(serviceClass.getName());
+    if (actions == null) {
+      actions = resolved.computeIfAbsent(serviceClass.getName(), key -> new ConcurrentHashMap<>());
+    }
+    Breaker breaker = actions.get(action);
+    if (breaker == null) {
+      breaker = actions.computeIfAbsent(action, key -> resolve(vertx, serviceClass, action, config));
+    }
+    return breaker == NONE ? null : breaker;
+  }
+
+  /**
+   * @return state, failure and slow call rates, and rejected calls of every breaker, keyed on service
+   * name, or service name and action.
+   */
+  public static JsonObject stats() {
+    JsonObject stats = new JsonObject();
+    breakers.forEach((name, breaker) -> stats.put(name, breaker.stats()));
+    return stats;
+  }
+
+  private static Breaker resolve(Vertx vertx, Class<?> serviceClass, String action, JsonObject config) {
+    JsonObject serviceConfig = AdmissionControl.configOf(serviceClass, config);
+    if (serviceConfig.isEmpty()) {
+      return NONE;
+    }
+    JsonObject actionConfig = serviceConfig.getJsonObject("actions", new JsonObject()).getJsonObject(action);
+    if (actionConfig != null) {
+      JsonObject merged = serviceConfig.copy().mergeIn(actionConfig);
+      merged.remove("actions");
+      return breakers.computeIfAbsent(serviceClass.getName() + "." + action, name -> new Breaker(vertx, name, merged));
+    }
+    return breakers.computeIfAbsent(serviceClass.getName(), name -> new Breaker(vertx, name, serviceConfig));
+  }
+
+  /**
+   * @return <code>true</code> when <code>failure</code> tells the service is degraded, rather than the
+   * request being wrong.
+   */
+  static boolean isFailure(Throwable failure) {
+    if (!(failure instanceof ReplyException)) {
+      return true;
+    }
+    ReplyException reply = (ReplyException) failure;
+    return reply.failureType() != ReplyFailure.RECIPIENT_FAILURE
+      || reply.failureCode() >= HttpResponseStatus.INTERNAL_SERVER_ERROR.code()
+      || reply.failureCode() < 0;
+  }
+
+  static final class Breaker {
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final CircuitBreaker circuit;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final byte[] window;
+    private final LongAdder rejected = new LongAdder();
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private Breaker() {
+      this.name = null;
+      this.circuit = null;
+      this.failureRateThreshold = 0;
+      this.slowCallRateThreshold = 0;
+      this.slowCallNanos = 0;
+      this.minimumCalls = 0;
+      this.window = new byte[0];
+    }
+
+    private Breaker(Vertx vertx, String name, JsonObject config) {
+      this.name = name;
+      this.failureRateThreshold = config.getInteger("failureRateThreshold", 50);
+      this.slowCallRateThreshold = config.getInteger("slowCallRateThreshold", 100);
+      this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("slowCallMillis", 60_000L));
+      this.window = new byte[Math.max(1, config.getInteger("windowSize", 20))];
+      this.minimumCalls = Math.min(this.window.length, Math.max(1, config.getInteger("minimumCalls", 10)));
+      // The rates decide when to open, the circuit only keeps the open and half-open states.
+      this.circuit = CircuitBreaker.create(name, vertx, new CircuitBreakerOptions()
+          .setMaxFailures(Integer.MAX_VALUE)
+          .setTimeout(-1)
+          .setResetTimeout(config.getLong("openMillis", 5000L))
+          .setNotificationAddress(null))
+        .openHandler(v -> log.warn("Circuit {} is open.", name))
+        .halfOpenHandler(v -> log.info("Circuit {} is half-open.", name))
+        .closeHandler(v -> {
+          log.info("Circuit {} is closed.", name);
+          clear();
+        });
+      String labels = "breaker=\"" + name + "\"";
+      Metrics.registry().gauge("edge_circuit_breaker_state", "Circuit breaker state: 0 closed, 1 half-open, 2 open", labels, () -> stateValue(this.circuit.state()));
+      Metrics.registry().gauge("edge_circuit_breaker_failure_rate", "Share of failed calls in the circuit breaker window", labels, () -> rates()[0]);
+      Metrics.registry().gauge("edge_circuit_breaker_slow_call_rate", "Share of slow calls in the circuit breaker window", labels, () -> rates()[1]);
+      Metrics.registry().gauge("edge_circuit_breaker_rejected", "Calls rejected by an open circuit", labels, this.rejected::sum);
+    }
+
+    /**
+     * Runs <code>call</code> unless the circuit is open, and records how it went.
+     *
+     * @return the result of <code>call</code>, or a {@link Service#OVERLOADED} failure when the circuit is open.
+     */
+    <T> Future<T> execute(Supplier<Future<T>> call) {
+      long started = System.nanoTime();
+      Future<T> result = this.circuit.execute(promise -> call.get().onComplete(promise));
+      return result.transform(done -> {
+        if (done.failed() && done.cause() instanceof OpenCircuitException) {
+          this.rejected.increment();
+          return Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, Service.OVERLOADED,
+            String.format("Circuit %s is open", this.name)));
+        }
+        record(done.failed() && isFailure(done.cause()), System.nanoTime() - started > this.slowCallNanos);
+        return done.succeeded() ? Future.succeededFuture(done.result()) : Future.failedFuture(done.cause());
+      });
+    }
+
+    private void record(boolean failed, boolean slow) {
+      boolean open;
+      synchronized (this) {
+        if (this.circuit.state() == CircuitBreakerState.HALF_OPEN || this.circuit.state() == CircuitBreakerState.OPEN) {
+          open = this.circuit.state() == CircuitBreakerState.HALF_OPEN && (failed || slow);
+        } else {
+          byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+          byte evicted = this.window[this.position];
+          if (this.calls == this.window.length) {
+            this.failures -= evicted & FAILED;
+            this.slowCalls -= (evicted & SLOW) >> 1;
+          } else {
+            this.calls++;
+          }
+          this.window[this.position] = outcome;
+          this.position = (this.position + 1) % this.window.length;
+          this.failures += outcome & FAILED;
+          this.slowCalls += (outcome & SLOW) >> 1;
+          open = this.calls >= this.minimumCalls
+            && (this.failures * 100 >= this.failureRateThreshold * this.calls
+            || this.slowCalls * 100 >= this.slowCallRateThreshold * this.calls);
+        }
+      }
+      if (open) {
+        clear();
+        this.circuit.open();
+      }
+    }
+
+    private synchronized void clear() {
+      this.position = 0;
+      this.calls = 0;
+      this.failures = 0;
+      this.slowCalls = 0;
+    }
+
+    private synchronized double[] rates() {
+      return this.calls == 0
+        ? new double[]{0, 0}
+        : new double[]{(double) this.failures / this.calls, (double) this.slowCalls / this.calls};
+    }
+
+    private JsonObject stats() {
+      double[] rates = rates();
+      return new JsonObject()
+        .put("state", this.circuit.state().name())
+        .put("failureRate", rates[0])
+        .put("slowCallRate", rates[1])
+        .put("rejected", this.rejected.sum());
+    }
+
+    private static double stateValue(CircuitBreakerState state) {
+      switch (state) {
+        case HALF_OPEN:
+          return 1;
+        case OPEN:
+          return 2;
+        default:
+          return 0;
+      }
+    }
+  }
+}
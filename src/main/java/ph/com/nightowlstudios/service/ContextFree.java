@@ -0,0 +1,24 @@
+package ph.com.nightowlstudios.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link Service} whose actions are thread-safe and do not depend on running on the service's
+ * own context. {@link ServiceBus} then calls them directly on the caller's context when the service is
+ * deployed in the same <code>Vert.x</code> instance, skipping the event bus altogether. Requests to
+ * services on other nodes, and partitioned requests, still go through the event bus.
+ * <p>
+ * Admission limits, deadlines, caching, metrics and tracing apply as usual. Arguments and results are
+ * handed over by reference, or copied under {@link LocalServiceCodec.CopyPolicy#DEEP}.
+ * Ignored for services deployed as {@link Execution#WORKER}, which must not run on an event loop.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ContextFree {
+}
@@ -0,0 +1,68 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Vertx;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deployed instances of {@link ContextFree} services, per <code>Vert.x</code> instance, that
+ * {@link ServiceBus} calls directly.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class DirectServices {
+
+  private static final Map<Vertx, Map<String, Instances>> deployed = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private DirectServices() {
+  }
+
+  static void register(Vertx vertx, Service service) {
+    deployed.computeIfAbsent(vertx, key -> new ConcurrentHashMap<>())
+      .computeIfAbsent(service.getClass().getName(), key -> new Instances())
+      .services.add(service);
+  }
+
+  static void unregister(Vertx vertx, Service service) {
+    Map<String, Instances> services = deployed.get(vertx);
+    Instances instances = services == null ? null : services.get(service.getClass().getName());
+    if (instances != null) {
+      instances.services.remove(service);
+    }
+  }
+
+  /**
+   * @return one of the deployed instances of <code>serviceClass</code>, in turn, or <code>null</code>.
+   */
+  static Service pick(Vertx vertx, Class<?> serviceClass) {
+    Map<String, Instances> services = deployed.get(vertx);
+    Instances instances = services == null ? null : services.get(serviceClass.getName());
+    return instances == null ? null : instances.next();
+  }
+
+  private static final class Instances {
+    private final List<Service> services = new CopyOnWriteArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private Service next() {
+      List<Service> snapshot = this.services;
+      int size = snapshot.size();
+      if (size == 0) {
+        return null;
+      }
+      try {
+        return snapshot.get(Math.floorMod(this.next.getAndIncrement(), size));
+      } catch (IndexOutOfBoundsException e) {
+        // Undeployed in the meantime.
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package ph.com.nightowlstudios.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Where the actions of a {@link Service} run, chosen when registering it with
+ * {@link ph.com.nightowlstudios.core.ApplicationVerticle}. Besides <code>Future</code>s, actions of any mode
+ * may return plain values, which are replied as soon as the action returns.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public enum Execution {
+  /**
+   * On the event loop of the service verticle. Actions must not block.
+   */
+  EVENT_LOOP,
+  /**
+   * On the worker pool, the service is deployed as a worker verticle.
+   */
+  WORKER,
+  /**
+   * Each action on its own virtual thread, for blocking-style actions.
+   * Requires a Java 21 runtime, older runtimes fall back to the worker pool.
+   */
+  VIRTUAL_THREADS;
+
+  /**
+   * Deployment config key holding the execution mode of a service.
+   */
+  public static final String CONFIG_KEY = "execution";
+
+  private static final Logger log = LoggerFactory.getLogger(Execution.class);
+
+  public static Execution of(String name) {
+    return name == null ? EVENT_LOOP : valueOf(name.toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * @return the JVM-wide virtual thread per task executor, empty when the runtime has no virtual threads.
+   */
+  static Optional<ExecutorService> virtualThreads() {
+    return Optional.ofNullable(VirtualThreads.EXECUTOR);
+  }
+
+  private static final class VirtualThreads {
+    private static final ExecutorService EXECUTOR = create();
+
+    private static ExecutorService create() {
+      try {
+        // Looked up reflectively so the library keeps compiling for Java 8.
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        log.warn("Virtual threads need Java 21 or later, {} services will run on the worker pool.", VIRTUAL_THREADS);
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import ph.com.nightowlstudios.metrics.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Hedged requests of idempotent actions, see {@link ServiceBus#hedge(String...)}, configured under
+ * <code>serviceBus.hedging</code>, ie:
+ * <pre>
+ * serviceBus:
+ *   hedging:
+ *     percentile: 95      # a request gets hedged once it takes longer than this percentile of the action
+ *     minDelayMillis: 5   # never hedge sooner
+ *     budgetPercent: 5    # hedges allowed, in % of hedgeable requests, shared by every action
+ * </pre>
+ * The request goes to the service address as any other. The hedge goes to the address of one of the instances
+ * of the service deployed on the same Vertx, taking turns, and to the service address when there is none,
+ * which the event bus hands to the next consumer or node. The first successful reply wins, the other one is
+ * ignored. A request only fails once every attempt failed.
+ * <p>
+ * An action is not hedged until {@value #MIN_SAMPLES} of its replies were timed.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class Hedging {
+
+  private static final int MIN_SAMPLES = 100;
+  private static final long SAMPLES_PER_WINDOW = 10_000;
+  private static final long TOKEN = 1000;
+  private static final long MAX_TOKENS = 10 * TOKEN;
+  private static final String SEPARATOR = "#instance-";
+
+  private static final Map<Vertx, Map<String, List<String>>> instances = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final Map<Vertx, Map<String, AtomicInteger>> turns = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+  private static final AtomicInteger instanceIds = new AtomicInteger();
+  private static final AtomicLong budget = new AtomicLong(MAX_TOKENS);
+
+  private final double percentile;
+  private final long minDelayMicros;
+  private final long tokensPerRequest;
+
+  private Hedging(JsonObject config) {
+    this.percentile = Math.min(100, Math.max(1, config.getDouble("percentile", 95d))) / 100;
+    this.minDelayMicros = TimeUnit.MILLISECONDS.toMicros(config.getLong("minDelayMillis", 5L));
+    this.tokensPerRequest = Math.round(config.getDouble("budgetPercent", 5d) * TOKEN / 100);
+  }
+
+  /**
+   * @param config the <code>serviceBus.hedging</code> section, may be empty
+   */
+  static Hedging of(JsonObject config) {
+    return new Hedging(config);
+  }
+
+  /**
+   * Registers an instance of <code>serviceClass</code> that hedged requests can target.
+   *
+   * @return the address of the instance.
+   */
+  static String join(Vertx vertx, Class<?> serviceClass) {
+    String address = serviceClass.getName() + SEPARATOR + instanceIds.incrementAndGet();
+    instancesOf(vertx).computeIfAbsent(serviceClass.getName(), name -> new CopyOnWriteArrayList<>()).add(address);
+    return address;
+  }
+
+  static void leave(Vertx vertx, Class<?> serviceClass, String address) {
+    List<String> addresses = instancesOf(vertx).get(serviceClass.getName());
+    if (addresses != null) {
+      addresses.remove(address);
+    }
+  }
+
+  /**
+   * Sends <code>send</code> to the service, and once more to one of its instances when no reply came within
+   * the hedging delay of the action and the budget allows it.
+   *
+   * @param send sends the request to the given address, before applying its {@link Priority} lane
+   */
+  <T> Future<T> run(Vertx vertx, Class<?> serviceClass, String action, Function<String, Future<T>> send) {
+    this.budgetAdd();
+    Tracker tracker = trackers.computeIfAbsent(serviceClass.getName() + "." + action, key -> new Tracker());
+    String primary = serviceClass.getName();
+    long started = System.nanoTime();
+    Promise<T> promise = Promise.promise();
+    AtomicInteger pending = new AtomicInteger(1);
+    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    long delay = tracker.delayMicros(this.percentile, this.minDelayMicros);
+    long timer = delay < 0 ? -1 : vertx.setTimer(Math.max(1, TimeUnit.MICROSECONDS.toMillis(delay)), id -> {
+      if (promise.future().isComplete() || !budgetTake()) {
+        return;
+      }
+      tracker.hedged.increment();
+      pending.incrementAndGet();
+      attempt(send, hedgeAddress(vertx, serviceClass)).onComplete(done -> {
+        if (done.succeeded() && promise.tryComplete(done.result())) {
+          tracker.hedgeWins.increment();
+        }
+        settle(done.cause(), pending, firstFailure, promise);
+      });
+    });
+    attempt(send, primary).onComplete(done -> {
+      if (done.succeeded()) {
+        promise.tryComplete(done.result());
+      }
+      settle(done.cause(), pending, firstFailure, promise);
+    });
+    return promise.future().onComplete(done -> {
+      if (timer >= 0) {
+        vertx.cancelTimer(timer);
+      }
+      if (done.succeeded()) {
+        tracker.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+      }
+    });
+  }
+
+  /**
+   * @return hedging delay per percentile, requests, hedges sent and hedges that won per action, keyed on service
+   * name and action, along with the tokens left in the budget.
+   */
+  public static JsonObject stats() {
+    JsonObject actions = new JsonObject();
+    trackers.forEach((name, tracker) -> actions.put(name, tracker.stats()));
+    return new JsonObject()
+      .put("budgetTokens", budget.get() / (double) TOKEN)
+      .put("actions", actions);
+  }
+
+  /**
+   * @return the address of the next instance of <code>serviceClass</code> on <code>vertx</code>, or the service
+   * address when there is none.
+   */
+  private static String hedgeAddress(Vertx vertx, Class<?> serviceClass) {
+    List<String> addresses = instancesOf(vertx).getOrDefault(serviceClass.getName(), Collections.emptyList());
+    if (addresses.isEmpty()) {
+      return serviceClass.getName();
+    }
+    AtomicInteger turn = turns.computeIfAbsent(vertx, key -> new ConcurrentHashMap<>())
+      .computeIfAbsent(serviceClass.getName(), key -> new AtomicInteger());
+    try {
+      return addresses.get(Math.floorMod(turn.getAndIncrement(), addresses.size()));
+    } catch (IndexOutOfBoundsException e) {
+      // An instance left in the meantime.
+      return serviceClass.getName();
+    }
+  }
+
+  private static Map<String, List<String>> instancesOf(Vertx vertx) {
+    return instances.computeIfAbsent(vertx, key -> new ConcurrentHashMap<>());
+  }
+
+  private static <T> Future<T> attempt(Function<String, Future<T>> send, String address) {
+    try {
+      return send.apply(address);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private static <T> void settle(Throwable failure, AtomicInteger pending, AtomicReference<Throwable> firstFailure, Promise<T> promise) {
+    if (failure != null) {
+      firstFailure.compareAndSet(null, failure);
+    }
+    if (pending.decrementAndGet() == 0 && failure != null) {
+      promise.tryFail(firstFailure.get());
+    }
+  }
+
+  private void budgetAdd() {
+    budget.accumulateAndGet(this.tokensPerRequest, (tokens, added) -> Math.min(MAX_TOKENS, tokens + added));
+  }
+
+  private static boolean budgetTake() {
+    long tokens;
+    do {
+      tokens = budget.get();
+      if (tokens < TOKEN) {
+        return false;
+      }
+    } while (!budget.compareAndSet(tokens, tokens - TOKEN));
+    return true;
+  }
+
+  private static final class Tracker {
+    private final AtomicReference<Histogram> latencies = new AtomicReference<>(new Histogram());
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    // Hedging delay per configured percentile, as buses of the same action may be configured differently.
+    private final Map<Double, Long> delays = new ConcurrentHashMap<>();
+
+    private void record(long micros) {
+      this.requests.increment();
+      Histogram histogram = this.latencies.get();
+      histogram.record(micros);
+      long count = histogram.count();
+      if (count >= MIN_SAMPLES && count % 64 == 0) {
+        this.delays.replaceAll((percentile, delay) -> histogram.valueAt(percentile));
+      }
+      if (count >= SAMPLES_PER_WINDOW) {
+        // Start over so the delay follows the recent latencies, keeping the last delay meanwhile.
+        this.latencies.compareAndSet(histogram, new Histogram());
+      }
+    }
+
+    /**
+     * @return the delay before hedging, <code>-1</code> until enough replies were timed.
+     */
+    private long delayMicros(double percentile, long minDelayMicros) {
+      long delay = this.delays.computeIfAbsent(percentile, key -> -1L);
+      return delay < 0 ? -1 : Math.max(minDelayMicros, delay);
+    }
+
+    private JsonObject stats() {
+      JsonObject delayMillis = new JsonObject();
+      this.delays.forEach((percentile, delay) -> {
+        double p = percentile * 100;
+        delayMillis.put(p == Math.rint(p) ? "p" + (long) p : "p" + p, delay < 0 ? null : delay / 1000d);
+      });
+      return new JsonObject()
+        .put("delayMillis", delayMillis)
+        .put("requests", this.requests.sum())
+        .put("hedged", this.hedged.sum())
+        .put("hedgeWins", this.hedgeWins.sum());
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package ph.com.nightowlstudios.service;
+
+import java.util.List;
+
+/**
+ * Event bus body exchanged between a {@link ServiceBus} and a {@link Service} deployed in the same JVM.
+ * Arguments and return values are carried by reference, see {@link LocalServiceCodec}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class LocalPayload {
+
+  private final Object[] arguments;
+  private final List<Object[]> batch;
+  private final Object value;
+
+  private LocalPayload(Object[] arguments, List<Object[]> batch, Object value) {
+    this.arguments = arguments;
+    this.batch = batch;
+    this.value = value;
+  }
+
+  static LocalPayload request(Object... arguments) {
+    return new LocalPayload(arguments, null, null);
+  }
+
+  static LocalPayload batch(List<Object[]> batch) {
+    return new LocalPayload(null, batch, null);
+  }
+
+  static LocalPayload reply(Object value) {
+    return new LocalPayload(null, null, value);
+  }
+
+  Object[] arguments() {
+    return this.arguments;
+  }
+
+  List<Object[]> batch() {
+    return this.batch;
+  }
+
+  Object value() {
+    return this.value;
+  }
+}
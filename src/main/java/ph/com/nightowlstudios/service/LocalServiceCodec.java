@@ -0,0 +1,154 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Event bus codec for {@link ServiceBus} requests and {@link Service} replies that never leave the JVM.
+ * <p>
+ * Arguments and return values are handed over by reference instead of going through
+ * {@link ServiceUtils#buildRequestPayload(Object...)} and <code>JsonObject.mapFrom</code>.
+ * Since both ends then share the same objects, a {@link CopyPolicy#DEEP} policy is available for
+ * applications whose actions mutate what they receive or return.
+ * <p>
+ * Registered by {@link ph.com.nightowlstudios.core.ApplicationVerticle}. Messages using this codec are
+ * always sent local-only, clustered or remote delivery keeps using the JSON payload.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class LocalServiceCodec implements MessageCodec<LocalPayload, LocalPayload> {
+
+  public static final String NAME = "edge.local";
+
+  private static final Logger log = LoggerFactory.getLogger(LocalServiceCodec.class);
+
+  private static final Map<Vertx, CopyPolicy> policies = Collections.synchronizedMap(new WeakHashMap<>());
+
+  public enum CopyPolicy {
+    /**
+     * Pass arguments and return values by reference.
+     */
+    NONE,
+    /**
+     * Give the receiver its own copy of every Entity, DTO, Json value, Buffer and collection.
+     */
+    DEEP
+  }
+
+  private final CopyPolicy copyPolicy;
+
+  public LocalServiceCodec(CopyPolicy copyPolicy) {
+    this.copyPolicy = copyPolicy;
+  }
+
+  /**
+   * Registers the codec on the <code>vertx</code> event bus. Registering more than once is a no-op.
+   *
+   * @param vertx      the <code>Vert.x</code> instance services are deployed on
+   * @param copyPolicy how arguments and return values are handed to the receiver
+   */
+  public static void register(Vertx vertx, CopyPolicy copyPolicy) {
+    policies.putIfAbsent(vertx, copyPolicy);
+    try {
+      vertx.eventBus().registerCodec(new LocalServiceCodec(copyPolicy));
+    } catch (IllegalStateException e) {
+      log.debug("{} codec is already registered.", NAME);
+    }
+  }
+
+  /**
+   * @return the policy the codec was registered with on <code>vertx</code>, {@link CopyPolicy#NONE} by default.
+   */
+  static CopyPolicy copyPolicy(Vertx vertx) {
+    return policies.getOrDefault(vertx, CopyPolicy.NONE);
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, LocalPayload payload) {
+    throw new UnsupportedOperationException(String.format("%s codec is local only", NAME));
+  }
+
+  @Override
+  public LocalPayload decodeFromWire(int pos, Buffer buffer) {
+    throw new UnsupportedOperationException(String.format("%s codec is local only", NAME));
+  }
+
+  @Override
+  public LocalPayload transform(LocalPayload payload) {
+    if (this.copyPolicy == CopyPolicy.NONE) {
+      return payload;
+    }
+    if (payload.arguments() != null) {
+      return LocalPayload.request(copyAll(payload.arguments()));
+    }
+    if (payload.batch() != null) {
+      List<Object[]> batch = new ArrayList<>(payload.batch().size());
+      payload.batch().forEach(arguments -> batch.add(copyAll(arguments)));
+      return LocalPayload.batch(batch);
+    }
+    return LocalPayload.reply(copy(payload.value()));
+  }
+
+  static Object[] copyAll(Object[] arguments) {
+    Object[] copies = new Object[arguments.length];
+    for (int i = 0; i < copies.length; i++) {
+      copies[i] = copy(arguments[i]);
+    }
+    return copies;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  static Object copy(Object value) {
+    if (value == null) {
+      return null;
+    } else if (ServiceUtils.isMappable(value.getClass())) {
+      return JsonObject.mapFrom(value).mapTo(value.getClass());
+    } else if (value instanceof JsonObject) {
+      return ((JsonObject) value).copy();
+    } else if (value instanceof JsonArray) {
+      return ((JsonArray) value).copy();
+    } else if (value instanceof Buffer) {
+      return ((Buffer) value).copy();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).clone();
+    } else if (value instanceof AsyncResult) {
+      AsyncResult<?> result = (AsyncResult<?>) value;
+      return result.succeeded() ? Future.succeededFuture(copy(result.result())) : result;
+    } else if (value instanceof Optional) {
+      return ((Optional<?>) value).map(LocalServiceCodec::copy);
+    } else if (value instanceof List) {
+      List<Object> list = new ArrayList<>(((List<?>) value).size());
+      ((List<?>) value).forEach(item -> list.add(copy(item)));
+      return list;
+    } else if (value instanceof Set) {
+      Set<Object> set = new LinkedHashSet<>();
+      ((Set<?>) value).forEach(item -> set.add(copy(item)));
+      return set;
+    } else if (value instanceof Map) {
+      Map<Object, Object> map = new LinkedHashMap<>();
+      ((Map<?, ?>) value).forEach((k, v) -> map.put(k, copy(v)));
+      return map;
+    }
+    // Strings, boxed primitives, UUID, java.time and the like are immutable.
+    return value;
+  }
+}
@@ -0,0 +1,92 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Groups calls to one action made within a short window, or up to a size cap, into a single
+ * {@link ServiceBus#requestBatch(String, List)} message. Each caller still gets its own result.
+ * <p>
+ * Create one through {@link ServiceBus#batcher(String, long, int)} and keep it around, ie: as a field of a
+ * {@link ph.com.nightowlstudios.resource.Resource} set up in its <code>setUp</code> hook.
+ *
+ * @param <S> the return type of the action
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class MicroBatcher<S> {
+
+  private final ServiceBus<?> serviceBus;
+  private final Vertx vertx;
+  private final String action;
+  private final long windowMillis;
+  private final int maxSize;
+
+  private List<Object[]> payloads;
+  private List<Promise<Optional<S>>> promises;
+  private long timerId = -1;
+
+  MicroBatcher(ServiceBus<?> serviceBus, Vertx vertx, String action, long windowMillis, int maxSize) {
+    this.serviceBus = serviceBus;
+    this.vertx = vertx;
+    this.action = action;
+    this.windowMillis = windowMillis;
+    this.maxSize = maxSize;
+    this.payloads = new ArrayList<>(maxSize);
+    this.promises = new ArrayList<>(maxSize);
+  }
+
+  public Future<Optional<S>> request(Object... payload) {
+    Promise<Optional<S>> promise = Promise.promise();
+    boolean full;
+    synchronized (this) {
+      this.payloads.add(payload);
+      this.promises.add(promise);
+      full = this.payloads.size() >= this.maxSize;
+      if (!full && this.timerId < 0) {
+        this.timerId = this.vertx.setTimer(this.windowMillis, id -> flush());
+      }
+    }
+    if (full) {
+      flush();
+    }
+    return promise.future();
+  }
+
+  /**
+   * Sends whatever calls are pending without waiting for the window to close.
+   */
+  public void flush() {
+    List<Object[]> batch;
+    List<Promise<Optional<S>>> waiting;
+    synchronized (this) {
+      if (this.payloads.isEmpty()) {
+        return;
+      }
+      if (this.timerId >= 0) {
+        this.vertx.cancelTimer(this.timerId);
+        this.timerId = -1;
+      }
+      batch = this.payloads;
+      waiting = this.promises;
+      this.payloads = new ArrayList<>(this.maxSize);
+      this.promises = new ArrayList<>(this.maxSize);
+    }
+    this.serviceBus.<S>requestBatch(this.action, batch).onComplete(ar -> {
+      if (ar.failed()) {
+        waiting.forEach(promise -> promise.fail(ar.cause()));
+        return;
+      }
+      List<AsyncResult<Optional<S>>> results = ar.result();
+      for (int i = 0; i < waiting.size(); i++) {
+        waiting.get(i).handle(results.get(i));
+      }
+    });
+  }
+}
@@ -0,0 +1,15 @@
+package ph.com.nightowlstudios.service;
+
+/**
+ * Partition key of a type that is not hashed by value as is, see {@link ServiceBus#partitionBy(int)}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public interface PartitionKey {
+
+  /**
+   * @return a value that is equal for equal keys and stable across JVMs, ie: not an identity hash code.
+   */
+  String hashKey();
+}
@@ -0,0 +1,27 @@
+package ph.com.nightowlstudios.service;
+
+/**
+ * Converts a service argument or return value of type <code>T</code> to and from the JSON compatible value
+ * carried by the request and reply payloads of {@link ServiceUtils}.
+ * <p>
+ * Register application codecs through {@link PayloadCodecs#register(Class, PayloadCodec)}.
+ *
+ * @param <T> the payload type this codec handles
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public interface PayloadCodec<T> {
+
+  /**
+   * @param value a non-null value
+   * @return a value a <code>JsonArray</code> or <code>JsonObject</code> accepts.
+   */
+  Object encode(T value);
+
+  /**
+   * @param value what was read back from the payload, never <code>null</code>. Values decoded from the
+   *              wire come back as their plain JSON form, ie: a <code>String</code> or <code>JsonObject</code>.
+   * @return the decoded value.
+   */
+  T decode(Object value);
+}
@@ -0,0 +1,271 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the {@link PayloadCodec} used for each payload type.
+ * <p>
+ * A type resolves to its codec once and is cached from then on, in order of precedence:
+ * <ol>
+ *   <li>a codec registered for that exact type, built-ins included</li>
+ *   <li>enums, by constant name</li>
+ *   <li>Entities and DTOs, through <code>JsonObject.mapFrom</code> / <code>mapTo</code></li>
+ *   <li><code>List</code>, <code>Set</code> and <code>Map</code>, whose items carry their own type</li>
+ *   <li>a codec registered for a supertype, the nearest superclass first, then the interfaces breadth first
+ *   in declaration order</li>
+ *   <li>the value as is</li>
+ * </ol>
+ * Maps are encoded as JSON objects, so their keys must be <code>String</code>s: actions with other map keys
+ * are rejected when their service registers, and such maps fail to encode.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class PayloadCodecs {
+
+  private static final Map<Class<?>, PayloadCodec<?>> registered = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, PayloadCodec<?>> resolved = new ConcurrentHashMap<>();
+  private static final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+  private static final PayloadCodec<Object> IDENTITY = of(value -> value, value -> value);
+
+  /**
+   * Same alphabet as the binary values of <code>JsonObject</code>: url-safe without padding, unless
+   * <code>vertx.json.base64</code> is set to <code>legacy</code>.
+   */
+  private static final boolean LEGACY_BASE64 = "legacy".equalsIgnoreCase(System.getProperty("vertx.json.base64"));
+  private static final Base64.Encoder BASE64_ENCODER = LEGACY_BASE64 ? Base64.getEncoder() : Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder BASE64_DECODER = LEGACY_BASE64 ? Base64.getDecoder() : Base64.getUrlDecoder();
+
+  static {
+    register(String.class, of(value -> value, Object::toString));
+    register(Integer.class, of(value -> value, value -> ((Number) value).intValue()));
+    register(Long.class, of(value -> value, value -> ((Number) value).longValue()));
+    register(Double.class, of(value -> value, value -> ((Number) value).doubleValue()));
+    register(Float.class, of(value -> value, value -> ((Number) value).floatValue()));
+    register(Short.class, of(value -> value, value -> ((Number) value).shortValue()));
+    register(Byte.class, of(value -> value, value -> ((Number) value).byteValue()));
+    register(Boolean.class, of(value -> value, value -> (Boolean) value));
+    register(Character.class, of(String::valueOf, value -> value.toString().charAt(0)));
+    register(UUID.class, of(UUID::toString, value -> UUID.fromString(value.toString())));
+    register(Instant.class, of(Instant::toString, value -> value instanceof Instant ? (Instant) value : Instant.parse(value.toString())));
+    register(LocalDate.class, of(LocalDate::toString, value -> LocalDate.parse(value.toString())));
+    register(LocalDateTime.class, of(LocalDateTime::toString, value -> LocalDateTime.parse(value.toString())));
+    register(LocalTime.class, of(LocalTime::toString, value -> LocalTime.parse(value.toString())));
+    register(BigDecimal.class, of(BigDecimal::toString, value -> new BigDecimal(value.toString())));
+    register(BigInteger.class, of(BigInteger::toString, value -> new BigInteger(value.toString())));
+    register(byte[].class, of(
+      BASE64_ENCODER::encodeToString,
+      value -> value instanceof byte[] ? (byte[]) value : BASE64_DECODER.decode(value.toString())));
+    register(Buffer.class, of(
+      buffer -> BASE64_ENCODER.encodeToString(buffer.getBytes()),
+      value -> value instanceof Buffer ? (Buffer) value : Buffer.buffer(BASE64_DECODER.decode(value.toString()))));
+    register(JsonObject.class, of(value -> value, value -> (JsonObject) value));
+    register(JsonArray.class, of(value -> value, value -> (JsonArray) value));
+  }
+
+  private PayloadCodecs() {
+  }
+
+  /**
+   * Registers the codec of <code>type</code>, replacing any codec it previously resolved to.
+   * A codec registered for an interface or superclass also applies to its subtypes that have none of their own.
+   *
+   * @param type  the payload type
+   * @param codec its codec
+   * @param <T>   the payload type
+   */
+  public static <T> void register(Class<T> type, PayloadCodec<T> codec) {
+    registered.put(type, codec);
+    resolved.clear();
+  }
+
+  /**
+   * Creates a codec out of a pair of functions.
+   *
+   * @param encoder converts a value to its JSON compatible form
+   * @param decoder converts the JSON compatible form back
+   * @param <T>     the payload type
+   * @return the codec.
+   */
+  public static <T> PayloadCodec<T> of(Function<T, Object> encoder, Function<Object, T> decoder) {
+    return new PayloadCodec<T>() {
+      @Override
+      public Object encode(T value) {
+        return encoder.apply(value);
+      }
+
+      @Override
+      public T decode(Object value) {
+        return decoder.apply(value);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> PayloadCodec<T> of(Class<T> type) {
+    return (PayloadCodec<T>) resolved.computeIfAbsent(type, PayloadCodecs::resolve);
+  }
+
+  /**
+   * Resolves a payload type name, caching the result.
+   */
+  static Class<?> classOf(String typeName) {
+    return classes.computeIfAbsent(typeName, name -> {
+      try {
+        return Class.forName(name);
+      } catch (ClassNotFoundException e) {
+        throw new IllegalArgumentException(String.format("Unknown payload type %s", name), e);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  static Object encode(Object value) {
+    return value == null
+      ? null
+      : ((PayloadCodec<Object>) of(value.getClass())).encode(value);
+  }
+
+  static Object decode(Class<?> type, Object value) {
+    return value == null ? null : of(type).decode(value);
+  }
+
+  /**
+   * @return <code>{payload, type}</code> of a collection item, the same shape as a reply payload.
+   */
+  static JsonObject encodeItem(Object item) {
+    return new JsonObject()
+      .put(ServiceUtils.PAYLOAD, item == null ? ServiceUtils.NIL_PAYLOAD : encode(item))
+      .put(ServiceUtils.TYPE, item == null ? ServiceUtils.NIL_TYPE : item.getClass().getName());
+  }
+
+  static Object decodeItem(JsonObject item) {
+    String typeName = item.getString(ServiceUtils.TYPE);
+    return ServiceUtils.NIL_TYPE.equals(typeName)
+      ? null
+      : decode(classOf(typeName), item.getValue(ServiceUtils.PAYLOAD));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static PayloadCodec<?> resolve(Class<?> type) {
+    PayloadCodec<?> codec = registered.get(type);
+    if (codec != null) {
+      return codec;
+    }
+    if (Enum.class.isAssignableFrom(type)) {
+      Class<? extends Enum> enumType = type.isEnum() ? (Class<? extends Enum>) type : (Class<? extends Enum>) type.getSuperclass();
+      return PayloadCodecs.<Enum>of(Enum::name, value -> Enum.valueOf(enumType, value.toString()));
+    }
+    if (ServiceUtils.isMappable(type)) {
+      return of(JsonObject::mapFrom, value -> (value instanceof JsonObject ? (JsonObject) value : JsonObject.mapFrom(value)).mapTo(type));
+    }
+    if (List.class.isAssignableFrom(type)) {
+      return collectionCodec(instantiator(type, ArrayList::new));
+    }
+    if (Set.class.isAssignableFrom(type)) {
+      return collectionCodec(instantiator(type, LinkedHashSet::new));
+    }
+    if (Map.class.isAssignableFrom(type)) {
+      return mapCodec(instantiator(type, LinkedHashMap::new));
+    }
+    codec = registeredSupertype(type);
+    return codec != null ? codec : IDENTITY;
+  }
+
+  private static PayloadCodec<?> registeredSupertype(Class<?> type) {
+    for (Class<?> superclass = type.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+      PayloadCodec<?> codec = registered.get(superclass);
+      if (codec != null) {
+        return codec;
+      }
+    }
+    Deque<Class<?>> interfaces = new ArrayDeque<>();
+    for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+      interfaces.addAll(Arrays.asList(superclass.getInterfaces()));
+    }
+    Set<Class<?>> visited = new HashSet<>();
+    while (!interfaces.isEmpty()) {
+      Class<?> next = interfaces.poll();
+      if (!visited.add(next)) {
+        continue;
+      }
+      PayloadCodec<?> codec = registered.get(next);
+      if (codec != null) {
+        return codec;
+      }
+      interfaces.addAll(Arrays.asList(next.getInterfaces()));
+    }
+    return null;
+  }
+
+  private static PayloadCodec<Collection<Object>> collectionCodec(Supplier<Object> instantiator) {
+    return of(
+      collection -> {
+        JsonArray array = new JsonArray();
+        collection.forEach(item -> array.add(encodeItem(item)));
+        return array;
+      },
+      value -> {
+        @SuppressWarnings("unchecked") Collection<Object> collection = (Collection<Object>) instantiator.get();
+        ((JsonArray) value).forEach(item -> collection.add(decodeItem((JsonObject) item)));
+        return collection;
+      });
+  }
+
+  private static PayloadCodec<Map<Object, Object>> mapCodec(Supplier<Object> instantiator) {
+    return of(
+      map -> {
+        JsonObject json = new JsonObject();
+        map.forEach((key, item) -> {
+          if (!(key instanceof String)) {
+            throw new IllegalArgumentException(String.format("Map payloads need String keys, got %s",
+              key == null ? "null" : key.getClass().getName()));
+          }
+          json.put((String) key, encodeItem(item));
+        });
+        return json;
+      },
+      value -> {
+        @SuppressWarnings("unchecked") Map<Object, Object> map = (Map<Object, Object>) instantiator.get();
+        ((JsonObject) value).forEach(entry -> map.put(entry.getKey(), decodeItem((JsonObject) entry.getValue())));
+        return map;
+      });
+  }
+
+  /**
+   * @return the no-arg constructor of <code>type</code>, or <code>fallback</code> when it has none.
+   */
+  private static Supplier<Object> instantiator(Class<?> type, Supplier<Object> fallback) {
+    try {
+      MethodHandle constructor = MethodHandles.publicLookup()
+        .findConstructor(type, MethodType.methodType(void.class))
+        .asType(MethodType.methodType(Object.class));
+      return () -> {
+        try {
+          return constructor.invokeExact();
+        } catch (Throwable e) {
+          return fallback.get();
+        }
+      };
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return fallback;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package ph.com.nightowlstudios.service;
+
+import java.util.Locale;
+
+/**
+ * Lane of {@link ServiceBus} traffic. Each lane reaches the {@link Service} on its own address and, for
+ * services with <code>maxConcurrent</code> limits, waits in its own queue of {@link AdmissionControl}.
+ * Queued requests are admitted by weight, so bulk work keeps moving without holding back interactive calls.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @see ServiceBus#priority(Priority)
+ * @since 10/17/26
+ **/
+public enum Priority {
+  /**
+   * Latency-sensitive requests, ie: those a user is waiting on.
+   */
+  INTERACTIVE(8),
+  /**
+   * The default lane, addressed by the service class name as before.
+   */
+  NORMAL(4),
+  /**
+   * Background and batch work.
+   */
+  BULK(1);
+
+  private final int defaultWeight;
+
+  Priority(int defaultWeight) {
+    this.defaultWeight = defaultWeight;
+  }
+
+  /**
+   * @return how many requests of this lane are admitted, relative to the other lanes, while requests queue up.
+   */
+  public int defaultWeight() {
+    return this.defaultWeight;
+  }
+
+  /**
+   * @return the lane name used in addresses and configuration, ie: <code>bulk</code>.
+   */
+  public String key() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @param address the service or partition address
+   * @return the address of this lane.
+   */
+  public String address(String address) {
+    return this == NORMAL ? address : address + "." + key();
+  }
+}
@@ -2,15 +2,37 @@ package ph.com.nightowlstudios.service;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ph.com.nightowlstudios.core.Deadline;
+import ph.com.nightowlstudios.metrics.ActionMetrics;
+import ph.com.nightowlstudios.metrics.Metrics;
+import ph.com.nightowlstudios.tracing.Span;
+import ph.com.nightowlstudios.tracing.Tracing;
 
-import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.IllegalFormatException;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
@@ -18,39 +40,406 @@ import java.util.NoSuchElementException;
  **/
 public abstract class Service extends AbstractVerticle {
 
+  /**
+   * Failure code replied when a message names an action, or a parameter signature, this service does not have.
+   */
+  public static final int UNKNOWN_ACTION = HttpResponseStatus.NOT_IMPLEMENTED.code();
+
+  /**
+   * Deployment config flag of services whose instances each own a partition of the keys,
+   * see {@link ph.com.nightowlstudios.core.ApplicationVerticle}
+   */
+  public static final String PARTITIONED = "partitioned";
+
+  /**
+   * Failure code replied when a request is shed by {@link AdmissionControl}.
+   */
+  public static final int OVERLOADED = HttpResponseStatus.SERVICE_UNAVAILABLE.code();
+
   protected final Logger log;
 
+  private ServiceActions actions;
+  private int compressThreshold;
+  private int streamChunkSize;
+  private long streamIdleMillis;
+  private int partition = -1;
+  private List<MessageConsumer<Object>> partitionConsumers;
+  private String instanceAddress;
+  private AdmissionControl admission;
+  private Execution execution;
+
   public Service() {
     this.log = LoggerFactory.getLogger(this.getClass());
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public void start() throws Exception {
     setup(vertx);
-    vertx.eventBus()
-      .<JsonObject>consumer(this.getClass().getName())
-      .handler(message -> {
-        String action = message.headers().get("action");
-        try {
-          JsonObject body = message.body();
-          Method method = this.getClass().getMethod(action, ServiceUtils.extractRequestPayloadParameterTypes(body));
-          Future<Object> response = (Future<Object>) method.invoke(this, ServiceUtils.extractRequestPayloadParameters(body));
-          response.onSuccess(payload -> {
-            // Payload can be null, EdgeService will reply with an Optional.empty()
-            if (payload == null || !payload.getClass().getName().equals(Void.class.getName())) {
-              message.reply(ServiceUtils.buildReplyPayload(payload));
-            }
-          }).onFailure(failure -> message.fail(getFailureCode(failure), failure.getMessage()));
-        } catch (Exception e) {
-          log.error(String.format("Error encountered upon handling of %s action on %s service.", action, this.getClass().getName()), e.getCause());
-          message.fail(getFailureCode(e), e.getMessage());
+    this.actions = ServiceActions.of(this);
+    this.execution = Execution.of(config().getString(Execution.CONFIG_KEY));
+    this.admission = AdmissionControl.of(vertx, this.getClass(), AdmissionControl.configOf(this.getClass(), config().getJsonObject("services", new JsonObject())));
+    JsonObject serviceBusConfig = ServiceUtils.serviceBusConfig(context);
+    this.compressThreshold = serviceBusConfig.getInteger("compressThreshold", 0);
+    this.streamChunkSize = serviceBusConfig.getInteger("streamChunkSize", 64);
+    this.streamIdleMillis = serviceBusConfig.getLong("streamIdleMillis", 60000L);
+    consume(this.getClass().getName());
+    this.instanceAddress = Hedging.join(vertx, this.getClass());
+    consume(this.instanceAddress);
+    if (this.getClass().isAnnotationPresent(ContextFree.class) && this.execution != Execution.WORKER) {
+      DirectServices.register(vertx, this);
+    }
+    if (this.actions.hasCachedActions()) {
+      vertx.eventBus()
+        .<JsonObject>consumer(ActionCache.INVALIDATE_ADDRESS)
+        .handler(message -> ActionCache.invalidate(vertx, message.body()));
+    }
+    if (config().getBoolean(PARTITIONED, false)) {
+      this.partition = ServicePartitions.claim(vertx, this.getClass());
+      this.partitionConsumers = consume(ServicePartitions.address(this.getClass(), this.partition));
+    }
+    super.start();
+  }
+
+  /**
+   * Joins the partition ring only once the partition address has its consumers, so no key is routed to
+   * an address nobody listens on yet.
+   */
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void start(Promise<Void> startPromise) throws Exception {
+    start();
+    if (this.partition < 0) {
+      startPromise.complete();
+      return;
+    }
+    List<Future> registered = new ArrayList<>();
+    this.partitionConsumers.forEach(consumer -> {
+      Promise<Void> promise = Promise.promise();
+      consumer.completionHandler(promise);
+      registered.add(promise.future());
+    });
+    CompositeFuture.all(registered)
+      .<Void>map(ignore -> {
+        ServicePartitions.join(vertx, this.getClass(), this.partition);
+        return null;
+      })
+      .onComplete(startPromise);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    DirectServices.unregister(vertx, this);
+    Hedging.leave(vertx, this.getClass(), this.instanceAddress);
+    super.stop();
+  }
+
+  /**
+   * Leaves the partition ring before unregistering from the partition address, and gives the partition
+   * back once nobody listens on it anymore.
+   */
+  @Override
+  @SuppressWarnings("rawtypes")
+  public void stop(Promise<Void> stopPromise) throws Exception {
+    stop();
+    if (this.partition < 0) {
+      stopPromise.complete();
+      return;
+    }
+    ServicePartitions.leave(vertx, this.getClass(), this.partition);
+    List<Future> unregistered = new ArrayList<>();
+    this.partitionConsumers.forEach(consumer -> unregistered.add(consumer.unregister()));
+    CompositeFuture.join(unregistered).onComplete(done -> {
+      ServicePartitions.release(vertx, this.getClass(), this.partition);
+      stopPromise.complete();
+    });
+  }
+
+  /**
+   * @return the partition this instance owns, or <code>-1</code> when the service is not partitioned.
+   * @see ServiceBus#partitionBy(int)
+   */
+  protected int partition() {
+    return this.partition;
+  }
+
+  /**
+   * Registers a consumer on the address of every {@link Priority} lane of <code>address</code>.
+   *
+   * @return the consumers, one per lane.
+   */
+  private List<MessageConsumer<Object>> consume(String address) {
+    List<MessageConsumer<Object>> consumers = new ArrayList<>();
+    for (Priority priority : Priority.values()) {
+      consumers.add(vertx.eventBus()
+        .consumer(priority.address(address))
+        .handler(message -> handle(message, priority)));
+    }
+    return consumers;
+  }
+
+  private void handle(Message<Object> message, Priority priority) {
+    String action = message.headers().get(ServiceUtils.ACTION);
+    Deadline deadline = deadlineOf(message);
+    long received = System.nanoTime();
+    ActionMetrics metrics = Metrics.registry().action(this.getClass().getName(), ServiceActions.metricsLabel(this.getClass(), action));
+    metrics.handlerStarted();
+    Span span = Tracing.enabled() ? Tracing.start(this.getClass().getName() + "." + action, message.headers().get(Tracing.HEADER)) : null;
+    if (span != null) {
+      span.tag("span.kind", "server");
+    }
+    if (message.headers().contains(ServiceUtils.BATCH)) {
+      handleBatch(message, action, priority, deadline, metrics, received, span);
+      return;
+    }
+    boolean local = message.body() instanceof LocalPayload;
+    boolean binary = message.body() instanceof Buffer;
+    if (binary) {
+      metrics.requestSize(((Buffer) message.body()).length());
+    }
+    Future<Object> response;
+    if (local) {
+      response = admit(action, priority, deadline, span, () -> dispatch(action, ((LocalPayload) message.body()).arguments()));
+    } else if (binary) {
+      response = admit(action, priority, deadline, span, () -> dispatch(action, (Buffer) message.body()));
+    } else {
+      response = admit(action, priority, deadline, span, () -> dispatch(action, (JsonObject) message.body()));
+    }
+    if (span != null) {
+      response.onComplete(done -> span.end(done.cause()));
+    }
+    String stream = message.headers().get(ServiceUtils.STREAM);
+    if (stream == null) {
+      response = response.compose(payload -> payload instanceof ReadStream ? collect((ReadStream<?>) payload) : Future.succeededFuture(payload));
+    }
+    response.onSuccess(payload -> {
+      if (payload instanceof ReadStream) {
+        long credit = Long.parseLong(message.headers().get(ServiceUtils.CREDIT));
+        StreamReply.start(vertx, stream, credit, local, this.streamChunkSize, this.streamIdleMillis, (ReadStream<?>) payload, this::getFailureCode);
+        message.reply(null);
+        metrics.handlerCompleted(System.nanoTime() - received, Metrics.OK);
+        return;
+      }
+      // Payload can be null, EdgeService will reply with an Optional.empty()
+      if (payload == null || !payload.getClass().getName().equals(Void.class.getName())) {
+        if (local) {
+          message.reply(LocalPayload.reply(payload), new DeliveryOptions().setCodecName(LocalServiceCodec.NAME));
+        } else if (binary) {
+          Buffer reply = BinaryEnvelope.encodeReply(this.compressThreshold, payload);
+          metrics.replySize(reply.length());
+          message.reply(reply);
+        } else {
+          message.reply(ServiceUtils.buildReplyPayload(payload));
+        }
+      }
+      metrics.handlerCompleted(System.nanoTime() - received, Metrics.OK);
+    }).onFailure(failure -> {
+      int code = getFailureCode(failure);
+      metrics.handlerCompleted(System.nanoTime() - received, code);
+      message.fail(code, failure.getMessage());
+    });
+  }
+
+  /**
+   * Runs every request of a batch in this one delivery and replies with a result or failure per request,
+   * in the order they were sent. See {@link ServiceBus#requestBatch(String, List)}
+   */
+  @SuppressWarnings("rawtypes")
+  private void handleBatch(Message<Object> message, String action, Priority priority, Deadline deadline, ActionMetrics metrics, long received, Span span) {
+    boolean local = message.body() instanceof LocalPayload;
+    List<Future> responses = new ArrayList<>();
+    if (local) {
+      ((LocalPayload) message.body()).batch().forEach(args -> responses.add(admit(action, priority, deadline, span, () -> dispatch(action, args))));
+    } else {
+      ((JsonObject) message.body())
+        .getJsonArray(ServiceUtils.ITEMS)
+        .forEach(item -> responses.add(admit(action, priority, deadline, span, () -> dispatch(action, (JsonObject) item))));
+    }
+    CompositeFuture.join(responses).onComplete(ignore -> {
+      metrics.handlerCompleted(System.nanoTime() - received, Metrics.OK);
+      if (span != null) {
+        span.tag("batch.size", responses.size()).end();
+      }
+      if (local) {
+        List<AsyncResult<Object>> results = new ArrayList<>(responses.size());
+        for (Future<?> response : responses) {
+          results.add(response.succeeded()
+            ? Future.succeededFuture(response.result())
+            : Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, getFailureCode(response.cause()), response.cause().getMessage())));
+        }
+        message.reply(LocalPayload.reply(results), new DeliveryOptions().setCodecName(LocalServiceCodec.NAME));
+        return;
+      }
+      JsonArray items = new JsonArray();
+      for (Future<?> response : responses) {
+        items.add(response.succeeded()
+          ? ServiceUtils.buildReplyPayload(response.result())
+          : ServiceUtils.buildFailurePayload(getFailureCode(response.cause()), response.cause().getMessage()));
+      }
+      message.reply(new JsonObject().put(ServiceUtils.ITEMS, items));
+    });
+  }
+
+  /**
+   * Replies to a plain request on an action that streams its result with the whole result as a list.
+   */
+  private Future<Object> collect(ReadStream<?> stream) {
+    Promise<Object> promise = Promise.promise();
+    List<Object> items = new ArrayList<>();
+    stream.exceptionHandler(promise::tryFail);
+    stream.endHandler(v -> promise.tryComplete(items));
+    stream.handler(items::add).resume();
+    return promise.future();
+  }
+
+  /**
+   * Runs <code>action</code> on the caller's context, for {@link ContextFree} services called by
+   * {@link ServiceBus} from the same <code>Vert.x</code> instance. Failures carry the failure code the
+   * action would have been replied with.
+   */
+  Future<Object> invokeDirect(String action, Priority priority, Deadline deadline, Object[] args) {
+    long received = System.nanoTime();
+    ActionMetrics metrics = Metrics.registry().action(this.getClass().getName(), ServiceActions.metricsLabel(this.getClass(), action));
+    metrics.handlerStarted();
+    Span span = Tracing.enabled() ? Tracing.start(this.getClass().getName() + "." + action, Tracing.current()) : null;
+    if (span != null) {
+      span.tag("span.kind", "server");
+    }
+    Object[] arguments = LocalServiceCodec.copyPolicy(vertx) == LocalServiceCodec.CopyPolicy.DEEP ? LocalServiceCodec.copyAll(args) : args;
+    return admit(vertx.getOrCreateContext(), action, priority, deadline, span, () -> dispatch(action, arguments))
+      .compose(payload -> payload instanceof ReadStream ? collect((ReadStream<?>) payload) : Future.succeededFuture(payload))
+      .transform(done -> {
+        if (span != null) {
+          span.end(done.cause());
+        }
+        if (done.succeeded()) {
+          metrics.handlerCompleted(System.nanoTime() - received, Metrics.OK);
+          return Future.succeededFuture(LocalServiceCodec.copyPolicy(vertx) == LocalServiceCodec.CopyPolicy.DEEP ? LocalServiceCodec.copy(done.result()) : done.result());
         }
+        int code = getFailureCode(done.cause());
+        metrics.handlerCompleted(System.nanoTime() - received, code);
+        return Future.failedFuture(done.cause() instanceof ReplyException
+          ? done.cause()
+          : new ReplyException(ReplyFailure.RECIPIENT_FAILURE, code, done.cause().getMessage()));
       });
-    super.start();
+  }
+
+  private Future<Object> admit(String action, Priority priority, Deadline deadline, Span span, Supplier<Future<Object>> dispatch) {
+    return admit(context, action, priority, deadline, span, dispatch);
+  }
+
+  /**
+   * Runs <code>dispatch</code> once admitted through the <code>priority</code> lane, unless the deadline
+   * passed in the meantime, with <code>span</code> as the current span. Queued work resumes on <code>on</code>.
+   */
+  private Future<Object> admit(Context on, String action, Priority priority, Deadline deadline, Span span, Supplier<Future<Object>> dispatch) {
+    if (deadline == null) {
+      return this.admission.submit(on, action, priority, () -> Tracing.call(span, dispatch));
+    }
+    return this.admission.submit(on, action, priority, () -> deadline.expired()
+      ? Future.failedFuture(deadline.exceeded(String.format("%s action on %s service", action, this.getClass().getName())))
+      : Tracing.call(span, () -> Deadline.call(deadline, dispatch)));
+  }
+
+  private static Deadline deadlineOf(Message<Object> message) {
+    String remaining = message.headers().get(Deadline.HEADER);
+    return remaining == null ? null : Deadline.in(Long.parseLong(remaining));
+  }
+
+  private Future<Object> dispatch(String action, Object[] args) {
+    return invoke(action, this.actions.lookup(action, args), args);
+  }
+
+  private Future<Object> dispatch(String action, Buffer envelope) {
+    try {
+      return dispatch(action, BinaryEnvelope.decodeRequest(envelope));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Object> dispatch(String action, JsonObject envelope) {
+    ServiceActions.Action target = this.actions.lookup(action, envelope.getJsonArray(ServiceUtils.TYPE));
+    if (target == null) {
+      return invoke(action, null, null);
+    }
+    try {
+      return invoke(action, target, ServiceUtils.extractRequestPayloadParameters(envelope, target.wireParameterTypes()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Future<Object> invoke(String action, ServiceActions.Action target, Object[] args) {
+    if (target == null) {
+      String error = this.actions.contains(action)
+        ? String.format("No %s action on %s service accepts the given arguments", action, this.getClass().getName())
+        : String.format("Unknown %s action on %s service", action, this.getClass().getName());
+      return Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, UNKNOWN_ACTION, error));
+    }
+    if (target.cache() != null) {
+      return target.cache().get(args, () -> call(target, args));
+    }
+    return call(target, args);
+  }
+
+  private Future<Object> call(ServiceActions.Action target, Object[] args) {
+    if (this.execution == Execution.VIRTUAL_THREADS) {
+      return callOnVirtualThread(target, args);
+    }
+    try {
+      return toFuture(target.invoke(args));
+    } catch (Throwable e) {
+      log.error(String.format("Error encountered upon handling of %s action on %s service.", target.name(), this.getClass().getName()), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Runs the action on its own virtual thread, or on the worker pool when the runtime has none,
+   * and completes the result back on the calling context.
+   */
+  private Future<Object> callOnVirtualThread(ServiceActions.Action target, Object[] args) {
+    Context origin = vertx.getOrCreateContext();
+    Deadline deadline = Deadline.current();
+    Span span = Tracing.current();
+    Promise<Object> promise = Promise.promise();
+    Handler<Promise<Object>> blocking = result -> {
+      try {
+        Tracing.call(span, () -> Deadline.call(deadline, () -> {
+          try {
+            return toFuture(target.invoke(args));
+          } catch (Throwable e) {
+            return Future.failedFuture(e);
+          }
+        })).onComplete(result);
+      } catch (Throwable e) {
+        result.fail(e);
+      }
+    };
+    Optional<ExecutorService> executor = Execution.virtualThreads();
+    if (!executor.isPresent()) {
+      vertx.executeBlocking(blocking, false, promise);
+      return promise.future();
+    }
+    executor.get().execute(() -> {
+      Promise<Object> result = Promise.promise();
+      blocking.handle(result);
+      result.future().onComplete(done -> origin.runOnContext(v -> promise.handle(done)));
+    });
+    return promise.future();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Future<Object> toFuture(Object result) {
+    return result instanceof Future ? (Future<Object>) result : Future.succeededFuture(result);
   }
 
   private int getFailureCode(Throwable failure) {
+    if (failure instanceof ReplyException) {
+      log.warn(failure.getMessage());
+      return ((ReplyException) failure).failureCode();
+    }
     log.error(failure.getMessage(), failure);
     if (failure instanceof NoSuchElementException || failure instanceof NullPointerException) {
       return HttpResponseStatus.NOT_FOUND.code();
@@ -0,0 +1,346 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.json.JsonArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ph.com.nightowlstudios.metrics.Metrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Immutable dispatch table of the actions a {@link Service} exposes through the event bus.
+ * <p>
+ * Built once when the service verticle is deployed. Each action is keyed on its name and
+ * the wire types of its parameters, and points to the invoker of the generated {@link ServiceSkeleton},
+ * or to a pre-bound {@link MethodHandle} without one, so that handling a message needs no reflective lookup.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class ServiceActions {
+
+  private static final Logger log = LoggerFactory.getLogger(ServiceActions.class);
+
+  private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+  private static final ClassValue<Set<String>> NAMES = new ClassValue<Set<String>>() {
+    @Override
+    protected Set<String> computeValue(Class<?> serviceClass) {
+      Set<String> names = new HashSet<>();
+      for (Method method : serviceClass.getMethods()) {
+        if (isAction(method)) {
+          names.add(method.getName());
+        }
+      }
+      return Collections.unmodifiableSet(names);
+    }
+  };
+
+  private final Map<String, Action[]> actions;
+
+  private ServiceActions(Map<String, Action[]> actions) {
+    this.actions = actions;
+  }
+
+  static ServiceActions of(Service service) {
+    ServiceSkeleton<Service> skeleton = skeletonOf(service.getClass());
+    Map<String, List<Action>> table = new HashMap<>();
+    for (Method method : service.getClass().getMethods()) {
+      if (!isAction(method)) {
+        continue;
+      }
+      Action action = Action.of(service, method, skeleton);
+      List<Action> overloads = table.computeIfAbsent(action.name(), name -> new ArrayList<>());
+      Optional<Action> existing = overloads.stream().filter(o -> Arrays.equals(o.wireTypes, action.wireTypes)).findFirst();
+      if (existing.isPresent()) {
+        // `int` and `Integer` parameters share the same wire type; keep the primitive one as before.
+        if (action.hasPrimitiveParameters() && !existing.get().hasPrimitiveParameters()) {
+          overloads.set(overloads.indexOf(existing.get()), action);
+        }
+        log.warn("Ambiguous {} action on {} service, only one overload will be reachable.", action.name(), service.getClass().getName());
+        continue;
+      }
+      overloads.add(action);
+    }
+    Map<String, Action[]> actions = new HashMap<>();
+    table.forEach((name, overloads) -> actions.put(name, overloads.toArray(new Action[0])));
+    return new ServiceActions(Collections.unmodifiableMap(actions));
+  }
+
+  /**
+   * Resolves the action matching the name and wire types of a JSON request payload. An overload declaring
+   * the exact types wins, then the one declaring the narrowest supertypes.
+   *
+   * @param name  the action name from the <code>action</code> header
+   * @param types the <code>type</code> array of the request payload
+   * @return the matching action, or <code>null</code> when there is none
+   */
+  Action lookup(String name, JsonArray types) {
+    Action[] overloads = this.actions.get(name);
+    if (overloads == null) {
+      return null;
+    }
+    for (Action action : overloads) {
+      if (action.matches(types, true)) {
+        return action;
+      }
+    }
+    Action match = null;
+    for (Action action : overloads) {
+      if (action.matches(types, false) && (match == null || action.isNarrowerThan(match))) {
+        match = action;
+      }
+    }
+    return match;
+  }
+
+  /**
+   * Resolves the action matching the name and the runtime classes of locally delivered arguments. An overload
+   * declaring the exact classes wins, then the one declaring the narrowest supertypes.
+   *
+   * @param name      the action name from the <code>action</code> header
+   * @param arguments the arguments of a {@link LocalPayload}
+   * @return the matching action, or <code>null</code> when there is none
+   */
+  Action lookup(String name, Object[] arguments) {
+    Action[] overloads = this.actions.get(name);
+    if (overloads == null) {
+      return null;
+    }
+    for (Action action : overloads) {
+      if (action.matches(arguments, true)) {
+        return action;
+      }
+    }
+    Action match = null;
+    for (Action action : overloads) {
+      if (action.matches(arguments, false) && (match == null || action.isNarrowerThan(match))) {
+        match = action;
+      }
+    }
+    return match;
+  }
+
+  boolean hasCachedActions() {
+    return this.actions.values().stream().flatMap(Arrays::stream).anyMatch(action -> action.cache() != null);
+  }
+
+  boolean contains(String name) {
+    return this.actions.containsKey(name);
+  }
+
+  /**
+   * @return <code>action</code> when <code>serviceClass</code> has such an action, or
+   * {@link Metrics#UNKNOWN_ACTION}, to label its metrics with.
+   */
+  static String metricsLabel(Class<?> serviceClass, String action) {
+    return action != null && NAMES.get(serviceClass).contains(action) ? action : Metrics.UNKNOWN_ACTION;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ServiceSkeleton<Service> skeletonOf(Class<?> serviceClass) {
+    try {
+      Class<?> skeletonClass = Class.forName(ServiceSkeleton.classNameOf(serviceClass.getName(), ServiceSkeleton.SUFFIX), true, serviceClass.getClassLoader());
+      return (ServiceSkeleton<Service>) skeletonClass.getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      log.warn("Unable to load the skeleton of {} service, falling back to method handles.", serviceClass.getName(), e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the signature {@link ServiceSkeleton#invoker(Service, String)} knows <code>method</code> by.
+   */
+  static String signatureOf(Method method) {
+    StringJoiner parameters = new StringJoiner(",", method.getName() + "(", ")");
+    for (Class<?> type : method.getParameterTypes()) {
+      parameters.add(type.getCanonicalName());
+    }
+    return parameters.toString();
+  }
+
+  private static boolean isAction(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    if (!Service.class.isAssignableFrom(declaringClass) || declaringClass.equals(Service.class)) {
+      return false;
+    }
+    if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) {
+      return false;
+    }
+    // Overridden verticle lifecycle methods are not actions.
+    try {
+      AbstractVerticle.class.getMethod(method.getName(), method.getParameterTypes());
+      return false;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
+  /**
+   * A single service action bound to the service instance that owns it.
+   */
+  static final class Action {
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] wireParameterTypes;
+    private final String[] wireTypes;
+    private final ServiceSkeleton.Invoker invoker;
+    private final ActionCache cache;
+
+    private Action(String name, Class<?>[] parameterTypes, ServiceSkeleton.Invoker invoker, ActionCache cache) {
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+      this.wireParameterTypes = Arrays.stream(parameterTypes).map(Action::box).toArray(Class[]::new);
+      this.wireTypes = Arrays.stream(this.wireParameterTypes).map(Class::getName).toArray(String[]::new);
+      this.invoker = invoker;
+      this.cache = cache;
+    }
+
+    static Action of(Service service, Method method, ServiceSkeleton<Service> skeleton) {
+      try {
+        ServiceSkeleton.Invoker invoker = skeleton != null ? skeleton.invoker(service, signatureOf(method)) : null;
+        if (invoker == null) {
+          method.setAccessible(true);
+          MethodHandle handle = MethodHandles.lookup()
+            .unreflect(method)
+            .bindTo(service)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(INVOKER_TYPE);
+          invoker = handle::invokeExact;
+        }
+        checkMapKeys(service, method);
+        Cached cached = method.getAnnotation(Cached.class);
+        ActionCache cache = cached != null ? ActionCache.of(service.getVertx(), service.getClass(), method.getName(), cached) : null;
+        return new Action(method.getName(), method.getParameterTypes(), invoker, cache);
+      } catch (IllegalAccessException | SecurityException e) {
+        throw new IllegalStateException(String.format("Unable to bind %s action of %s service", method.getName(), service.getClass().getName()), e);
+      }
+    }
+
+    /**
+     * Map payloads travel as JSON objects, so only <code>String</code> keys survive the round-trip.
+     */
+    private static void checkMapKeys(Service service, Method method) {
+      List<Type> types = new ArrayList<>(Arrays.asList(method.getGenericParameterTypes()));
+      types.add(method.getGenericReturnType());
+      for (Type type : types) {
+        if (hasNonStringMapKey(type)) {
+          throw new IllegalStateException(String.format("%s action of %s service has a Map payload whose keys are not Strings",
+            method.getName(), service.getClass().getName()));
+        }
+      }
+    }
+
+    private static boolean hasNonStringMapKey(Type type) {
+      if (!(type instanceof ParameterizedType)) {
+        return false;
+      }
+      ParameterizedType parameterized = (ParameterizedType) type;
+      Type[] arguments = parameterized.getActualTypeArguments();
+      if (Map.class.isAssignableFrom((Class<?>) parameterized.getRawType()) && arguments.length == 2
+        && arguments[0] instanceof Class && !String.class.equals(arguments[0])) {
+        return true;
+      }
+      return Arrays.stream(arguments).anyMatch(Action::hasNonStringMapKey);
+    }
+
+    String name() {
+      return this.name;
+    }
+
+    /**
+     * @return the parameter types, with primitives boxed, in declaration order.
+     */
+    Class<?>[] wireParameterTypes() {
+      return this.wireParameterTypes;
+    }
+
+    /**
+     * @return the result cache of a {@link Cached} action, or <code>null</code>.
+     */
+    ActionCache cache() {
+      return this.cache;
+    }
+
+    Object invoke(Object[] args) throws Throwable {
+      return this.invoker.invoke(args);
+    }
+
+    /**
+     * @param exact whether each type must be the parameter type itself, rather than one of its subtypes
+     */
+    private boolean matches(JsonArray types, boolean exact) {
+      if (types.size() != this.wireTypes.length) {
+        return false;
+      }
+      for (int i = 0; i < this.wireTypes.length; i++) {
+        String type = types.getString(i);
+        if (ServiceUtils.NIL_TYPE.equals(type)) {
+          if (this.parameterTypes[i].isPrimitive()) {
+            return false;
+          }
+        } else if (!this.wireTypes[i].equals(type) && (exact || !isAssignableFrom(this.wireParameterTypes[i], type))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @param exact whether each argument must be of the parameter type itself, rather than one of its subtypes
+     */
+    private boolean matches(Object[] arguments, boolean exact) {
+      if (arguments.length != this.wireParameterTypes.length) {
+        return false;
+      }
+      for (int i = 0; i < this.wireParameterTypes.length; i++) {
+        if (arguments[i] == null
+          ? this.parameterTypes[i].isPrimitive()
+          : exact ? this.wireParameterTypes[i] != arguments[i].getClass() : !this.wireParameterTypes[i].isInstance(arguments[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isAssignableFrom(Class<?> parameterType, String typeName) {
+      try {
+        return parameterType.isAssignableFrom(PayloadCodecs.classOf(typeName));
+      } catch (IllegalArgumentException e) {
+        return false;
+      }
+    }
+
+    /**
+     * @return whether each parameter type of this action is also one of <code>other</code>'s.
+     */
+    private boolean isNarrowerThan(Action other) {
+      for (int i = 0; i < this.wireParameterTypes.length; i++) {
+        if (!other.wireParameterTypes[i].isAssignableFrom(this.wireParameterTypes[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean hasPrimitiveParameters() {
+      return Arrays.stream(this.parameterTypes).anyMatch(Class::isPrimitive);
+    }
+
+    private static Class<?> box(Class<?> type) {
+      if (!type.isPrimitive()) {
+        return type;
+      }
+      return MethodType.methodType(type).wrap().returnType();
+    }
+  }
+}
@@ -1,15 +1,39 @@
 package ph.com.nightowlstudios.service;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ph.com.nightowlstudios.core.Deadline;
+import ph.com.nightowlstudios.core.Edge;
+import ph.com.nightowlstudios.metrics.ActionMetrics;
+import ph.com.nightowlstudios.metrics.Metrics;
+import ph.com.nightowlstudios.tracing.Span;
+import ph.com.nightowlstudios.tracing.Tracing;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
@@ -18,30 +42,492 @@ import java.util.Optional;
 public class ServiceBus<T extends Service> {
   private static final Logger log = LoggerFactory.getLogger(ServiceBus.class);
 
+  /**
+   * Payload format used when the service is not deployed in this JVM.
+   */
+  public enum WireFormat {
+    JSON,
+    /**
+     * See {@link BinaryEnvelope}
+     */
+    BINARY
+  }
+
+  /**
+   * Parsed <code>serviceBus</code> configuration of each <code>Vert.x</code> instance.
+   */
+  private static final Map<Vertx, Settings> parsedConfigs = Collections.synchronizedMap(new WeakHashMap<>());
+
   private final Class<T> serviceClass;
   private final Vertx vertx;
+  private final boolean local;
+  private WireFormat wireFormat;
+  private Priority priority = Priority.NORMAL;
+  private final int compressThreshold;
+  private final int streamWindow;
+  private int partitionKey = -1;
+  private Deadline deadline;
+  private Span span;
+  private Set<String> coalesced = Collections.emptySet();
+  private Map<String, Function<Throwable, ?>> fallbacks = Collections.emptyMap();
+  private final JsonObject circuitBreakers;
+  private final Hedging hedging;
+  private Set<String> hedged = Collections.emptySet();
 
   public ServiceBus(Class<T> serviceClass) {
     this(Vertx.currentContext().owner(), serviceClass);
   }
 
   public ServiceBus(Vertx vertx, Class<T> serviceClass) {
+    Settings settings = settingsOf(vertx, ServiceUtils.serviceBusConfig(Vertx.currentContext()));
     this.vertx = vertx;
     this.serviceClass = serviceClass;
+    this.local = Edge.isLocalService(vertx, serviceClass);
+    this.wireFormat = settings.wireFormat;
+    this.compressThreshold = settings.compressThreshold;
+    this.streamWindow = settings.streamWindow;
+    this.circuitBreakers = settings.circuitBreakers;
+    this.hedging = settings.hedging;
+  }
+
+  private ServiceBus(ServiceBus<T> bus) {
+    this.vertx = bus.vertx;
+    this.serviceClass = bus.serviceClass;
+    this.local = bus.local;
+    this.wireFormat = bus.wireFormat;
+    this.compressThreshold = bus.compressThreshold;
+    this.streamWindow = bus.streamWindow;
+    this.partitionKey = bus.partitionKey;
+    this.priority = bus.priority;
+    this.coalesced = bus.coalesced;
+    this.fallbacks = bus.fallbacks;
+    this.circuitBreakers = bus.circuitBreakers;
+    this.hedging = bus.hedging;
+    this.hedged = bus.hedged;
+    this.deadline = bus.deadline;
+    this.span = bus.span;
+  }
+
+  /**
+   * Returns a copy of this bus whose requests carry <code>deadline</code>. The service drops a request
+   * that reaches it too late, and the caller stops waiting for the reply once the deadline passes.
+   * <p>
+   * Without one, requests made while an action runs carry that action's {@link Deadline#current()} deadline.
+   *
+   * @param deadline the deadline of the requests, ie: {@link Deadline#of(io.vertx.ext.web.RoutingContext)}
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> withDeadline(Deadline deadline) {
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.deadline = deadline;
+    return bus;
+  }
+
+  /**
+   * Returns a copy of this bus whose requests are traced as children of <code>span</code> when no span
+   * is {@link Tracing#current()}, ie: in callbacks of an HTTP route that went asynchronous.
+   *
+   * @param span the parent of the requests, ie: {@link Tracing#of(io.vertx.ext.web.RoutingContext)}
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> withSpan(Span span) {
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.span = span;
+    return bus;
+  }
+
+  /**
+   * Overrides the <code>serviceBus.wireFormat</code> configuration for requests made through this bus.
+   *
+   * @param wireFormat payload format for services that are not deployed in this JVM
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> wireFormat(WireFormat wireFormat) {
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.wireFormat = wireFormat;
+    return bus;
+  }
+
+  /**
+   * Sends the requests made through this bus in the <code>priority</code> lane, {@link Priority#NORMAL} by default.
+   *
+   * @param priority the lane of the requests
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> priority(Priority priority) {
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.priority = priority;
+    return bus;
+  }
+
+  /**
+   * Routes each request to the instance owning the partition of its <code>argumentIndex</code>-th argument,
+   * for services registered through
+   * {@link ph.com.nightowlstudios.core.ApplicationVerticle#registerPartitionedService(Class, int)}.
+   * Requests for the same key then always reach the same instance, as long as the instance count stays the same.
+   * <p>
+   * Only applies to services deployed on the same Vert.x, and not to {@link #requestBatch(String, List)}, which
+   * still goes to any instance. Keys are hashed by value: a <code>String</code>, a primitive wrapper, a
+   * <code>UUID</code>, an enum constant or a {@link PartitionKey}, requests with any other key fail.
+   *
+   * @param argumentIndex position of the partition key among the action arguments
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> partitionBy(int argumentIndex) {
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.partitionKey = argumentIndex;
+    return bus;
+  }
+
+  /**
+   * Coalesces identical concurrent requests to <code>actions</code> made through this bus, see {@link SingleFlight}.
+   *
+   * @param actions actions whose in-flight requests are shared
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> coalesce(String... actions) {
+    Set<String> coalesced = new HashSet<>(this.coalesced);
+    coalesced.addAll(Arrays.asList(actions));
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.coalesced = Collections.unmodifiableSet(coalesced);
+    return bus;
+  }
+
+  /**
+   * Hedges requests to <code>actions</code> made through this bus: when no reply came within a percentile of
+   * the action's latency, the request is sent once more, to another instance when possible, and the first
+   * reply wins. See {@link Hedging} for its configuration and the budget that bounds the extra load.
+   * <p>
+   * Only for idempotent actions, both requests may run. Requests routed by {@link #partitionBy(int)}, and
+   * calls to {@link ContextFree} services in this JVM, are not hedged.
+   *
+   * @param actions idempotent actions whose slow requests are sent twice
+   * @return the bound copy, this bus is left as is.
+   */
+  public ServiceBus<T> hedge(String... actions) {
+    Set<String> hedged = new HashSet<>(this.hedged);
+    hedged.addAll(Arrays.asList(actions));
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.hedged = Collections.unmodifiableSet(hedged);
+    return bus;
+  }
+
+  /**
+   * Replies to requests for <code>action</code> with the value of <code>fallback</code> when they fail
+   * because the service is degraded: its circuit is open, see {@link CircuitBreakers}, or the request
+   * timed out or failed with a code of <code>500</code> and up.
+   *
+   * @param action   the action to fall back for
+   * @param fallback gives the value to reply with from the failure, may return <code>null</code>
+   * @return the bound copy, this bus is left as is.
+   */
+  public <S> ServiceBus<T> fallback(String action, Function<Throwable, S> fallback) {
+    Map<String, Function<Throwable, ?>> fallbacks = new HashMap<>(this.fallbacks);
+    fallbacks.put(action, fallback);
+    ServiceBus<T> bus = new ServiceBus<>(this);
+    bus.fallbacks = Collections.unmodifiableMap(fallbacks);
+    return bus;
   }
 
-  @SuppressWarnings("unchecked")
   public <S> Future<Optional<S>> request(String action, Object... payload) {
-    DeliveryOptions options = new DeliveryOptions().addHeader("action", action);
+    return request(action, null, payload);
+  }
+
+  /**
+   * Typed request, as made by the generated <code>&lt;Service&gt;Client</code> stubs.
+   *
+   * @param method  the action and its reply type
+   * @param payload the action arguments
+   * @param <S>     the reply type
+   */
+  public <S> Future<Optional<S>> request(ServiceMethod<S> method, Object... payload) {
+    return request(method.action(), method.replyType(), payload);
+  }
+
+  private <S> Future<Optional<S>> request(String action, Class<?> replyType, Object[] payload) {
+    if (this.coalesced.contains(action)) {
+      return SingleFlight.run(this.vertx, this.serviceClass.getName(), action, this.priority, deadline(), payload, () -> send(action, replyType, payload));
+    }
+    return send(action, replyType, payload);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <S> Future<Optional<S>> send(String action, Class<?> replyType, Object[] payload) {
+    Deadline deadline = deadline();
+    if (deadline != null && deadline.expired()) {
+      return Future.failedFuture(deadline.exceeded(describe(action)));
+    }
+    long sent = System.nanoTime();
+    ActionMetrics metrics = Metrics.registry().action(this.serviceClass.getName(), ServiceActions.metricsLabel(this.serviceClass, action));
+    metrics.requestStarted();
+    Span span = Tracing.enabled() ? Tracing.start(describe(action), trace()) : null;
+    if (span != null) {
+      span.tag("span.kind", "client");
+    }
+    Supplier<Future<Optional<S>>> dispatch = () -> Tracing.call(span, () -> {
+      Service direct = this.local && this.partitionKey < 0 ? DirectServices.pick(this.vertx, this.serviceClass) : null;
+      if (direct != null) {
+        return directRequest(direct, action, payload);
+      }
+      if (this.partitionKey < 0 && this.hedged.contains(action)) {
+        // The hedge is sent from a timer, restore what the request was sent with.
+        return this.hedging.run(this.vertx, this.serviceClass, action, address -> Deadline.call(deadline, () -> Tracing.call(span,
+          () -> dispatch(metrics, action, replyType, this.priority.address(address), payload))));
+      }
+      String address;
+      try {
+        address = address(payload);
+      } catch (IllegalArgumentException e) {
+        return Future.failedFuture(e);
+      }
+      return dispatch(metrics, action, replyType, address, payload);
+    });
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(this.vertx, this.serviceClass, action, this.circuitBreakers);
+    Future<Optional<S>> response = (breaker == null ? dispatch.get() : breaker.execute(dispatch)).onComplete(reply -> {
+      metrics.requestCompleted(System.nanoTime() - sent, reply.succeeded() ? Metrics.OK : Metrics.failureCode(reply.cause()));
+      if (span != null) {
+        span.end(reply.cause());
+      }
+    });
+    Function<Throwable, ?> fallback = this.fallbacks.get(action);
+    if (fallback == null) {
+      return response;
+    }
+    return response.recover(failure -> CircuitBreakers.isFailure(failure)
+      ? Future.succeededFuture(Optional.ofNullable((S) fallback.apply(failure)))
+      : Future.failedFuture(failure));
+  }
+
+  /**
+   * Sends many calls of the same action in a single event bus message. The service runs them all in that
+   * one delivery and replies with one result per call, in the same order as <code>payloads</code>.
+   * A call that failed holds a {@link io.vertx.core.eventbus.ReplyException} with its failure code.
+   * <p>
+   * Batches are sent by reference to services deployed in this JVM, and as a JSON payload otherwise.
+   *
+   * @param action   the action to call
+   * @param payloads the arguments of each call
+   * @param <S>      the return type of the action
+   * @return the result of each call.
+   */
+  @SuppressWarnings("unchecked")
+  public <S> Future<List<AsyncResult<Optional<S>>>> requestBatch(String action, List<Object[]> payloads) {
+    Deadline deadline = deadline();
+    if (deadline != null && deadline.expired()) {
+      return Future.failedFuture(deadline.exceeded(describe(action)));
+    }
+    DeliveryOptions options = deliveryOptions(action)
+      .addHeader(ServiceUtils.BATCH, String.valueOf(payloads.size()));
+    if (this.local) {
+      options.setCodecName(LocalServiceCodec.NAME).setLocalOnly(true);
+      return this.vertx
+        .eventBus()
+        .<LocalPayload>request(this.priority.address(this.serviceClass.getName()), LocalPayload.batch(payloads), options)
+        .map(message -> {
+          List<AsyncResult<Object>> results = (List<AsyncResult<Object>>) message.body().value();
+          List<AsyncResult<Optional<S>>> batch = new ArrayList<>(results.size());
+          results.forEach(result -> batch.add(result.map(value -> value instanceof Optional
+            ? (Optional<S>) value
+            : Optional.ofNullable((S) value))));
+          return batch;
+        });
+    }
+    JsonArray items = new JsonArray();
+    payloads.forEach(payload -> items.add(ServiceUtils.buildRequestPayload(payload)));
+    return this.vertx
+      .eventBus()
+      .<JsonObject>request(this.priority.address(this.serviceClass.getName()), new JsonObject().put(ServiceUtils.ITEMS, items), options)
+      .map(message -> {
+        JsonArray replies = message.body().getJsonArray(ServiceUtils.ITEMS);
+        List<AsyncResult<Optional<S>>> batch = new ArrayList<>(replies.size());
+        for (int i = 0; i < replies.size(); i++) {
+          batch.add(ServiceUtils.unwrapBatchItem(replies.getJsonObject(i)));
+        }
+        return batch;
+      });
+  }
+
+  /**
+   * Creates a {@link MicroBatcher} that transparently groups calls to <code>action</code> into
+   * {@link #requestBatch(String, List)} messages.
+   *
+   * @param action       the action to call
+   * @param windowMillis how long the first call of a batch waits for others to join
+   * @param maxSize      number of calls that sends a batch right away
+   * @param <S>          the return type of the action
+   * @return the batcher, keep it around to share its batches across calls.
+   */
+  public <S> MicroBatcher<S> batcher(String action, long windowMillis, int maxSize) {
+    return new MicroBatcher<>(this, this.vertx, action, windowMillis, maxSize);
+  }
+
+  /**
+   * Calls an action whose result is delivered as a back-pressured stream instead of a single reply.
+   * <p>
+   * Actions stream by returning a <code>Future&lt;ReadStream&lt;T&gt;&gt;</code>, the stream's items are then
+   * sent in chunks, never more than <code>serviceBus.streamWindow</code> items ahead of what the caller has
+   * consumed. Any other result is emitted as is, or item by item when it is a collection.
+   * The returned stream can be piped directly into an HTTP response, see
+   * {@link ph.com.nightowlstudios.resource.Resource#endContext(io.vertx.ext.web.RoutingContext, ReadStream)}
+   * <p>
+   * Items are sent by reference to services deployed in this JVM, and as a JSON payload otherwise.
+   *
+   * @param action  the action to call
+   * @param payload the action arguments
+   * @param <S>     the type of the streamed items
+   * @return the stream, once the action has started.
+   */
+  public <S> Future<ReadStream<S>> stream(String action, Object... payload) {
+    Deadline deadline = deadline();
+    if (deadline != null && deadline.expired()) {
+      return Future.failedFuture(deadline.exceeded(describe(action)));
+    }
+    Context context = this.vertx.getOrCreateContext();
+    Promise<ReadStream<S>> promise = Promise.promise();
+    DeliveryOptions options = deliveryOptions(action);
+    context.runOnContext(v -> {
+      String address = String.format("%s.stream.%s", this.serviceClass.getName(), UUID.randomUUID());
+      ServiceStream<S> stream = new ServiceStream<>(this.vertx, context, address, this.streamWindow);
+      options
+        .addHeader(ServiceUtils.STREAM, address)
+        .addHeader(ServiceUtils.CREDIT, String.valueOf(this.streamWindow));
+      stream.register()
+        .compose(ignore -> {
+          if (this.local) {
+            options.setCodecName(LocalServiceCodec.NAME).setLocalOnly(true);
+            return this.vertx.eventBus().request(address(payload), LocalPayload.request(payload), options);
+          }
+          return this.vertx.eventBus().request(address(payload), ServiceUtils.buildRequestPayload(payload), options);
+        })
+        .onSuccess(reply -> {
+          stream.accept(reply.body());
+          promise.complete(stream);
+        })
+        .onFailure(failure -> {
+          stream.close();
+          promise.fail(failure);
+        });
+    });
+    return promise.future();
+  }
+
+  private Deadline deadline() {
+    return this.deadline != null ? this.deadline : Deadline.current();
+  }
+
+  /**
+   * @return the options of a request to <code>action</code>, carrying the remaining time of the deadline.
+   */
+  private DeliveryOptions deliveryOptions(String action) {
+    DeliveryOptions options = new DeliveryOptions().addHeader(ServiceUtils.ACTION, action);
+    Deadline deadline = deadline();
+    if (deadline != null) {
+      long remaining = Math.max(1, deadline.remaining());
+      options.addHeader(Deadline.HEADER, String.valueOf(remaining)).setSendTimeout(remaining);
+    }
+    Span span = trace();
+    if (span != null) {
+      options.addHeader(Tracing.HEADER, span.traceparent());
+    }
+    return options;
+  }
+
+  private Span trace() {
+    Span current = Tracing.current();
+    return current != null ? current : this.span;
+  }
+
+  private String describe(String action) {
+    return String.format("%s.%s", this.serviceClass.getName(), action);
+  }
+
+  private String address(Object[] payload) {
+    if (this.partitionKey < 0 || this.partitionKey >= payload.length) {
+      return this.priority.address(this.serviceClass.getName());
+    }
+    return this.priority.address(ServicePartitions.addressOf(this.vertx, this.serviceClass, payload[this.partitionKey]));
+  }
+
+  private <S> Future<Optional<S>> dispatch(ActionMetrics metrics, String action, Class<?> replyType, String address, Object[] payload) {
+    if (this.local) {
+      return localRequest(action, address, payload);
+    }
+    return this.wireFormat == WireFormat.BINARY
+      ? binaryRequest(metrics, action, address, payload)
+      : jsonRequest(action, replyType, address, payload);
+  }
+
+  /**
+   * Calls a {@link ContextFree} service on this context, without going through the event bus.
+   */
+  @SuppressWarnings("unchecked")
+  private <S> Future<Optional<S>> directRequest(Service service, String action, Object[] payload) {
+    Deadline deadline = deadline();
+    Future<Object> response = service.invokeDirect(action, this.priority, deadline, payload);
+    if (deadline != null) {
+      // Same as the send timeout of a request carrying a deadline.
+      Promise<Object> promise = Promise.promise();
+      long timer = this.vertx.setTimer(Math.max(1, deadline.remaining()), id -> promise.tryFail(deadline.exceeded(describe(action))));
+      response.onComplete(done -> {
+        this.vertx.cancelTimer(timer);
+        if (done.succeeded()) {
+          promise.tryComplete(done.result());
+        } else {
+          promise.tryFail(done.cause());
+        }
+      });
+      response = promise.future();
+    }
+    return response.map(value -> value instanceof Optional
+      ? (Optional<S>) value
+      : Optional.ofNullable((S) value));
+  }
+
+  /**
+   * Hands <code>payload</code> to a {@link Service} deployed in the same JVM by reference.
+   * See {@link LocalServiceCodec}.
+   */
+  @SuppressWarnings("unchecked")
+  private <S> Future<Optional<S>> localRequest(String action, String address, Object[] payload) {
+    DeliveryOptions options = deliveryOptions(action)
+      .setCodecName(LocalServiceCodec.NAME)
+      .setLocalOnly(true);
+    return this.vertx
+      .eventBus()
+      .<LocalPayload>request(address, LocalPayload.request(payload), options)
+      .map(message -> {
+        Object value = message.body().value();
+        return value instanceof Optional
+          ? (Optional<S>) value
+          : Optional.ofNullable((S) value);
+      });
+  }
+
+  @SuppressWarnings("unchecked")
+  private <S> Future<Optional<S>> binaryRequest(ActionMetrics metrics, String action, String address, Object[] payload) {
+    DeliveryOptions options = deliveryOptions(action);
+    Buffer body = BinaryEnvelope.encodeRequest(this.compressThreshold, payload);
+    metrics.requestSize(body.length());
+    return this.vertx
+      .eventBus()
+      .<Buffer>request(address, body, options)
+      .map(message -> {
+        metrics.replySize(message.body().length());
+        return Optional.ofNullable((S) BinaryEnvelope.decodeReply(message.body()));
+      });
+  }
+
+  private <S> Future<Optional<S>> jsonRequest(String action, Class<?> replyType, String address, Object[] payload) {
+    DeliveryOptions options = deliveryOptions(action);
     JsonObject body = ServiceUtils.buildRequestPayload(payload);
     return this.vertx
       .eventBus()
-      .<JsonObject>request(this.serviceClass.getName(), body, options)
+      .<JsonObject>request(address, body, options)
       .map(message -> {
         try {
           JsonObject responseBody = message.body();
           return !responseBody.isEmpty()
-            ? ServiceUtils.unwrapRequestResponse(responseBody)
+            ? ServiceUtils.unwrapRequestResponse(responseBody, replyType)
             : Optional.empty();
         } catch (Exception e) {
           log.error(String.format("Error unwrapping %s.%s response", this.serviceClass.getName(), action), e);
@@ -51,4 +537,34 @@ public class ServiceBus<T extends Service> {
       });
   }
 
+  /**
+   * @return the parsed <code>config</code>, reused for as long as <code>vertx</code> is given the same one.
+   */
+  private static Settings settingsOf(Vertx vertx, JsonObject config) {
+    Settings cached = parsedConfigs.get(vertx);
+    if (cached != null && cached.config.equals(config)) {
+      return cached;
+    }
+    Settings parsed = new Settings(config);
+    parsedConfigs.put(vertx, parsed);
+    return parsed;
+  }
+
+  private static final class Settings {
+    private final JsonObject config;
+    private final WireFormat wireFormat;
+    private final int compressThreshold;
+    private final int streamWindow;
+    private final JsonObject circuitBreakers;
+    private final Hedging hedging;
+
+    private Settings(JsonObject config) {
+      this.config = config.copy();
+      this.wireFormat = WireFormat.valueOf(this.config.getString("wireFormat", "json").toUpperCase(Locale.ROOT));
+      this.compressThreshold = this.config.getInteger("compressThreshold", 0);
+      this.streamWindow = this.config.getInteger("streamWindow", 256);
+      this.circuitBreakers = this.config.getJsonObject("circuitBreakers", new JsonObject());
+      this.hedging = Hedging.of(this.config.getJsonObject("hedging", new JsonObject()));
+    }
+  }
 }
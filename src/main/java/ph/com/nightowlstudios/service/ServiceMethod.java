@@ -0,0 +1,37 @@
+package ph.com.nightowlstudios.service;
+
+/**
+ * An action along with its reply type, as declared by the generated <code>&lt;Service&gt;Client</code> stubs.
+ * Requests made with it decode JSON replies of that type without resolving the type by name.
+ *
+ * @param <S> the reply type
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @see ServiceBus#request(ServiceMethod, Object...)
+ * @since 10/17/26
+ **/
+public final class ServiceMethod<S> {
+
+  private final String action;
+  private final Class<?> replyType;
+
+  private ServiceMethod(String action, Class<?> replyType) {
+    this.action = action;
+    this.replyType = replyType;
+  }
+
+  /**
+   * @param action    the action name
+   * @param replyType the erased reply type of the action
+   */
+  public static <S> ServiceMethod<S> of(String action, Class<?> replyType) {
+    return new ServiceMethod<>(action, replyType);
+  }
+
+  public String action() {
+    return this.action;
+  }
+
+  public Class<?> replyType() {
+    return this.replyType;
+  }
+}
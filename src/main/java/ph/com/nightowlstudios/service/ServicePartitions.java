@@ -0,0 +1,157 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Vertx;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consistent-hash rings of the partitioned {@link Service} instances, per <code>Vert.x</code> instance.
+ * <p>
+ * Each instance of a partitioned service claims the lowest free partition index when it starts, joins the
+ * ring once it listens on its own partition address, leaves the ring before it stops listening, and gives
+ * the index back once it has. The ring is rebuilt on every change, with {@value #VIRTUAL_NODES} points per
+ * partition, so adding or removing an instance only moves the keys of the neighbouring points.
+ * <p>
+ * Keys are hashed by value, so they must be a <code>String</code>, a primitive wrapper, a <code>UUID</code>,
+ * an enum constant or a {@link PartitionKey}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class ServicePartitions {
+
+  private static final int VIRTUAL_NODES = 64;
+  private static final String SEPARATOR = "#";
+
+  private static final Map<Vertx, ServicePartitions> partitions = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Map<String, BitSet> claimed = new ConcurrentHashMap<>();
+  private final Map<String, BitSet> joined = new ConcurrentHashMap<>();
+  private final Map<String, NavigableMap<Integer, String>> rings = new ConcurrentHashMap<>();
+
+  private ServicePartitions() {
+  }
+
+  private static ServicePartitions of(Vertx vertx) {
+    return partitions.computeIfAbsent(vertx, key -> new ServicePartitions());
+  }
+
+  /**
+   * Claims a partition of <code>serviceClass</code>, that gets no keys until it {@link #join(Vertx, Class, int) joins}.
+   *
+   * @return the partition index.
+   */
+  static int claim(Vertx vertx, Class<?> serviceClass) {
+    ServicePartitions partitions = of(vertx);
+    synchronized (partitions) {
+      BitSet claimed = partitions.claimed.computeIfAbsent(serviceClass.getName(), name -> new BitSet());
+      int partition = claimed.nextClearBit(0);
+      claimed.set(partition);
+      return partition;
+    }
+  }
+
+  /**
+   * Puts a claimed partition on the ring, once its address has consumers.
+   */
+  static void join(Vertx vertx, Class<?> serviceClass, int partition) {
+    ServicePartitions partitions = of(vertx);
+    synchronized (partitions) {
+      BitSet joined = partitions.joined.computeIfAbsent(serviceClass.getName(), name -> new BitSet());
+      joined.set(partition);
+      partitions.rebuild(serviceClass.getName(), joined);
+    }
+  }
+
+  /**
+   * Takes a partition off the ring, while its address still has consumers.
+   */
+  static void leave(Vertx vertx, Class<?> serviceClass, int partition) {
+    ServicePartitions partitions = of(vertx);
+    synchronized (partitions) {
+      BitSet joined = partitions.joined.get(serviceClass.getName());
+      if (joined != null) {
+        joined.clear(partition);
+        partitions.rebuild(serviceClass.getName(), joined);
+      }
+    }
+  }
+
+  /**
+   * Gives back a partition that left the ring, once its address has no consumers.
+   */
+  static void release(Vertx vertx, Class<?> serviceClass, int partition) {
+    ServicePartitions partitions = of(vertx);
+    synchronized (partitions) {
+      BitSet claimed = partitions.claimed.get(serviceClass.getName());
+      if (claimed != null) {
+        claimed.clear(partition);
+      }
+    }
+  }
+
+  static String address(Class<?> serviceClass, int partition) {
+    return serviceClass.getName() + SEPARATOR + partition;
+  }
+
+  /**
+   * @return the address of the partition owning <code>key</code>, or the service address when the service
+   * has no partitions on <code>vertx</code>.
+   * @throws IllegalArgumentException when <code>key</code> is not of a type hashed by value.
+   */
+  static String addressOf(Vertx vertx, Class<?> serviceClass, Object key) {
+    String hashKey = hashKey(key);
+    NavigableMap<Integer, String> ring = of(vertx).rings.get(serviceClass.getName());
+    if (ring == null || ring.isEmpty()) {
+      return serviceClass.getName();
+    }
+    Map.Entry<Integer, String> owner = ring.ceilingEntry(hash(hashKey));
+    return (owner != null ? owner : ring.firstEntry()).getValue();
+  }
+
+  private static String hashKey(Object key) {
+    if (key instanceof PartitionKey) {
+      return ((PartitionKey) key).hashKey();
+    }
+    if (key instanceof Enum) {
+      return ((Enum<?>) key).name();
+    }
+    if (key instanceof CharSequence || key instanceof Number || key instanceof Character
+      || key instanceof Boolean || key instanceof UUID) {
+      return key.toString();
+    }
+    throw new IllegalArgumentException(String.format("Partition key of type %s is not hashed by value, use a String, "
+      + "a primitive wrapper, a UUID, an enum or a PartitionKey", key == null ? "null" : key.getClass().getName()));
+  }
+
+  private void rebuild(String serviceName, BitSet partitions) {
+    NavigableMap<Integer, String> ring = new TreeMap<>();
+    partitions.stream().forEach(partition -> {
+      String address = serviceName + SEPARATOR + partition;
+      for (int node = 0; node < VIRTUAL_NODES; node++) {
+        ring.put(hash(address + SEPARATOR + node), address);
+      }
+    });
+    this.rings.put(serviceName, ring);
+  }
+
+  /**
+   * <code>String.hashCode</code> followed by the murmur3 finalizer, to spread similar keys around the ring.
+   */
+  private static int hash(String value) {
+    int h = value.hashCode();
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+}
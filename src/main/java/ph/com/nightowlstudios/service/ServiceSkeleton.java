@@ -0,0 +1,38 @@
+package ph.com.nightowlstudios.service;
+
+/**
+ * Server side dispatch of a {@link Service}, generated at compile time by
+ * {@link ph.com.nightowlstudios.processor.ServiceProcessor} as <code>&lt;Service&gt;Skeleton</code>.
+ * <p>
+ * When present, actions are invoked through plain method calls instead of bound method handles.
+ *
+ * @param <S> the service
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public interface ServiceSkeleton<S extends Service> {
+
+  /**
+   * Suffix of the generated skeleton class name.
+   */
+  String SUFFIX = "Skeleton";
+
+  @FunctionalInterface
+  interface Invoker {
+    Object invoke(Object[] args) throws Throwable;
+  }
+
+  /**
+   * @param service   the service instance to bind to
+   * @param signature the action name and its erased parameter types, ie: <code>find(java.lang.String,int)</code>
+   * @return the invoker of the action, or <code>null</code> when the skeleton does not know it.
+   */
+  Invoker invoker(S service, String signature);
+
+  /**
+   * @return the name of the class generated for <code>serviceName</code>, nested classes are joined with <code>_</code>.
+   */
+  static String classNameOf(String serviceName, String suffix) {
+    return serviceName.replace('$', '_') + suffix;
+  }
+}
@@ -0,0 +1,243 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caller side of a streamed {@link Service} reply, see {@link ServiceBus#stream(String, Object...)}.
+ * <p>
+ * Items arrive in chunks on a per-stream event bus address. The service only sends as many items as it
+ * was granted credits for, and credits are handed back as items are consumed from this stream, so a paused
+ * stream eventually pauses the service action's own <code>ReadStream</code>.
+ * <p>
+ * A stream that is no longer read must be {@link #close() closed}, or have its handler unset, so the
+ * service stops its own <code>ReadStream</code> rather than waiting for credits until it times out.
+ *
+ * @param <T> the type of the streamed items
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class ServiceStream<T> implements ReadStream<T> {
+
+  private final Vertx vertx;
+  private final Context context;
+  private final String address;
+  private final int window;
+  private final Deque<T> buffer = new ArrayDeque<>();
+
+  private MessageConsumer<Object> consumer;
+  private Handler<T> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private boolean paused;
+  private boolean ended;
+  private boolean closed;
+  private Throwable failure;
+  private int consumed;
+  private long demand;
+  private boolean emitting;
+
+  ServiceStream(Vertx vertx, Context context, String address, int window) {
+    this.vertx = vertx;
+    this.context = context;
+    this.address = address;
+    this.window = window;
+  }
+
+  /**
+   * Starts listening for chunks, must be called on the stream's context before the request is sent.
+   */
+  Future<Void> register() {
+    Promise<Void> promise = Promise.promise();
+    this.consumer = this.vertx.eventBus().consumer(this.address, this::onMessage);
+    this.consumer.completionHandler(promise);
+    return promise.future();
+  }
+
+  /**
+   * Handles the reply to the stream request. An empty reply means the action is streaming, any other reply
+   * is a plain value that is emitted as is, or item by item when it is a collection.
+   */
+  @SuppressWarnings("unchecked")
+  void accept(Object reply) {
+    if (reply == null) {
+      return;
+    }
+    Object value;
+    if (reply instanceof LocalPayload) {
+      value = ((LocalPayload) reply).value();
+      value = value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+    } else {
+      JsonObject body = (JsonObject) reply;
+      value = body.isEmpty() ? null : ServiceUtils.unwrapRequestResponse(body).orElse(null);
+    }
+    if (value instanceof Collection) {
+      this.buffer.addAll((Collection<T>) value);
+    } else if (value != null) {
+      this.buffer.add((T) value);
+    }
+    this.ended = true;
+    close();
+    emit();
+  }
+
+  /**
+   * Stops listening for chunks and, when the stream has not ended yet, cancels it on the service side.
+   */
+  public void close() {
+    if (this.consumer != null && !this.closed) {
+      this.closed = true;
+      this.consumer.unregister();
+      if (!this.ended && this.failure == null) {
+        this.vertx.eventBus().send(this.address + ServiceUtils.CREDIT_SUFFIX, 0,
+          new DeliveryOptions().addHeader(ServiceUtils.CANCEL, Boolean.TRUE.toString()));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onMessage(Message<Object> message) {
+    if (message.headers().contains(ServiceUtils.END)) {
+      this.ended = true;
+      close();
+      checkEnd();
+      return;
+    }
+    Object body = message.body();
+    if (body instanceof LocalPayload) {
+      this.buffer.addAll((List<T>) ((LocalPayload) body).value());
+      emit();
+      return;
+    }
+    JsonObject chunk = (JsonObject) body;
+    JsonObject error = chunk.getJsonObject(ServiceUtils.FAILURE);
+    if (error != null) {
+      this.failure = new ReplyException(ReplyFailure.RECIPIENT_FAILURE, error.getInteger(ServiceUtils.CODE), error.getString(ServiceUtils.MESSAGE));
+      close();
+      checkEnd();
+      return;
+    }
+    JsonArray items = chunk.getJsonArray(ServiceUtils.ITEMS);
+    for (int i = 0; i < items.size(); i++) {
+      this.buffer.add((T) PayloadCodecs.decodeItem(items.getJsonObject(i)));
+    }
+    emit();
+  }
+
+  /**
+   * Hands buffered items to the handler as long as there is demand, then checks whether the stream is over.
+   */
+  private void emit() {
+    if (this.emitting) {
+      return;
+    }
+    this.emitting = true;
+    try {
+      while (this.demand > 0 && this.handler != null && !this.buffer.isEmpty()) {
+        if (this.demand != Long.MAX_VALUE) {
+          this.demand--;
+        }
+        consumed();
+        this.handler.handle(this.buffer.poll());
+      }
+    } finally {
+      this.emitting = false;
+    }
+    checkEnd();
+  }
+
+  /**
+   * Hands credits back to the service once half of the window has been consumed.
+   */
+  private void consumed() {
+    if (++this.consumed >= Math.max(1, this.window / 2)) {
+      if (!this.closed) {
+        this.vertx.eventBus().send(this.address + ServiceUtils.CREDIT_SUFFIX, this.consumed);
+      }
+      this.consumed = 0;
+    }
+  }
+
+  private void checkEnd() {
+    if (!this.buffer.isEmpty()) {
+      return;
+    }
+    if (this.failure != null && this.exceptionHandler != null) {
+      Handler<Throwable> handler = this.exceptionHandler;
+      Throwable cause = this.failure;
+      this.exceptionHandler = null;
+      this.endHandler = null;
+      handler.handle(cause);
+    } else if (this.failure == null && this.ended && this.endHandler != null) {
+      Handler<Void> handler = this.endHandler;
+      this.endHandler = null;
+      handler.handle(null);
+    }
+  }
+
+  @Override
+  public ServiceStream<T> exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    this.context.runOnContext(v -> checkEnd());
+    return this;
+  }
+
+  @Override
+  public ServiceStream<T> handler(Handler<T> handler) {
+    this.handler = handler;
+    if (handler == null) {
+      close();
+      return this;
+    }
+    if (!this.paused) {
+      resume();
+    }
+    return this;
+  }
+
+  @Override
+  public ServiceStream<T> pause() {
+    this.paused = true;
+    this.demand = 0;
+    return this;
+  }
+
+  @Override
+  public ServiceStream<T> resume() {
+    this.paused = false;
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public ServiceStream<T> fetch(long amount) {
+    if (amount > 0) {
+      this.demand = this.demand + amount < 0 ? Long.MAX_VALUE : this.demand + amount;
+      this.context.runOnContext(v -> emit());
+    }
+    return this;
+  }
+
+  @Override
+  public ServiceStream<T> endHandler(Handler<Void> handler) {
+    this.endHandler = handler;
+    this.context.runOnContext(v -> checkEnd());
+    return this;
+  }
+}
@@ -0,0 +1,89 @@
+package ph.com.nightowlstudios.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Registry of application types, ie: Entities and DTOs, that travel through the {@link BinaryEnvelope}
+ * as a small integer id instead of their class name.
+ * <p>
+ * Ids are assigned by sorting the registered class names, so every node that registers the same set of
+ * types agrees on the same ids regardless of registration order. The registry fingerprint is written on
+ * each envelope and a receiver whose registry differs refuses to decode application types.
+ * Types should be registered before any service traffic, ie: in
+ * {@link ph.com.nightowlstudios.core.ApplicationVerticle#setup()}.
+ * <p>
+ * Unregistered types still work, they are just sent along with their class name.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class ServiceTypes {
+
+  static final int FIRST_APPLICATION_ID = 64;
+
+  private static final Set<String> names = new TreeSet<>();
+  private static volatile Registry registry = Registry.of(Collections.emptyList());
+
+  private ServiceTypes() {
+  }
+
+  public static synchronized void register(Class<?>... types) {
+    List<Class<?>> classes = new ArrayList<>(registry.types);
+    for (Class<?> type : types) {
+      if (names.add(type.getName())) {
+        classes.add(type);
+      }
+    }
+    classes.sort(Comparator.comparing(Class::getName));
+    registry = Registry.of(classes);
+  }
+
+  /**
+   * @return the id of <code>type</code>, or <code>-1</code> when it is not registered.
+   */
+  static int idOf(Class<?> type) {
+    return registry.ids.getOrDefault(type, -1);
+  }
+
+  static Class<?> typeOf(int id) {
+    List<Class<?>> types = registry.types;
+    int index = id - FIRST_APPLICATION_ID;
+    if (index < 0 || index >= types.size()) {
+      throw new IllegalStateException(String.format("Unknown service type id %d", id));
+    }
+    return types.get(index);
+  }
+
+  static int fingerprint() {
+    return registry.fingerprint;
+  }
+
+  private static final class Registry {
+    private final List<Class<?>> types;
+    private final Map<Class<?>, Integer> ids;
+    private final int fingerprint;
+
+    private Registry(List<Class<?>> types, Map<Class<?>, Integer> ids, int fingerprint) {
+      this.types = types;
+      this.ids = ids;
+      this.fingerprint = fingerprint;
+    }
+
+    static Registry of(List<Class<?>> types) {
+      Map<Class<?>, Integer> ids = new HashMap<>();
+      CRC32 crc = new CRC32();
+      for (int i = 0; i < types.size(); i++) {
+        ids.put(types.get(i), FIRST_APPLICATION_ID + i);
+        crc.update(types.get(i).getName().getBytes(StandardCharsets.UTF_8));
+        // Without a separator, [ab, c] and [a, bc] would share a fingerprint.
+        crc.update(0);
+      }
+      return new Registry(
+        Collections.unmodifiableList(new ArrayList<>(types)),
+        Collections.unmodifiableMap(ids),
+        (int) crc.getValue());
+    }
+  }
+}
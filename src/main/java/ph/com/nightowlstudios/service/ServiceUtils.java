@@ -1,14 +1,17 @@
 package ph.com.nightowlstudios.service;
 
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import ph.com.nightowlstudios.dto.DTO;
 import ph.com.nightowlstudios.entity.Table;
 
-import java.time.Instant;
-import java.util.*;
+import java.util.Optional;
 
 /**
  * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
@@ -16,195 +19,148 @@ import java.util.*;
  **/
 public class ServiceUtils {
 
+  public static final String ACTION = "action";
+  public static final String BATCH = "batch";
+  public static final String ITEMS = "items";
+  public static final String STREAM = "stream";
+  public static final String CREDIT = "credit";
+  public static final String END = "end";
+  static final String CREDIT_SUFFIX = ".credit";
+  static final String CANCEL = "cancel";
+  public static final String FAILURE = "failure";
+  public static final String CODE = "code";
+  public static final String MESSAGE = "message";
   public static final String PAYLOAD = "payload";
   public static final String TYPE = "type";
   public static final String NIL_TYPE = "nil";
+  static final String NIL_PAYLOAD = StringUtils.EMPTY;
+
+  private static final ClassValue<Boolean> MAPPABLE = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return isEntity(type) || isDTO(type);
+    }
+  };
 
   private ServiceUtils() {
   }
 
+  /**
+   * @param context the current context, may be <code>null</code>
+   * @return the <code>serviceBus</code> section of the context configuration.
+   */
+  static JsonObject serviceBusConfig(Context context) {
+    return Optional.ofNullable(context)
+      .map(Context::config)
+      .map(config -> config.getJsonObject("serviceBus"))
+      .orElse(new JsonObject());
+  }
+
   static JsonObject buildRequestPayload(Object... payload) {
     JsonArray array = new JsonArray();
     JsonArray types = new JsonArray();
-    Arrays
-      .stream(payload)
-      .forEachOrdered(obj -> {
-        if (isEntity(obj.getClass()) || isDTO(obj.getClass())) {
-          array.add(JsonObject.mapFrom(obj));
-          types.add(obj.getClass().getName());
-        } else if (obj.getClass().getName().equals(UUID.class.getName())) {
-          array.add(((UUID) obj).toString()); // Add as string, receiver will just unwrap base on type.
-          types.add(UUID.class.getName());    // Type as UUID to match exact method parameter of receiver.
-        } else {
-          array.add(obj);
-          types.add(obj.getClass().getName());
-        }
-      });
+    for (Object obj : payload) {
+      array.add(obj == null ? NIL_PAYLOAD : PayloadCodecs.encode(obj));
+      // Runtime type, matched against the method parameters of the receiver and decoded as is.
+      types.add(obj == null ? NIL_TYPE : obj.getClass().getName());
+    }
     return new JsonObject()
       .put(PAYLOAD, array)
       .put(TYPE, types);
   }
 
-  @SuppressWarnings("unchecked")
-  static <R> Optional<R> unwrapRequestResponse(JsonObject body) throws Exception {
-    String typeName = body.getString(TYPE);
-    return !typeName.equalsIgnoreCase(NIL_TYPE)
-      ? Optional.ofNullable((R) Class.forName(typeName).cast(fromReplyPayload(body)))
-      : Optional.empty();
+  static <R> Optional<R> unwrapRequestResponse(JsonObject body) {
+    return unwrapRequestResponse(body, null);
   }
 
+  /**
+   * @param replyType the declared reply type when known, used as is when the reply is of exactly that type
+   */
   @SuppressWarnings("unchecked")
-  private static Object fromReplyPayload(JsonObject body) throws Exception {
+  static <R> Optional<R> unwrapRequestResponse(JsonObject body, Class<?> replyType) {
     String typeName = body.getString(TYPE);
+    if (typeName.equalsIgnoreCase(NIL_TYPE)) {
+      return Optional.empty();
+    }
+    Class<?> type = replyType != null && replyType.getName().equals(typeName) ? replyType : PayloadCodecs.classOf(typeName);
+    return Optional.ofNullable((R) PayloadCodecs.decode(type, body.getValue(PAYLOAD)));
+  }
 
-    Class<?> theClass = Class.forName(typeName);
-    if (isEntity(Class.forName(typeName)) || isDTO(Class.forName(typeName))) {
-      JsonObject payload = body.getJsonObject(PAYLOAD);
-      return payload.mapTo(theClass);
-    } else if (UUID.class.getName().equals(typeName)) {
-      return UUID.fromString(body.getString(PAYLOAD));
-    } else if (String.class.getName().equals(typeName)) {
-      return body.getString(PAYLOAD);
-    } else if (Integer.class.getName().equals(typeName)) {
-      return body.getInteger(PAYLOAD);
-    } else if (Long.class.getName().equals(typeName)) {
-      return body.getLong(PAYLOAD);
-    } else if (Instant.class.getName().equals(typeName)) {
-      return body.getInstant(PAYLOAD);
-    } else if (Double.class.getName().equals(typeName)) {
-      return body.getDouble(PAYLOAD);
-    } else if (Float.class.getName().equals(typeName)) {
-      return body.getFloat(PAYLOAD);
-    } else if (Number.class.getName().equals(typeName)) {
-      return body.getNumber(PAYLOAD);
-    } else if (Buffer.class.getName().equals(typeName)) {
-      return body.getBuffer(PAYLOAD);
-    } else if (Byte.class.getName().equals(typeName)) {
-      return body.getBinary(PAYLOAD);
-    } else if (typeName.toLowerCase().endsWith("list")) {
-      List list = new ArrayList<>();
-      JsonArray array = body.getJsonArray(PAYLOAD);
-      for (int i = 0; i < array.size(); i++) {
-        list.add(fromReplyPayload(array.getJsonObject(i)));
-      }
-      return list;
-    } else {
-      return body.getValue(PAYLOAD);
+  /**
+   * @return the canonical encoding of <code>arguments</code>, equal for equal arguments of the same types.
+   */
+  static String canonicalKey(Object... arguments) {
+    JsonArray key = new JsonArray();
+    for (Object argument : arguments) {
+      key.add(PayloadCodecs.encodeItem(argument));
     }
+    return key.encode();
   }
 
-  static Object[] extractRequestPayloadParameters(JsonObject body) throws ClassNotFoundException {
+  /**
+   * @param types the parameter types of the receiving action, arguments of a subtype are decoded as that subtype
+   */
+  static Object[] extractRequestPayloadParameters(JsonObject body, Class<?>[] types) {
     JsonArray payload = body.getJsonArray(PAYLOAD);
-    JsonArray types = body.getJsonArray(TYPE);
-
-    List<Object> args = new ArrayList<>();
-    for (int pos = 0; pos < payload.size(); pos++) {
-      String className = types.getString(pos);
-      Class<?> theClass = Class.forName(className);
-
-      if (isEntity(theClass) || isDTO(theClass)) {
-        args.add(payload.getJsonObject(pos).mapTo(theClass));
-      } else if (UUID.class.getName().equals(className)) {
-        args.add(UUID.fromString(payload.getString(pos)));
-      } else if (String.class.getName().equals(className)) {
-        args.add(payload.getString(pos));
-      } else if (Integer.class.getName().equals(className)) {
-        args.add(payload.getInteger(pos));
-      } else if (Long.class.getName().equals(className)) {
-        args.add(payload.getLong(pos));
-      } else if (Instant.class.getName().equals(className)) {
-        args.add(payload.getInstant(pos));
-      } else if (Double.class.getName().equals(className)) {
-        args.add(payload.getDouble(pos));
-      } else if (Float.class.getName().equals(className)) {
-        args.add(payload.getFloat(pos));
-      } else if (Number.class.getName().equals(className)) {
-        args.add(payload.getNumber(pos));
-      } else if (Buffer.class.getName().equals(className)) {
-        args.add(payload.getBuffer(pos));
-      } else if (Byte.class.getName().equals(className)) {
-        args.add(payload.getBinary(pos));
-      } else {
-        args.add(payload.getValue(pos));
+    JsonArray typeNames = body.getJsonArray(TYPE);
+    Object[] args = new Object[payload.size()];
+    for (int pos = 0; pos < args.length; pos++) {
+      String typeName = typeNames.getString(pos);
+      if (NIL_TYPE.equals(typeName)) {
+        continue;
       }
+      Class<?> type = types[pos].getName().equals(typeName) ? types[pos] : PayloadCodecs.classOf(typeName);
+      args[pos] = PayloadCodecs.decode(types[pos].isAssignableFrom(type) ? type : types[pos], payload.getValue(pos));
     }
-    return args.toArray(new Object[0]);
+    return args;
   }
 
   static <T> boolean isEntity(Class<T> clasz) {
-    return Arrays.stream(clasz.getDeclaredAnnotations())
-      .anyMatch(a -> a.annotationType().getName().equals(Table.class.getName()));
+    return clasz.isAnnotationPresent(Table.class);
   }
 
   static <T> boolean isDTO(Class<T> tClass) {
-    return tClass.getSuperclass().getName().equals(DTO.class.getName());
+    return tClass.getSuperclass() != null && tClass.getSuperclass().equals(DTO.class);
   }
 
-  static Class<?>[] extractRequestPayloadParameterTypes(JsonObject body) throws ClassNotFoundException {
-    JsonArray types = body.getJsonArray(TYPE);
-    List<Class<?>> classes = new ArrayList<>();
-    for (int i = 0; i < types.size(); i++) {
-      classes.add(autoboxExtractParameterType(types.getString(i)));
-    }
-    return classes.toArray(new Class[0]);
-  }
-
-  static Class<?> autoboxExtractParameterType(String typeName) throws ClassNotFoundException {
-    if (typeName.equals(Integer.class.getName())) {
-      return int.class;
-    } else if (typeName.equals(Long.class.getName())) {
-      return long.class;
-    } else if (typeName.equals(Float.class.getName())) {
-      return float.class;
-    } else if (typeName.equals(Double.class.getName())) {
-      return double.class;
-    } else if (typeName.equals(Boolean.class.getName())) {
-      return boolean.class;
-    } else if (typeName.equals(Character.class.getName())) {
-      return char.class;
-    } else if (typeName.equals(Byte.class.getName())) {
-      return byte.class;
-    } else if (typeName.equals(Short.class.getName())) {
-      return short.class;
-    } else {
-      return Class.forName(typeName);
-    }
+  /**
+   * @return whether <code>type</code> is an Entity or DTO, computed once per type.
+   */
+  static boolean isMappable(Class<?> type) {
+    return MAPPABLE.get(type);
   }
 
   static <T> JsonObject buildReplyPayload(T message) {
-
-    if (message != null && message.getClass().getName().equals(Optional.class.getName())) {
+    if (message instanceof Optional) {
       Optional<?> optional = (Optional<?>) message;
       return optional
         .map(ServiceUtils::buildReplyPayload)
         .orElse(new JsonObject()
-          .put(PAYLOAD, StringUtils.EMPTY)
+          .put(PAYLOAD, NIL_PAYLOAD)
           .put(TYPE, NIL_TYPE)
         );
     }
+    return PayloadCodecs.encodeItem(message);
+  }
 
-    return new JsonObject()
-      .put(PAYLOAD, toReplyPayload(message))
-      .put(TYPE, Optional.ofNullable(message)
-        .map(m -> m.getClass().getName())
-        .orElse(NIL_TYPE)
-    );
+  static JsonObject buildFailurePayload(int code, String message) {
+    return new JsonObject().put(FAILURE, new JsonObject()
+      .put(CODE, code)
+      .put(MESSAGE, message));
   }
 
-  private static Object toReplyPayload(Object object) {
-    if (object == null) {
-      return StringUtils.EMPTY;
-    } else if (isEntity(object.getClass()) || isDTO(object.getClass())) {
-      return JsonObject.mapFrom(object);
-    } else if (object.getClass().getName().equals(UUID.class.getName())) {
-      return ((UUID) object).toString();
-    } else if (object.getClass().getName().toLowerCase().endsWith("list")) {
-      List<?> list = (List<?>) object;
-      JsonArray array = new JsonArray();
-      list.forEach(item -> array.add(buildReplyPayload(item)));
-      return array;
-    } else {
-      return object;
+  /**
+   * @return the result of a single batch item reply, see {@link #buildFailurePayload(int, String)}
+   */
+  static <R> AsyncResult<Optional<R>> unwrapBatchItem(JsonObject item) {
+    JsonObject failure = item.getJsonObject(FAILURE);
+    if (failure != null) {
+      return Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, failure.getInteger(CODE), failure.getString(MESSAGE)));
+    }
+    try {
+      return Future.succeededFuture(unwrapRequestResponse(item));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
     }
   }
 }
@@ -0,0 +1,126 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import ph.com.nightowlstudios.core.Deadline;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical {@link ServiceBus} requests made while one is already in flight: later callers get the
+ * result of the first request instead of sending their own, completed on their own context. Nothing is kept
+ * once it completes. Requests are only coalesced with requests of the same <code>Vert.x</code> instance.
+ * <p>
+ * Enabled per action with {@link ServiceBus#coalesce(String...)}. Requests are only identical with the same
+ * arguments, {@link Priority} and {@link Deadline}, so a caller never waits past its own deadline nor
+ * in another lane. Coalesced callers share the first caller's result object.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class SingleFlight {
+
+  private static final Map<Vertx, SingleFlight> flights = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final Map<Key, Future<?>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  private SingleFlight() {
+  }
+
+  private static SingleFlight of(Vertx vertx) {
+    return flights.computeIfAbsent(vertx, key -> new SingleFlight());
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> Future<T> run(Vertx vertx, String serviceName, String action, Priority priority, Deadline deadline,
+                           Object[] arguments, Supplier<Future<T>> request) {
+    String name = serviceName + "." + action;
+    Key key = new Key(name + ServiceUtils.canonicalKey(arguments), priority, deadline);
+    SingleFlight flight = of(vertx);
+    Map<Key, Future<?>> inFlight = flight.inFlight;
+    Counters counter = flight.counters.computeIfAbsent(name, ignore -> new Counters());
+    Promise<T> promise = Promise.promise();
+    Future<?> leader = inFlight.putIfAbsent(key, promise.future());
+    if (leader != null) {
+      counter.coalesced.increment();
+      return follow((Future<T>) leader);
+    }
+    counter.leaders.increment();
+    Future<T> response;
+    try {
+      response = request.get();
+    } catch (RuntimeException e) {
+      response = Future.failedFuture(e);
+    }
+    response.onComplete(done -> {
+      inFlight.remove(key, promise.future());
+      promise.handle(done);
+    });
+    return promise.future();
+  }
+
+  /**
+   * @return the leader's result, completed on the follower's context rather than the leader's.
+   */
+  private static <T> Future<T> follow(Future<T> leader) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return leader;
+    }
+    Promise<T> promise = Promise.promise();
+    leader.onComplete(done -> context.runOnContext(v -> promise.handle(done)));
+    return promise.future();
+  }
+
+  /**
+   * @return requests sent and requests coalesced into them on <code>vertx</code>, per service name and action.
+   */
+  public static JsonObject stats(Vertx vertx) {
+    JsonObject stats = new JsonObject();
+    of(vertx).counters.forEach((name, counter) -> stats.put(name, new JsonObject()
+      .put("sent", counter.leaders.sum())
+      .put("coalesced", counter.coalesced.sum())));
+    return stats;
+  }
+
+  private static final class Key {
+    private final String request;
+    private final Priority priority;
+    private final Deadline deadline;
+
+    private Key(String request, Priority priority, Deadline deadline) {
+      this.request = request;
+      this.priority = priority;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return this.request.equals(key.request) && this.priority == key.priority && Objects.equals(this.deadline, key.deadline);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.request, this.priority, this.deadline);
+    }
+  }
+
+  private static final class Counters {
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+  }
+}
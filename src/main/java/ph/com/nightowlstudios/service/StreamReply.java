@@ -0,0 +1,173 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.sqlclient.RowStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service side of a streamed reply. Pipes the <code>ReadStream</code> returned by an action to the
+ * {@link ServiceStream} listening on the caller's stream address, one chunk at a time and never more
+ * items than the caller granted credits for.
+ * <p>
+ * Items emitted within the same event loop turn, ie: the rows of one fetch, travel in the same chunk.
+ * <p>
+ * The source is closed when the caller cancels the stream, or when it has not granted credits for
+ * <code>idleMillis</code> after using up the previous ones, so a gone caller does not hold on to it,
+ * ie: the connection of a {@link io.vertx.sqlclient.RowStream}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+final class StreamReply {
+
+  private final Vertx vertx;
+  private final Context context;
+  private final String address;
+  private final boolean local;
+  private final int chunkSize;
+  private final long idleMillis;
+  private final ReadStream<?> source;
+  private final ToIntFunction<Throwable> failureCode;
+
+  private List<Object> items = new ArrayList<>();
+  private MessageConsumer<Integer> credits;
+  private boolean flushScheduled;
+  private boolean done;
+  private long granted;
+  private long idleTimer = -1;
+
+  private StreamReply(Vertx vertx, String address, boolean local, int chunkSize, long idleMillis,
+                      ReadStream<?> source, ToIntFunction<Throwable> failureCode) {
+    this.vertx = vertx;
+    this.context = vertx.getOrCreateContext();
+    this.address = address;
+    this.local = local;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.idleMillis = idleMillis;
+    this.source = source;
+    this.failureCode = failureCode;
+  }
+
+  /**
+   * @param idleMillis how long the caller may withhold credits before the stream is closed, <code>0</code> to wait forever
+   */
+  static void start(Vertx vertx, String address, long credit, boolean local, int chunkSize, long idleMillis,
+                    ReadStream<?> source, ToIntFunction<Throwable> failureCode) {
+    StreamReply reply = new StreamReply(vertx, address, local, chunkSize, idleMillis, source, failureCode);
+    source.pause();
+    source.handler(reply::onItem);
+    source.endHandler(v -> reply.end());
+    source.exceptionHandler(reply::fail);
+    reply.credits = vertx.eventBus().consumer(address + ServiceUtils.CREDIT_SUFFIX, message -> {
+      if (message.headers().contains(ServiceUtils.CANCEL)) {
+        reply.cancel();
+      } else {
+        reply.grant(message.body());
+      }
+    });
+    reply.grant(credit);
+  }
+
+  private void grant(long credit) {
+    if (this.done) {
+      return;
+    }
+    if (this.idleTimer >= 0) {
+      this.vertx.cancelTimer(this.idleTimer);
+      this.idleTimer = -1;
+    }
+    this.granted += credit;
+    this.source.fetch(credit);
+  }
+
+  private void onItem(Object item) {
+    if (this.done) {
+      return;
+    }
+    if (--this.granted <= 0 && this.idleMillis > 0 && this.idleTimer < 0) {
+      this.idleTimer = this.vertx.setTimer(this.idleMillis, id -> {
+        this.idleTimer = -1;
+        cancel();
+      });
+    }
+    this.items.add(item);
+    if (this.items.size() >= this.chunkSize) {
+      flush();
+    } else if (!this.flushScheduled) {
+      this.flushScheduled = true;
+      this.context.runOnContext(v -> {
+        this.flushScheduled = false;
+        flush();
+      });
+    }
+  }
+
+  private void flush() {
+    if (this.items.isEmpty()) {
+      return;
+    }
+    List<Object> chunk = this.items;
+    this.items = new ArrayList<>();
+    if (this.local) {
+      this.vertx.eventBus().send(this.address, LocalPayload.reply(chunk),
+        new DeliveryOptions().setCodecName(LocalServiceCodec.NAME).setLocalOnly(true));
+      return;
+    }
+    JsonArray encoded = new JsonArray();
+    chunk.forEach(item -> encoded.add(PayloadCodecs.encodeItem(item)));
+    this.vertx.eventBus().send(this.address, new JsonObject().put(ServiceUtils.ITEMS, encoded));
+  }
+
+  private void end() {
+    if (this.done) {
+      return;
+    }
+    flush();
+    this.vertx.eventBus().send(this.address, new JsonObject(), new DeliveryOptions().addHeader(ServiceUtils.END, Boolean.TRUE.toString()));
+    release();
+  }
+
+  private void fail(Throwable failure) {
+    if (this.done) {
+      return;
+    }
+    flush();
+    this.vertx.eventBus().send(this.address, ServiceUtils.buildFailurePayload(this.failureCode.applyAsInt(failure), failure.getMessage()));
+    release();
+  }
+
+  /**
+   * Stops the source once the caller is gone, nothing more is sent.
+   */
+  private void cancel() {
+    if (this.done) {
+      return;
+    }
+    release();
+    this.items.clear();
+    this.source.handler(null);
+    if (this.source instanceof RowStream) {
+      ((RowStream<?>) this.source).close();
+    } else if (this.source instanceof ServiceStream) {
+      ((ServiceStream<?>) this.source).close();
+    }
+  }
+
+  private void release() {
+    this.done = true;
+    if (this.idleTimer >= 0) {
+      this.vertx.cancelTimer(this.idleTimer);
+      this.idleTimer = -1;
+    }
+    this.credits.unregister();
+  }
+}
@@ -0,0 +1,45 @@
+package ph.com.nightowlstudios.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the latest spans in memory, for tests and local troubleshooting.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class InMemorySpanExporter implements SpanExporter {
+
+  private final int capacity;
+  private final Deque<Span> spans;
+
+  /**
+   * @param capacity how many spans to keep, the oldest are dropped first
+   */
+  public InMemorySpanExporter(int capacity) {
+    this.capacity = capacity;
+    this.spans = new ArrayDeque<>(capacity);
+  }
+
+  @Override
+  public synchronized void export(Span span) {
+    if (this.spans.size() == this.capacity) {
+      this.spans.removeFirst();
+    }
+    this.spans.addLast(span);
+  }
+
+  /**
+   * @return the kept spans, oldest first.
+   */
+  public synchronized List<Span> spans() {
+    return new ArrayList<>(this.spans);
+  }
+
+  public synchronized void clear() {
+    this.spans.clear();
+  }
+}
@@ -0,0 +1,20 @@
+package ph.com.nightowlstudios.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs every span, one line each.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public class LogSpanExporter implements SpanExporter {
+
+  private static final Logger log = LoggerFactory.getLogger(LogSpanExporter.class);
+
+  @Override
+  public void export(Span span) {
+    log.info("{}", span);
+  }
+}
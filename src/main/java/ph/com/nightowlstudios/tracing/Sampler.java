@@ -0,0 +1,32 @@
+package ph.com.nightowlstudios.tracing;
+
+/**
+ * Head-based sampling: decides once, at the root of a trace, whether its spans are recorded.
+ * Every span of the trace, on every node, follows that decision.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@FunctionalInterface
+public interface Sampler {
+
+  Sampler ALWAYS = traceId -> true;
+  Sampler NEVER = traceId -> false;
+
+  boolean sample(String traceId);
+
+  /**
+   * @param ratio share of traces to record, from <code>0</code> to <code>1</code>
+   * @return a sampler deciding from the trace id alone, so the same trace gets the same decision anywhere.
+   */
+  static Sampler ratio(double ratio) {
+    if (ratio <= 0) {
+      return NEVER;
+    }
+    if (ratio >= 1) {
+      return ALWAYS;
+    }
+    long threshold = (long) (ratio * Long.MAX_VALUE);
+    return traceId -> (Long.parseUnsignedLong(traceId.substring(16), 16) >>> 1) < threshold;
+  }
+}
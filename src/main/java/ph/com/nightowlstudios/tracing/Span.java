@@ -0,0 +1,155 @@
+package ph.com.nightowlstudios.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed unit of work of a trace, identified like a W3C <code>traceparent</code>.
+ * <p>
+ * Spans that were not sampled still carry their ids so the sampling decision taken at the root of
+ * the trace holds downstream, but they keep no tags and are never exported.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class Span {
+
+  private final String traceId;
+  private final String spanId;
+  private final String parentId;
+  private final String name;
+  private final boolean sampled;
+  private final long startEpochMicros;
+  private final long startNanos;
+  private final Map<String, String> tags;
+  private volatile long durationNanos = -1;
+  private volatile String error;
+
+  Span(String traceId, String parentId, String name, boolean sampled) {
+    this.traceId = traceId;
+    this.spanId = hex(ThreadLocalRandom.current().nextLong(), 16);
+    this.parentId = parentId;
+    this.name = name;
+    this.sampled = sampled;
+    this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    this.startNanos = System.nanoTime();
+    this.tags = sampled ? Collections.synchronizedMap(new LinkedHashMap<>()) : Collections.emptyMap();
+  }
+
+  static Span root(String name, boolean sampled, String traceId) {
+    return new Span(traceId, null, name, sampled);
+  }
+
+  static String newTraceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return hex(random.nextLong(), 16) + hex(random.nextLong(), 16);
+  }
+
+  /**
+   * @param name what the child span times
+   * @return a new span of this trace, whose parent is this span.
+   */
+  public Span child(String name) {
+    return new Span(this.traceId, this.spanId, name, this.sampled);
+  }
+
+  public Span tag(String key, Object value) {
+    if (this.sampled) {
+      this.tags.put(key, String.valueOf(value));
+    }
+    return this;
+  }
+
+  /**
+   * Stops the span and hands it to the exporter when sampled. Ending more than once is a no-op.
+   */
+  public void end() {
+    if (this.durationNanos >= 0) {
+      return;
+    }
+    this.durationNanos = System.nanoTime() - this.startNanos;
+    if (this.sampled) {
+      Tracing.exporter().export(this);
+    }
+  }
+
+  public void end(Throwable failure) {
+    if (failure != null && this.sampled) {
+      this.error = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+    }
+    end();
+  }
+
+  /**
+   * @return this span as a W3C <code>traceparent</code> header value.
+   */
+  public String traceparent() {
+    return "00-" + this.traceId + "-" + this.spanId + (this.sampled ? "-01" : "-00");
+  }
+
+  public String traceId() {
+    return this.traceId;
+  }
+
+  public String spanId() {
+    return this.spanId;
+  }
+
+  /**
+   * @return the id of the parent span, <code>null</code> for the root of a trace.
+   */
+  public String parentId() {
+    return this.parentId;
+  }
+
+  public String name() {
+    return this.name;
+  }
+
+  public boolean sampled() {
+    return this.sampled;
+  }
+
+  public long startEpochMicros() {
+    return this.startEpochMicros;
+  }
+
+  /**
+   * @return how long the span took, <code>-1</code> while it has not ended.
+   */
+  public long durationNanos() {
+    return this.durationNanos;
+  }
+
+  /**
+   * @return the failure message when the span ended with a failure, or <code>null</code>.
+   */
+  public String error() {
+    return this.error;
+  }
+
+  public Map<String, String> tags() {
+    synchronized (this.tags) {
+      return new LinkedHashMap<>(this.tags);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s trace=%s span=%s parent=%s duration=%.3fms%s tags=%s",
+      this.name, this.traceId, this.spanId, this.parentId, this.durationNanos / 1_000_000d,
+      this.error == null ? "" : " error=" + this.error, tags());
+  }
+
+  private static String hex(long value, int digits) {
+    String hex = Long.toHexString(value);
+    StringBuilder padded = new StringBuilder(digits);
+    for (int i = hex.length(); i < digits; i++) {
+      padded.append('0');
+    }
+    return padded.append(hex).toString();
+  }
+}
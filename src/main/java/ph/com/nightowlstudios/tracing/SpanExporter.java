@@ -0,0 +1,17 @@
+package ph.com.nightowlstudios.tracing;
+
+/**
+ * Receives every sampled span once it ends. Called on the thread that ended the span, so
+ * implementations should hand the span off rather than do blocking work.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@FunctionalInterface
+public interface SpanExporter {
+
+  SpanExporter NONE = span -> {
+  };
+
+  void export(Span span);
+}
@@ -0,0 +1,211 @@
+package ph.com.nightowlstudios.tracing;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.function.Supplier;
+
+/**
+ * W3C trace context propagation from an HTTP route down to the SQL it runs.
+ * <ul>
+ *   <li>{@link #handler()} starts a span for each request of the API routes, continuing the
+ *   <code>traceparent</code> header of the request when present</li>
+ *   <li>{@link ph.com.nightowlstudios.service.ServiceBus} times each request in a child span and sends
+ *   its {@link #HEADER} along with the message</li>
+ *   <li>{@link ph.com.nightowlstudios.service.Service} continues it in a span around the action and makes
+ *   that span {@link #current()} while the action runs</li>
+ *   <li>{@link ph.com.nightowlstudios.persistence.PersistenceClient} times each query of the current span
+ *   in a child span tagged with its SQL</li>
+ * </ul>
+ * Disabled until {@link #configure(JsonObject)} or {@link #configure(Sampler, SpanExporter)} is called,
+ * see the <code>tracing</code> configuration of {@link ph.com.nightowlstudios.core.ApplicationVerticle}.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+public final class Tracing {
+
+  /**
+   * HTTP and event bus header holding the trace context.
+   */
+  public static final String HEADER = "traceparent";
+
+  private static final String CONTEXT_KEY = "edge.span";
+  private static final ThreadLocal<Span> current = new ThreadLocal<>();
+
+  private static volatile boolean enabled = false;
+  private static volatile Sampler sampler = Sampler.NEVER;
+  private static volatile SpanExporter exporter = SpanExporter.NONE;
+
+  private Tracing() {
+  }
+
+  /**
+   * Enables tracing from configuration:
+   * <pre>
+   * "tracing": {
+   *   "sampleRatio": 0.01,       // share of traces recorded, defaults to 1
+   *   "exporter": "log",         // log | memory, defaults to log
+   *   "memoryCapacity": 1000     // spans kept by the memory exporter
+   * }
+   * </pre>
+   */
+  public static void configure(JsonObject config) {
+    SpanExporter spanExporter = "memory".equalsIgnoreCase(config.getString("exporter", "log"))
+      ? new InMemorySpanExporter(config.getInteger("memoryCapacity", 1000))
+      : new LogSpanExporter();
+    configure(Sampler.ratio(config.getDouble("sampleRatio", 1d)), spanExporter);
+  }
+
+  public static void configure(Sampler spanSampler, SpanExporter spanExporter) {
+    sampler = spanSampler;
+    exporter = spanExporter;
+    enabled = true;
+  }
+
+  public static boolean enabled() {
+    return enabled;
+  }
+
+  public static SpanExporter exporter() {
+    return exporter;
+  }
+
+  /**
+   * Starts a span continuing <code>traceparent</code>, or the root of a new trace when it is missing or
+   * not a valid <code>version-traceid-parentid-flags</code> header: lowercase hex fields of 2, 32, 16 and 2
+   * digits, a version other than <code>ff</code>, and ids that are not all zeros.
+   *
+   * @return the span, <code>null</code> when tracing is disabled.
+   */
+  public static Span start(String name, String traceparent) {
+    if (!enabled) {
+      return null;
+    }
+    String[] parts = traceparent == null ? null : traceparent.trim().split("-");
+    if (parts == null || !isValid(parts)) {
+      return start(name);
+    }
+    return new Span(parts[1], parts[2], name, (Integer.parseInt(parts[3], 16) & 1) == 1);
+  }
+
+  private static boolean isValid(String[] parts) {
+    // Later versions may append fields, version 00 has exactly four.
+    if (parts.length < 4 || !isHex(parts[0], 2) || "ff".equals(parts[0]) || ("00".equals(parts[0]) && parts.length != 4)) {
+      return false;
+    }
+    return isHex(parts[1], 32) && !isZero(parts[1]) && isHex(parts[2], 16) && !isZero(parts[2]) && isHex(parts[3], 2);
+  }
+
+  private static boolean isHex(String field, int length) {
+    if (field.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char c = field.charAt(i);
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isZero(String field) {
+    for (int i = 0; i < field.length(); i++) {
+      if (field.charAt(i) != '0') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Starts a child of <code>parent</code>, or the root of a new trace when there is none.
+   *
+   * @return the span, <code>null</code> when tracing is disabled.
+   */
+  public static Span start(String name, Span parent) {
+    if (!enabled) {
+      return null;
+    }
+    return parent != null ? parent.child(name) : start(name);
+  }
+
+  /**
+   * Starts a child of the {@link #current()} span, or the root of a new trace when there is none.
+   *
+   * @return the span, <code>null</code> when tracing is disabled.
+   */
+  public static Span start(String name) {
+    if (!enabled) {
+      return null;
+    }
+    Span parent = current.get();
+    if (parent != null) {
+      return parent.child(name);
+    }
+    String traceId = Span.newTraceId();
+    return Span.root(name, sampler.sample(traceId), traceId);
+  }
+
+  /**
+   * @return the span of the work running on this thread, or <code>null</code>.
+   */
+  public static Span current() {
+    return current.get();
+  }
+
+  /**
+   * Runs <code>supplier</code> with <code>span</code> as the {@link #current()} span.
+   * Only the synchronous part of <code>supplier</code> sees it.
+   */
+  public static <T> T call(Span span, Supplier<T> supplier) {
+    if (span == null) {
+      return supplier.get();
+    }
+    Span previous = current.get();
+    current.set(span);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        current.remove();
+      } else {
+        current.set(previous);
+      }
+    }
+  }
+
+  /**
+   * @return the span of the request, or <code>null</code> when tracing is disabled.
+   */
+  public static Span of(RoutingContext ctx) {
+    return ctx.get(CONTEXT_KEY);
+  }
+
+  /**
+   * Route handler timing each request in a span, ended once the response is sent. The span is
+   * {@link #current()} while the handlers after this one run synchronously, use {@link #of(RoutingContext)}
+   * past that.
+   */
+  public static Handler<RoutingContext> handler() {
+    return ctx -> {
+      if (!enabled) {
+        ctx.next();
+        return;
+      }
+      Span span = start(ctx.request().method() + " " + ctx.request().path(), ctx.request().getHeader(HEADER));
+      span.tag("span.kind", "server").tag("http.method", ctx.request().method()).tag("http.target", ctx.request().uri());
+      ctx.put(CONTEXT_KEY, span);
+      ctx.addBodyEndHandler(v -> {
+        span.tag("http.status_code", ctx.response().getStatusCode());
+        span.end(ctx.failure());
+      });
+      call(span, () -> {
+        ctx.next();
+        return null;
+      });
+    };
+  }
+}
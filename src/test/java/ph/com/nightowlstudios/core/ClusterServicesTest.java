@@ -0,0 +1,137 @@
+package ph.com.nightowlstudios.core;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.shareddata.AsyncMap;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.cluster.LocalClusterManager;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceBus;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes of a {@link LocalClusterManager} cluster: services live on one, the other calls them.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ClusterServicesTest {
+
+  public static class GreetingService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public String greet(String name) {
+      return "hello " + name;
+    }
+  }
+
+  private Vertx serviceNode;
+  private Vertx httpNode;
+
+  private static Future<Vertx> node() {
+    return Vertx.clusteredVertx(new VertxOptions().setClusterManager(new LocalClusterManager()));
+  }
+
+  @BeforeEach
+  void cluster(VertxTestContext test) {
+    node().compose(services -> {
+      this.serviceNode = services;
+      return node();
+    }).onComplete(test.succeeding(http -> {
+      this.httpNode = http;
+      test.completeNow();
+    }));
+  }
+
+  @AfterEach
+  void leave(VertxTestContext test) {
+    CompositeFuture.join(close(this.serviceNode), close(this.httpNode))
+      .onComplete(test.succeedingThenComplete());
+  }
+
+  /**
+   * Closes <code>vertx</code> from outside its event loops, which are gone by the time the close completes.
+   */
+  private static Future<Void> close(Vertx vertx) {
+    if (vertx == null) {
+      return Future.succeededFuture();
+    }
+    Promise<Void> closed = Promise.promise();
+    new Thread(() -> vertx.close(closed)).start();
+    return closed.future();
+  }
+
+  @Test
+  void callsAServiceDeployedOnAnotherNode(VertxTestContext test) {
+    String service = GreetingService.class.getName();
+    this.serviceNode.deployVerticle(new GreetingService())
+      .compose(id -> ClusterServices.join(this.serviceNode, Collections.singletonList(service)))
+      .compose(none -> ClusterServices.join(this.httpNode, Collections.emptyList()))
+      .compose(none -> Edge.serviceBus(this.httpNode, GreetingService.class).<String>request("greet", "edge"))
+      .onComplete(test.succeeding(greeting -> test.verify(() -> {
+        assertFalse(Edge.isLocalService(this.httpNode, GreetingService.class));
+        assertEquals(Optional.of("hello edge"), greeting);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void dropsTheRegistrationsOfANodeThatLeft(VertxTestContext test) {
+    ServiceBus<GreetingService> bus = new ServiceBus<>(this.httpNode, GreetingService.class);
+    // chained off a context-less future, the service node's context dies with it
+    Future.succeededFuture()
+      .compose(none -> this.serviceNode.deployVerticle(new GreetingService()))
+      .compose(id -> bus.<String>request("greet", "edge"))
+      .compose(greeting -> {
+        Vertx left = this.serviceNode;
+        this.serviceNode = null;
+        return close(left);
+      })
+      .compose(none -> bus.<String>request("greet", "edge"))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertTrue(failure instanceof ReplyException);
+        assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) failure).failureType());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void startsAClusterFormedAfterTheLastNodeLeftEmpty(VertxTestContext test) {
+    Future.succeededFuture()
+      .compose(none -> this.serviceNode.sharedData().<String, String>getClusterWideMap("edge.test"))
+      .compose(map -> map.put("key", "value"))
+      .compose(none -> this.httpNode.sharedData().<String, String>getClusterWideMap("edge.test"))
+      .compose(map -> map.get("key"))
+      .compose(value -> {
+        assertEquals("value", value);
+        return CompositeFuture.join(this.serviceNode.close(), this.httpNode.close());
+      })
+      .compose(none -> node())
+      .compose(fresh -> {
+        this.serviceNode = fresh;
+        return fresh.sharedData().<String, String>getClusterWideMap("edge.test");
+      })
+      .compose(AsyncMap::size)
+      .onComplete(test.succeeding(size -> test.verify(() -> {
+        assertEquals(0, size);
+        test.completeNow();
+      })));
+  }
+}
@@ -0,0 +1,163 @@
+package ph.com.nightowlstudios.core;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.service.ContextFree;
+import ph.com.nightowlstudios.service.Execution;
+import ph.com.nightowlstudios.service.LocalServiceCodec;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceBus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ContextFree} services deployed on the caller's <code>Vert.x</code>, called without the event bus.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ContextFreeServicesTest {
+
+  @ContextFree
+  public static class LookupService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public String thread() {
+      return Thread.currentThread().getName();
+    }
+
+    public List<String> names(List<String> names) {
+      names.add("added");
+      return names;
+    }
+
+    public String echo(String value) {
+      return value;
+    }
+
+    public String missing() {
+      throw new NoSuchElementException("missing");
+    }
+  }
+
+  private final AtomicInteger messages = new AtomicInteger();
+
+  @BeforeEach
+  void register(Vertx vertx) {
+    LocalServiceCodec.register(vertx, LocalServiceCodec.CopyPolicy.NONE);
+    Edge.registerService(vertx, LookupService.class);
+    vertx.eventBus().addOutboundInterceptor(delivery -> {
+      if (delivery.message().address().startsWith(LookupService.class.getName())) {
+        this.messages.incrementAndGet();
+      }
+      delivery.next();
+    });
+  }
+
+  private static ServiceBus<LookupService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, LookupService.class);
+  }
+
+  /**
+   * @return the result of <code>request</code> made from a context of its own, with the thread it ran on.
+   */
+  private static Future<String[]> onContext(Vertx vertx, String action) {
+    Promise<String[]> promise = Promise.promise();
+    vertx.runOnContext(v -> {
+      String caller = Thread.currentThread().getName();
+      bus(vertx).<String>request(action).map(thread -> new String[]{caller, thread.get()}).onComplete(promise);
+    });
+    return promise.future();
+  }
+
+  @Test
+  void runsActionsOnTheCallersContext(Vertx vertx, VertxTestContext test) {
+    vertx.deployVerticle(new LookupService())
+      .compose(id -> onContext(vertx, "thread"))
+      .onComplete(test.succeeding(threads -> test.verify(() -> {
+        assertEquals(threads[0], threads[1]);
+        assertEquals(0, this.messages.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void handsArgumentsOverByReference(Vertx vertx, VertxTestContext test) {
+    List<String> names = new ArrayList<>(Arrays.asList("a"));
+    vertx.deployVerticle(new LookupService())
+      .compose(id -> bus(vertx).<List<String>>request("names", names))
+      .onComplete(test.succeeding(reply -> test.verify(() -> {
+        assertSame(names, reply.get());
+        assertEquals(Arrays.asList("a", "added"), names);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void failsWithTheCodeTheServiceWouldReply(Vertx vertx, VertxTestContext test) {
+    vertx.deployVerticle(new LookupService())
+      .compose(id -> bus(vertx).<String>request("missing"))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(ReplyFailure.RECIPIENT_FAILURE, ((ReplyException) failure).failureType());
+        assertEquals(404, ((ReplyException) failure).failureCode());
+        assertEquals(0, this.messages.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void sendsToWorkerServicesThroughTheEventBus(Vertx vertx, VertxTestContext test) {
+    vertx.deployVerticle(new LookupService(), new DeploymentOptions()
+        .setWorker(true)
+        .setConfig(new JsonObject().put(Execution.CONFIG_KEY, Execution.WORKER.name())))
+      .compose(id -> onContext(vertx, "thread"))
+      .onComplete(test.succeeding(threads -> test.verify(() -> {
+        assertNotEquals(threads[0], threads[1]);
+        assertEquals(1, this.messages.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void stopsCallingUndeployedServices(Vertx vertx, VertxTestContext test) {
+    vertx.deployVerticle(new LookupService())
+      .compose(vertx::undeploy)
+      .compose(none -> bus(vertx).<String>request("thread"))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(ReplyFailure.NO_HANDLERS, ((ReplyException) failure).failureType());
+        assertEquals(1, this.messages.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void routesPartitionedRequestsThroughTheEventBus(Vertx vertx, VertxTestContext test) {
+    vertx.deployVerticle(new LookupService())
+      .compose(id -> bus(vertx).partitionBy(0).<String>request("echo", "key"))
+      .onComplete(test.succeeding(reply -> test.verify(() -> {
+        assertEquals(Optional.of("key"), reply);
+        assertEquals(1, this.messages.get());
+        test.completeNow();
+      })));
+  }
+}
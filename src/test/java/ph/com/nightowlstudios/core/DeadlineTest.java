@@ -0,0 +1,144 @@
+package ph.com.nightowlstudios.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceBus;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class DeadlineTest {
+
+  public static class ClockService extends Service {
+    private Vertx vertx;
+
+    @Override
+    protected void setup(Vertx vertx) {
+      this.vertx = vertx;
+    }
+
+    public Long remaining() {
+      calls.incrementAndGet();
+      Deadline deadline = Deadline.current();
+      return deadline == null ? -1L : deadline.remaining();
+    }
+
+    public Future<String> slow(Integer millis) {
+      calls.incrementAndGet();
+      Promise<String> promise = Promise.promise();
+      this.vertx.setTimer(millis, id -> promise.complete("done"));
+      return promise.future();
+    }
+  }
+
+  static final AtomicInteger calls = new AtomicInteger();
+
+  @BeforeEach
+  void deploy(Vertx vertx, VertxTestContext test) {
+    calls.set(0);
+    vertx.deployVerticle(new ClockService(), test.succeedingThenComplete());
+  }
+
+  private static ServiceBus<ClockService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, ClockService.class);
+  }
+
+  @Test
+  void countsDownToExpiry() throws InterruptedException {
+    Deadline deadline = Deadline.in(30);
+    assertFalse(deadline.expired());
+    assertTrue(deadline.remaining() <= 30);
+
+    Thread.sleep(40);
+
+    assertTrue(deadline.expired());
+    assertEquals(0, deadline.remaining());
+  }
+
+  @Test
+  void isCurrentOnlyWhileCalled() {
+    Deadline outer = Deadline.in(1000);
+    Deadline inner = Deadline.in(10);
+
+    Deadline seen = Deadline.call(outer, () -> {
+      assertSame(inner, Deadline.call(inner, Deadline::current));
+      return Deadline.current();
+    });
+
+    assertSame(outer, seen);
+    assertNull(Deadline.current());
+  }
+
+  @Test
+  void failsExceededWorkWithTheTimeoutCode() {
+    ReplyException exceeded = Deadline.in(0).exceeded("work");
+
+    assertEquals(ReplyFailure.TIMEOUT, exceeded.failureType());
+    assertEquals(Deadline.EXCEEDED, exceeded.failureCode());
+  }
+
+  @Test
+  void runsTheActionUnderTheRemainingTime(Vertx vertx, VertxTestContext test) {
+    bus(vertx).withDeadline(Deadline.in(5_000)).<Long>request("remaining")
+      .onComplete(test.succeeding(remaining -> test.verify(() -> {
+        assertTrue(remaining.get() > 0 && remaining.get() <= 5_000, "remaining " + remaining.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void runsTheActionWithoutDeadlineByDefault(Vertx vertx, VertxTestContext test) {
+    bus(vertx).<Long>request("remaining").onComplete(test.succeeding(remaining -> test.verify(() -> {
+      assertEquals(Optional.of(-1L), remaining);
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void sendsNothingOnceExpired(Vertx vertx, VertxTestContext test) {
+    bus(vertx).withDeadline(Deadline.in(0)).<Long>request("remaining")
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(Deadline.EXCEEDED, ((ReplyException) failure).failureCode());
+        assertEquals(0, calls.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void stopsWaitingOnceItPassed(Vertx vertx, VertxTestContext test) {
+    long sent = System.currentTimeMillis();
+    bus(vertx).withDeadline(Deadline.in(50)).<String>request("slow", 1_000)
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) failure).failureType());
+        assertTrue(System.currentTimeMillis() - sent < 1_000);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void leavesTheBusItBindsAsIs(Vertx vertx, VertxTestContext test) {
+    ServiceBus<ClockService> bus = bus(vertx);
+    bus.withDeadline(Deadline.in(0));
+
+    bus.<Long>request("remaining").onComplete(test.succeeding(remaining -> test.verify(() -> {
+      assertEquals(Optional.of(-1L), remaining);
+      test.completeNow();
+    })));
+  }
+}
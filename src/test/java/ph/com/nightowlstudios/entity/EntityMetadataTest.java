@@ -0,0 +1,120 @@
+package ph.com.nightowlstudios.entity;
+
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class EntityMetadataTest {
+
+  @Table("users")
+  static class User implements Entity {
+    @Column("name")
+    private String name;
+    @Column("id")
+    private UUID id;
+    @Column("active")
+    private boolean active;
+    @Column("note")
+    private String note;
+
+    User() {
+    }
+
+    User(UUID id, String name, boolean active) {
+      this.id = id;
+      this.name = name;
+      this.active = active;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public UUID getId() {
+      return this.id;
+    }
+
+    public boolean isActive() {
+      return this.active;
+    }
+  }
+
+  static class Untabled implements Entity {
+    @Column("name")
+    private String name;
+  }
+
+  private final EntityMetadata<User> metadata = EntityMetadata.of(User.class);
+
+  @Test
+  void listsColumnsInDeclarationOrder() {
+    assertArrayEquals(new String[]{"name", "id", "active", "note"}, this.metadata.columns());
+    assertArrayEquals(new String[]{"name", "active", "note"}, this.metadata.columnsWithoutId());
+    assertEquals("users", this.metadata.tableName());
+  }
+
+  @Test
+  void generatesSingleRowStatements() {
+    assertEquals("INSERT INTO users (name,active,note) VALUES ($1, $2, $3) RETURNING (id)", this.metadata.insertSQL());
+    assertEquals("UPDATE users SET name=$1, id=$2, active=$3, note=$4 WHERE id=$5", this.metadata.updateSQL());
+    assertEquals("DELETE FROM users WHERE id=$1", this.metadata.deleteSQL());
+  }
+
+  @Test
+  void generatesMultiRowInserts() {
+    assertEquals(this.metadata.insertSQL(), this.metadata.insertSQL(1));
+    assertEquals("INSERT INTO users (name,active,note) VALUES ($1, $2, $3), ($4, $5, $6) RETURNING (id)",
+      this.metadata.insertSQL(2));
+    assertEquals("INSERT INTO users (name,active,note) VALUES ($1, $2, $3), ($4, $5, $6), ($7, $8, $9)",
+      this.metadata.bulkInsertSQL(3));
+  }
+
+  @Test
+  void keepsInsertsWithinTheParameterLimit() {
+    assertEquals(65535 / 3, this.metadata.maxInsertRows());
+    assertTrue(this.metadata.maxInsertRows() * this.metadata.columnsWithoutId().length <= 65535);
+  }
+
+  @Test
+  void bindsValuesInColumnOrder() {
+    UUID id = UUID.randomUUID();
+    User user = new User(id, "Yev", true);
+
+    assertEquals(id, this.metadata.id(user));
+    assertTuple(this.metadata.insertTuple(user), "Yev", true, null);
+    assertTuple(this.metadata.updateTuple(user), "Yev", id, true, null, id);
+    assertTuple(this.metadata.deleteTuple(user), id);
+    assertTuple(this.metadata.insertTuple(Arrays.asList(user, new User(null, "Joe", false))),
+      "Yev", true, null, "Joe", false, null);
+  }
+
+  @Test
+  void buildsStatementsOfGivenColumns() {
+    assertEquals("INSERT INTO users (a,b) VALUES ($1, $2) RETURNING (id)", EntityMetadata.insertSQL("users", "a", "b"));
+    assertEquals("UPDATE users SET a=$1, b=$2", EntityMetadata.updateSQL("users", "a", "b"));
+  }
+
+  @Test
+  void needsATableOnlyToWrite() {
+    EntityMetadata<Untabled> untabled = EntityMetadata.of(Untabled.class);
+
+    assertArrayEquals(new String[]{"name"}, untabled.columns());
+    assertThrows(IllegalStateException.class, untabled::insertSQL);
+    assertThrows(IllegalStateException.class, () -> untabled.bulkInsertSQL(2));
+  }
+
+  private static void assertTuple(Tuple tuple, Object... values) {
+    assertEquals(values.length, tuple.size());
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(values[i], tuple.getValue(i), "parameter " + (i + 1));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package ph.com.nightowlstudios.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class DefaultMetricsRegistryTest {
+
+  private static final String LABELS = "service=\"Users\",action=\"find\"";
+
+  private final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+  @Test
+  void reusesTheRecorderOfAnAction() {
+    assertSame(this.registry.action("Users", "find"), this.registry.action("Users", "find"));
+    assertNotSame(this.registry.action("Users", "find"), this.registry.action("Users", "save"));
+  }
+
+  @Test
+  void exposesLatenciesInSeconds() {
+    ActionMetrics metrics = this.registry.action("Users", "find");
+    metrics.handlerStarted();
+    metrics.handlerCompleted(TimeUnit.MILLISECONDS.toNanos(3), Metrics.OK);
+
+    String scrape = this.registry.scrape();
+
+    assertTrue(scrape.contains("# TYPE edge_action_handler_seconds summary\n"), scrape);
+    assertTrue(scrape.contains("edge_action_handler_seconds_count{" + LABELS + "} 1\n"), scrape);
+    assertTrue(scrape.contains("edge_action_handler_seconds_sum{" + LABELS + "} 0.003\n"), scrape);
+    assertFalse(scrape.contains("edge_action_request_seconds_count"), "no request was made");
+  }
+
+  @Test
+  void countsResultsByCodeAndSide() {
+    ActionMetrics metrics = this.registry.action("Users", "find");
+    metrics.requestStarted();
+    metrics.requestStarted();
+    metrics.requestCompleted(1_000, Metrics.OK);
+    metrics.handlerStarted();
+    metrics.handlerCompleted(1_000, 404);
+    metrics.handlerStarted();
+    metrics.handlerCompleted(1_000, 1234);
+
+    String scrape = this.registry.scrape();
+
+    assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"caller\",code=\"200\"} 1\n"), scrape);
+    assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"handler\",code=\"404\"} 1\n"), scrape);
+    assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"handler\",code=\"other\"} 1\n"), scrape);
+    assertTrue(scrape.contains("edge_action_in_flight{" + LABELS + ",side=\"caller\"} 1\n"), scrape);
+    assertTrue(scrape.contains("edge_action_in_flight{" + LABELS + ",side=\"handler\"} 0\n"), scrape);
+  }
+
+  @Test
+  void readsGaugesAtScrapeTime() {
+    double[] state = {0};
+    this.registry.gauge("edge_circuit_breaker_state", "State of the breaker", "breaker=\"Users\"", () -> state[0]);
+    state[0] = 2;
+
+    String scrape = this.registry.scrape();
+
+    assertTrue(scrape.contains("# HELP edge_circuit_breaker_state State of the breaker\n"), scrape);
+    assertTrue(scrape.contains("edge_circuit_breaker_state{breaker=\"Users\"} 2.0\n"), scrape);
+  }
+}
@@ -0,0 +1,67 @@
+package ph.com.nightowlstudios.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class HistogramTest {
+
+  @Test
+  void isEmptyUntilRecorded() {
+    Histogram histogram = new Histogram();
+
+    assertEquals(0, histogram.count());
+    assertEquals(0, histogram.valueAt(0.99));
+  }
+
+  @Test
+  void keepsSmallValuesExact() {
+    Histogram histogram = new Histogram();
+    for (long value = 0; value < 16; value++) {
+      histogram.record(value);
+    }
+
+    assertEquals(16, histogram.count());
+    assertEquals(120, histogram.sum());
+    assertEquals(7, histogram.valueAt(0.5));
+    assertEquals(15, histogram.valueAt(1));
+  }
+
+  @Test
+  void boundsTheErrorOfLargeValues() {
+    for (long value = 16; value < 1L << 40; value = value * 3 + 1) {
+      long bucket = Histogram.highestValueOf(Histogram.indexOf(value));
+      assertTrue(bucket >= value, value + " recorded as " + bucket);
+      assertTrue(bucket - value <= value / 16, value + " recorded as " + bucket);
+    }
+  }
+
+  @Test
+  void findsQuantilesByRank() {
+    Histogram histogram = new Histogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(10);
+    }
+    histogram.record(10_000);
+
+    assertEquals(10, histogram.valueAt(0.5));
+    assertEquals(10, histogram.valueAt(0.99));
+    long p999 = histogram.valueAt(0.999);
+    assertTrue(p999 >= 10_000 && p999 < 10_700, "p99.9 " + p999);
+  }
+
+  @Test
+  void clampsValuesOutOfRange() {
+    Histogram histogram = new Histogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    assertEquals(0, histogram.valueAt(0.5));
+    assertEquals(Histogram.highestValueOf(Histogram.indexOf(Long.MAX_VALUE)), histogram.valueAt(1));
+    assertEquals(2, histogram.count());
+  }
+}
@@ -0,0 +1,87 @@
+package ph.com.nightowlstudios.metrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceBus;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class MetricsTest {
+
+  public static class ProfileService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public Future<String> find(String id) {
+      return "missing".equals(id)
+        ? Future.failedFuture(new NoSuchElementException(id))
+        : Future.succeededFuture("profile " + id);
+    }
+  }
+
+  private static final String LABELS = "service=\"" + ProfileService.class.getName() + "\",action=\"find\"";
+
+  private final MetricsRegistry previous = Metrics.registry();
+  private final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+  @BeforeEach
+  void deploy(Vertx vertx, VertxTestContext test) {
+    Metrics.use(this.registry);
+    vertx.deployVerticle(new ProfileService(), test.succeedingThenComplete());
+  }
+
+  @AfterEach
+  void restore() {
+    Metrics.use(this.previous);
+  }
+
+  private static ServiceBus<ProfileService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, ProfileService.class);
+  }
+
+  @Test
+  void recordsBothSidesOfACall(Vertx vertx, VertxTestContext test) {
+    ServiceBus<ProfileService> bus = bus(vertx);
+    bus.<String>request("find", "a")
+      .compose(found -> bus.<String>request("find", "missing"))
+      .onComplete(test.failing(missing -> test.verify(() -> {
+        String scrape = this.registry.scrape();
+        assertTrue(scrape.contains("edge_action_handler_seconds_count{" + LABELS + "} 2\n"), scrape);
+        assertTrue(scrape.contains("edge_action_request_seconds_count{" + LABELS + "} 2\n"), scrape);
+        assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"handler\",code=\"200\"} 1\n"), scrape);
+        assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"handler\",code=\"404\"} 1\n"), scrape);
+        assertTrue(scrape.contains("edge_action_results_total{" + LABELS + ",side=\"caller\",code=\"404\"} 1\n"), scrape);
+        assertTrue(scrape.contains("edge_action_in_flight{" + LABELS + ",side=\"caller\"} 0\n"), scrape);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void labelsUnknownActionsAsOne(Vertx vertx, VertxTestContext test) {
+    ServiceBus<ProfileService> bus = bus(vertx);
+    bus.<String>request("first")
+      .recover(failure -> bus.request("second"))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        String scrape = this.registry.scrape();
+        assertTrue(scrape.contains("action=\"" + Metrics.UNKNOWN_ACTION + "\""), scrape);
+        assertFalse(scrape.contains("action=\"first\""), scrape);
+        assertFalse(scrape.contains("action=\"second\""), scrape);
+        test.completeNow();
+      })));
+  }
+}
@@ -0,0 +1,236 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import ph.com.nightowlstudios.entity.Column;
+import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.EntityMetadata;
+import ph.com.nightowlstudios.entity.Table;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class BulkInsertTest {
+
+  @Table("events")
+  static class Event implements Entity {
+    @Column("name")
+    private String name;
+
+    Event(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+  }
+
+  /**
+   * Connection whose statements stay in flight until completed by the test.
+   */
+  static final class Connection {
+    private final List<String> statements = new ArrayList<>();
+    private final List<Tuple> tuples = new ArrayList<>();
+    private final List<Promise<RowSet<?>>> inFlight = new ArrayList<>();
+    private final SqlConnection proxy = proxy(SqlConnection.class, (method, args) -> {
+      if (!method.equals("preparedQuery")) {
+        throw new UnsupportedOperationException(method);
+      }
+      this.statements.add((String) args[0]);
+      return proxy(PreparedQuery.class, (execute, tuple) -> {
+        this.tuples.add((Tuple) tuple[0]);
+        Promise<RowSet<?>> promise = Promise.promise();
+        this.inFlight.add(promise);
+        return promise.future();
+      });
+    });
+
+    void complete() {
+      Promise<RowSet<?>> promise = this.inFlight.remove(0);
+      int rows = this.tuples.get(this.tuples.size() - 1).size();
+      promise.complete(proxy(RowSet.class, (method, args) -> rows));
+    }
+
+    void fail() {
+      this.inFlight.remove(0).fail("insert failed");
+    }
+  }
+
+  /**
+   * Stream that emits what it is given, paused or not, as a source may still deliver a few items once paused.
+   */
+  static final class Source implements ReadStream<Event> {
+    private Handler<Event> handler;
+    private Handler<Void> endHandler;
+    private boolean paused = true;
+
+    void emit(String... names) {
+      Arrays.stream(names).forEach(name -> this.handler.handle(new Event(name)));
+    }
+
+    void end() {
+      this.endHandler.handle(null);
+    }
+
+    @Override
+    public ReadStream<Event> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Event> handler(Handler<Event> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Event> pause() {
+      this.paused = true;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Event> resume() {
+      this.paused = false;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Event> fetch(long amount) {
+      return resume();
+    }
+
+    @Override
+    public ReadStream<Event> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+  }
+
+  @FunctionalInterface
+  interface Answer {
+    Object answer(String method, Object[] args);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, Answer answer) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+      (proxy, method, args) -> answer.answer(method.getName(), args));
+  }
+
+  private final EntityMetadata<Event> metadata = EntityMetadata.of(Event.class);
+  private final Connection connection = new Connection();
+  private final List<Long> progress = new ArrayList<>();
+
+  @Test
+  void pausesTheSourceWhileTheNextChunkWaits() {
+    Source source = new Source();
+    Future<Long> written = new BulkInsert<>(this.connection.proxy, this.metadata, 2, this.progress::add).from(source);
+    assertFalse(source.paused);
+
+    source.emit("a", "b");
+    assertEquals(1, this.connection.inFlight.size());
+
+    source.emit("c", "d");
+    assertTrue(source.paused, "the next chunk is full while one is in flight");
+    source.emit("e");
+    assertEquals(1, this.connection.inFlight.size());
+
+    this.connection.complete();
+    assertFalse(source.paused);
+    assertEquals(1, this.connection.inFlight.size());
+    assertEquals(Tuple.of("c", "d").deepToString(), this.connection.tuples.get(1).deepToString());
+
+    source.end();
+    this.connection.complete();
+    assertEquals(Tuple.of("e").deepToString(), this.connection.tuples.get(2).deepToString());
+    this.connection.complete();
+
+    assertEquals(5L, written.result());
+    assertEquals(Arrays.asList(2L, 4L, 5L), this.progress);
+    assertEquals(Arrays.asList(this.metadata.bulkInsertSQL(2), this.metadata.bulkInsertSQL(2), this.metadata.bulkInsertSQL(1)),
+      this.connection.statements);
+  }
+
+  @Test
+  void writesAnIterableOneChunkAtATime() {
+    List<Event> events = Arrays.asList(new Event("a"), new Event("b"), new Event("c"));
+    Future<Long> written = new BulkInsert<>(this.connection.proxy, this.metadata, 2, null).from(events.iterator());
+
+    assertEquals(1, this.connection.inFlight.size());
+    this.connection.complete();
+    assertEquals(1, this.connection.inFlight.size());
+    this.connection.complete();
+
+    assertEquals(3L, written.result());
+    assertEquals(Arrays.asList(this.metadata.bulkInsertSQL(2), this.metadata.bulkInsertSQL(1)), this.connection.statements);
+  }
+
+  @Test
+  void completesEmptySources() {
+    Source source = new Source();
+    Future<Long> written = new BulkInsert<>(this.connection.proxy, this.metadata, 2, null).from(source);
+
+    source.end();
+
+    assertEquals(0L, written.result());
+    assertTrue(this.connection.statements.isEmpty());
+  }
+
+  @Test
+  void stopsOnTheFirstFailedChunk() {
+    Source source = new Source();
+    Future<Long> written = new BulkInsert<>(this.connection.proxy, this.metadata, 2, this.progress::add).from(source);
+
+    source.emit("a", "b");
+    this.connection.fail();
+
+    assertEquals("insert failed", written.cause().getMessage());
+    assertNull(source.handler);
+    assertTrue(this.progress.isEmpty());
+  }
+
+  @Test
+  void drainsTheSourceWhenNoConnectionIsAvailable() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      PersistenceClient client = new PersistenceClient(vertx, new JsonObject()
+        .put("name", "edge").put("port", 5432).put("host", "localhost")
+        .put("user", "edge").put("password", "edge").put("maxPoolSize", 1)) {
+        @Override
+        protected Pool pool() {
+          return proxy(Pool.class, (method, args) -> Future.failedFuture("connection refused"));
+        }
+      };
+      Source source = new Source();
+      Future<Long> written = client.bulkInsert(Event.class, source, this.progress::add);
+
+      assertEquals("connection refused", written.cause().getMessage());
+      assertFalse(source.paused, "the source is not left paused");
+      assertNull(source.handler);
+      assertNull(source.endHandler);
+      assertTrue(this.progress.isEmpty());
+    } finally {
+      vertx.close();
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.impl.RowDesc;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class QueryStreamTest {
+
+  /**
+   * Cursor that emits its rows only while there is demand, as the SQL client does.
+   */
+  static final class Cursor implements RowStream<Row> {
+    private final Deque<Row> rows = new ArrayDeque<>();
+    private Handler<Row> handler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    private long demand;
+    private boolean closed;
+    private boolean emitting;
+
+    Cursor(String... names) {
+      for (String name : names) {
+        Row row = new RowImpl(new RowDesc(Collections.singletonList("name")));
+        row.addValue(name);
+        this.rows.add(row);
+      }
+    }
+
+    private void emit() {
+      if (this.emitting) {
+        return;
+      }
+      this.emitting = true;
+      while (!this.closed && this.demand > 0 && !this.rows.isEmpty() && this.handler != null) {
+        this.demand--;
+        this.handler.handle(this.rows.poll());
+      }
+      this.emitting = false;
+      if (!this.closed && this.rows.isEmpty() && this.endHandler != null) {
+        this.closed = true;
+        this.endHandler.handle(null);
+      }
+    }
+
+    void fail(Throwable failure) {
+      this.exceptionHandler.handle(failure);
+    }
+
+    @Override
+    public RowStream<Row> exceptionHandler(Handler<Throwable> handler) {
+      this.exceptionHandler = handler;
+      return this;
+    }
+
+    @Override
+    public RowStream<Row> handler(Handler<Row> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public RowStream<Row> pause() {
+      this.demand = 0;
+      return this;
+    }
+
+    @Override
+    public RowStream<Row> resume() {
+      return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public RowStream<Row> fetch(long amount) {
+      this.demand = amount;
+      emit();
+      return this;
+    }
+
+    @Override
+    public RowStream<Row> endHandler(Handler<Void> handler) {
+      this.endHandler = handler;
+      return this;
+    }
+
+    @Override
+    public Future<Void> close() {
+      this.closed = true;
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void close(Handler<AsyncResult<Void>> completionHandler) {
+      close().onComplete(completionHandler);
+    }
+  }
+
+  static final class Tx implements Transaction {
+    private final List<String> outcomes = new ArrayList<>();
+    private Future<Void> commit = Future.succeededFuture();
+
+    @Override
+    public Future<Void> commit() {
+      this.outcomes.add("commit");
+      return this.commit;
+    }
+
+    @Override
+    public void commit(Handler<AsyncResult<Void>> handler) {
+      commit().onComplete(handler);
+    }
+
+    @Override
+    public Future<Void> rollback() {
+      this.outcomes.add("rollback");
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public void rollback(Handler<AsyncResult<Void>> handler) {
+      rollback().onComplete(handler);
+    }
+
+    @Override
+    public void completion(Handler<AsyncResult<Void>> handler) {
+    }
+
+    @Override
+    public Future<Void> completion() {
+      return Future.succeededFuture();
+    }
+  }
+
+  private final Tx transaction = new Tx();
+  private final List<String> connectionCalls = new ArrayList<>();
+  private final SqlConnection connection = (SqlConnection) Proxy.newProxyInstance(SqlConnection.class.getClassLoader(),
+    new Class<?>[]{SqlConnection.class}, (proxy, method, args) -> {
+      this.connectionCalls.add(method.getName());
+      return method.getReturnType() == Future.class ? Future.succeededFuture() : null;
+    });
+  private final List<String> items = new ArrayList<>();
+
+  private QueryStream<String> stream(Cursor cursor) {
+    QueryStream<String> stream = new QueryStream<>(this.connection, this.transaction, cursor, row -> row.getString("name"), null);
+    stream.handler(this.items::add);
+    return stream;
+  }
+
+  @Test
+  void passesDemandOnToTheCursor() {
+    Cursor cursor = new Cursor("a", "b", "c", "d");
+    QueryStream<String> stream = stream(cursor);
+    stream.handler(item -> {
+      this.items.add(item);
+      stream.pause();
+    });
+
+    stream.resume();
+    assertEquals(Collections.singletonList("a"), this.items);
+
+    stream.fetch(1);
+    assertEquals(2, this.items.size());
+    assertTrue(this.transaction.outcomes.isEmpty());
+
+    stream.handler(this.items::add);
+    stream.fetch(5);
+    assertEquals(4, this.items.size());
+  }
+
+  @Test
+  void commitsAndReleasesOnceRead() {
+    List<String> ended = new ArrayList<>();
+    QueryStream<String> stream = stream(new Cursor("a", "b"));
+    stream.endHandler(v -> ended.add(String.join(",", this.transaction.outcomes) + "+" + this.connectionCalls));
+
+    stream.resume();
+
+    assertEquals(2, this.items.size());
+    assertEquals(Collections.singletonList("commit+[close]"), ended);
+    stream.close();
+    assertEquals(Collections.singletonList("commit"), this.transaction.outcomes, "released once");
+  }
+
+  @Test
+  void rollsBackWhenClosedEarly() {
+    Cursor cursor = new Cursor("a", "b", "c");
+    QueryStream<String> stream = stream(cursor);
+
+    stream.fetch(1);
+    stream.close();
+    stream.resume();
+
+    assertEquals(Collections.singletonList("a"), this.items);
+    assertTrue(cursor.closed);
+    assertEquals(Collections.singletonList("rollback"), this.transaction.outcomes);
+    assertEquals(Collections.singletonList("close"), this.connectionCalls);
+  }
+
+  @Test
+  void rollsBackWhenARowFailsToMap() {
+    Cursor cursor = new Cursor("a");
+    List<Throwable> failures = new ArrayList<>();
+    QueryStream<String> stream = new QueryStream<>(this.connection, this.transaction, cursor, row -> {
+      throw new IllegalStateException("unmappable");
+    }, null);
+    stream.handler(this.items::add).exceptionHandler(failures::add);
+
+    stream.resume();
+
+    assertEquals("unmappable", failures.get(0).getMessage());
+    assertTrue(cursor.closed);
+    assertTrue(this.items.isEmpty());
+    assertEquals(Collections.singletonList("rollback"), this.transaction.outcomes);
+  }
+
+  @Test
+  void rollsBackWhenTheCursorFails() {
+    Cursor cursor = new Cursor("a", "b");
+    List<Throwable> failures = new ArrayList<>();
+    stream(cursor).exceptionHandler(failures::add);
+
+    cursor.fail(new IllegalStateException("connection reset"));
+
+    assertEquals(1, failures.size());
+    assertEquals(Collections.singletonList("rollback"), this.transaction.outcomes);
+    assertEquals(Collections.singletonList("close"), this.connectionCalls);
+  }
+
+  @Test
+  void failsWhenTheCommitFails() {
+    this.transaction.commit = Future.failedFuture("commit failed");
+    List<Throwable> failures = new ArrayList<>();
+    List<Void> ended = new ArrayList<>();
+    QueryStream<String> stream = stream(new Cursor("a"));
+    stream.exceptionHandler(failures::add).endHandler(ended::add);
+
+    stream.resume();
+
+    assertEquals("commit failed", failures.get(0).getMessage());
+    assertTrue(ended.isEmpty());
+    assertEquals(Collections.singletonList("close"), this.connectionCalls);
+  }
+}
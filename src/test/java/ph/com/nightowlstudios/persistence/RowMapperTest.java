@@ -0,0 +1,149 @@
+package ph.com.nightowlstudios.persistence;
+
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.impl.RowDesc;
+import org.junit.jupiter.api.Test;
+import ph.com.nightowlstudios.entity.Column;
+import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.Table;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class RowMapperTest {
+
+  @Table("users")
+  static class User implements Entity {
+    @Column("id")
+    private UUID id;
+    @Column("name")
+    private String name;
+    @Column("age")
+    private int age;
+    @Column("active")
+    private boolean active;
+    @Column("created_at")
+    private LocalDateTime createdAt;
+    @Column("nickname")
+    private String nickname = "unset";
+
+    private User() {
+    }
+
+    void setId(UUID id) {
+      this.id = id;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+      this.createdAt = createdAt;
+    }
+  }
+
+  static class NoDefaultConstructor implements Entity {
+    NoDefaultConstructor(String ignored) {
+    }
+  }
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 17, 8, 30);
+
+  private static Row row(List<String> columns, Object... values) {
+    Row row = new RowImpl(new RowDesc(columns));
+    for (Object value : values) {
+      row.addValue(value);
+    }
+    return row;
+  }
+
+  private static Row user(UUID id, String name, Integer age) {
+    return row(Arrays.asList("id", "name", "age", "active", "created_at", "nickname"), id, name, age, true, CREATED_AT, "nick");
+  }
+
+  @Test
+  void mapsColumnsThroughSetters() {
+    UUID id = UUID.randomUUID();
+
+    User user = RowMapper.of(User.class).map(user(id, "Yev", 30));
+
+    assertEquals(id, user.id);
+    assertEquals("Yev", user.name);
+    assertEquals(30, user.age);
+    assertTrue(user.active);
+    assertEquals(CREATED_AT, user.createdAt);
+    assertEquals("unset", user.nickname, "fields without a setter are left as they are");
+  }
+
+  @Test
+  void leavesMissingColumnsAndNullPrimitivesAlone() {
+    User user = RowMapper.of(User.class).map(row(Arrays.asList("age", "name"), null, "Yev"));
+
+    assertEquals(0, user.age);
+    assertEquals("Yev", user.name);
+    assertNull(user.id);
+  }
+
+  @Test
+  void skipsValuesThatDoNotFitTheirField() {
+    User user = RowMapper.of(User.class).map(row(Arrays.asList("name", "created_at"), "Yev", UUID.randomUUID()));
+
+    assertEquals("Yev", user.name);
+    assertNull(user.createdAt);
+  }
+
+  @Test
+  void collectsRowsOfOneResult() {
+    List<User> users = Arrays.asList(user(UUID.randomUUID(), "a", 1), user(UUID.randomUUID(), "b", 2))
+      .stream()
+      .collect(RowMapper.of(User.class).collector());
+
+    assertEquals(2, users.size());
+    assertEquals("b", users.get(1).name);
+    assertEquals(2, users.get(1).age);
+  }
+
+  @Test
+  void mapsRowsOfOneResultWithTheFirstRowPositions() {
+    Function<Row, User> mapper = RowMapper.of(User.class).forResult();
+
+    assertEquals("a", mapper.apply(user(null, "a", 1)).name);
+    assertEquals(2, mapper.apply(user(null, "b", 2)).age);
+  }
+
+  @Test
+  void resolvesPositionsByColumnName() {
+    int[] positions = RowMapper.of(User.class).positions(row(Arrays.asList("created_at", "id")));
+
+    assertArrayEquals(new int[]{1, -1, -1, -1, 0}, positions);
+  }
+
+  @Test
+  void cachesMappersPerEntity() {
+    assertSame(RowMapper.of(User.class), RowMapper.of(User.class));
+  }
+
+  @Test
+  void needsANoArgsConstructor() {
+    assertThrows(IllegalStateException.class, () -> RowMapper.of(NoDefaultConstructor.class));
+  }
+}
@@ -0,0 +1,111 @@
+package ph.com.nightowlstudios.persistence.query;
+
+import io.vertx.sqlclient.Tuple;
+import org.junit.jupiter.api.Test;
+import ph.com.nightowlstudios.entity.Column;
+import ph.com.nightowlstudios.entity.Entity;
+import ph.com.nightowlstudios.entity.Table;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class QueryBuilderTest {
+
+  @Table("accounts")
+  static class Account implements Entity {
+    @Column("id")
+    private UUID id;
+    @Column("email")
+    private String email;
+    @Column("verified")
+    private boolean verified;
+
+    Account(UUID id, String email, boolean verified) {
+      this.id = id;
+      this.email = email;
+      this.verified = verified;
+    }
+
+    public UUID getId() {
+      return this.id;
+    }
+
+    public String getEmail() {
+      return this.email;
+    }
+
+    public boolean isVerified() {
+      return this.verified;
+    }
+  }
+
+  private final UUID id = UUID.randomUUID();
+  private final Account account = new Account(this.id, "yev@edge.ph", true);
+
+  @Test
+  void insertsEntitiesWithoutTheirId() {
+    Query query = Query.insert(this.account);
+
+    assertEquals("INSERT INTO accounts (email,verified) VALUES ($1, $2) RETURNING (id)", query.sql());
+    assertTuple(query.tuple(), "yev@edge.ph", true);
+  }
+
+  @Test
+  void bindsTheIdOfUpdatesAsTheLastParameter() {
+    Query query = Query.update(this.account);
+
+    assertEquals("UPDATE accounts SET id=$1, email=$2, verified=$3 WHERE id=$4", query.sql());
+    assertTuple(query.tuple(), this.id, "yev@edge.ph", true, this.id);
+  }
+
+  @Test
+  void sharesTheStatementOfEveryEntity() {
+    Account other = new Account(UUID.randomUUID(), "other@edge.ph", false);
+
+    assertEquals(Query.update(this.account).sql(), Query.update(other).sql());
+    assertEquals(Query.insert(this.account).sql(), Query.insert(other).sql());
+    assertEquals(Query.delete(this.account).sql(), Query.delete(other).sql());
+  }
+
+  @Test
+  void deletesEntitiesById() {
+    Query query = Query.delete(this.account);
+
+    assertEquals("DELETE FROM accounts WHERE id=$1", query.sql());
+    assertTuple(query.tuple(), this.id);
+  }
+
+  @Test
+  void buildsInsertsOfGivenProperties() {
+    Query query = Query.insert(Account.class).property("email", "yev@edge.ph").property("verified", false).build();
+
+    assertEquals("INSERT INTO accounts (email,verified) VALUES ($1, $2) RETURNING (id)", query.sql());
+    assertTuple(query.tuple(), "yev@edge.ph", false);
+  }
+
+  @Test
+  void buildsUpdatesOfGivenColumns() {
+    Query query = Query.update(Account.class).set("email", "yev@edge.ph").where(this.id).build();
+
+    assertEquals("UPDATE accounts SET email=$1 WHERE id=$2", query.sql());
+    assertTuple(query.tuple(), "yev@edge.ph", this.id);
+  }
+
+  @Test
+  void selectsEntitiesById() {
+    Query query = Query.select(Account.class, this.id);
+
+    assertEquals("SELECT * FROM accounts WHERE id=$1", query.sql());
+    assertTuple(query.tuple(), this.id);
+  }
+
+  private static void assertTuple(Tuple tuple, Object... values) {
+    assertEquals(Tuple.tuple(Arrays.asList(values)).deepToString(), tuple.deepToString());
+  }
+}
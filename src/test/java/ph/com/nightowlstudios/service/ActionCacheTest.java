@@ -0,0 +1,137 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ActionCacheTest {
+
+  public static class ProfileService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    @Cached
+    public Integer load(String user) {
+      return loads.incrementAndGet();
+    }
+  }
+
+  static final AtomicInteger loads = new AtomicInteger();
+
+  @Cached(ttl = 50, unit = TimeUnit.MILLISECONDS)
+  void shortLived() {
+  }
+
+  @Cached(maxEntries = 2)
+  void bounded() {
+  }
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private static Cached cached(String method) throws NoSuchMethodException {
+    return ActionCacheTest.class.getDeclaredMethod(method).getAnnotation(Cached.class);
+  }
+
+  private Object get(ActionCache cache, Object... arguments) {
+    return cache.get(arguments, () -> Future.succeededFuture(this.calls.incrementAndGet())).result();
+  }
+
+  private static JsonObject stats(Vertx vertx, String action) {
+    return ActionCache.stats(vertx).getJsonObject(ActionCacheTest.class.getName() + "." + action);
+  }
+
+  @Test
+  void servesResultsUntilTheirTtlIsOver(Vertx vertx) throws Exception {
+    ActionCache cache = ActionCache.of(vertx, ActionCacheTest.class, "shortLived", cached("shortLived"));
+
+    assertEquals(1, get(cache, "a"));
+    assertEquals(1, get(cache, "a"));
+    Thread.sleep(80);
+    assertEquals(2, get(cache, "a"));
+
+    JsonObject stats = stats(vertx, "shortLived");
+    assertEquals(1L, stats.getLong("hits"));
+    assertEquals(2L, stats.getLong("misses"));
+    assertEquals(1, stats.getInteger("size"));
+  }
+
+  @Test
+  void evictsTheLeastRecentlyUsedResult(Vertx vertx) throws Exception {
+    ActionCache cache = ActionCache.of(vertx, ActionCacheTest.class, "bounded", cached("bounded"));
+
+    assertEquals(1, get(cache, "a"));
+    assertEquals(2, get(cache, "b"));
+    assertEquals(1, get(cache, "a"));
+    assertEquals(3, get(cache, "c"));
+
+    assertEquals(1, get(cache, "a"));
+    assertEquals(4, get(cache, "b"), "b was the least recently used");
+
+    JsonObject stats = stats(vertx, "bounded");
+    assertEquals(2L, stats.getLong("evictions"));
+    assertEquals(2, stats.getInteger("size"));
+    assertEquals(2L, stats.getLong("hits"));
+    assertEquals(4L, stats.getLong("misses"));
+  }
+
+  @Test
+  void keepsFailuresOutOfTheCache(Vertx vertx) throws Exception {
+    ActionCache cache = ActionCache.of(vertx, ActionCacheTest.class, "bounded", cached("bounded"));
+
+    assertTrue(cache.get(new Object[]{"a"}, () -> Future.failedFuture("unavailable")).failed());
+    assertEquals(1, get(cache, "a"));
+    assertEquals(1, get(cache, "a"));
+  }
+
+  @Test
+  void dropsInvalidatedResults(Vertx vertx) throws Exception {
+    ActionCache cache = ActionCache.of(vertx, ActionCacheTest.class, "bounded", cached("bounded"));
+    JsonObject action = new JsonObject()
+      .put(ActionCache.SERVICE, ActionCacheTest.class.getName())
+      .put(ServiceUtils.ACTION, "bounded");
+
+    assertEquals(1, get(cache, "a"));
+    assertEquals(2, get(cache, "b"));
+    ActionCache.invalidate(vertx, action.copy().put(ActionCache.KEY, ServiceUtils.canonicalKey("a")));
+    assertEquals(3, get(cache, "a"));
+    assertEquals(2, get(cache, "b"));
+
+    ActionCache.invalidate(vertx, action);
+    assertEquals(0, stats(vertx, "bounded").getInteger("size"));
+  }
+
+  @Test
+  void invalidatesTheResultsOfADeployedService(Vertx vertx, VertxTestContext test) {
+    loads.set(0);
+    ServiceBus<ProfileService> bus = new ServiceBus<>(vertx, ProfileService.class);
+
+    vertx.deployVerticle(new ProfileService())
+      .compose(deployed -> bus.<Integer>request("load", "yev"))
+      .compose(first -> bus.<Integer>request("load", "yev"))
+      .onComplete(test.succeeding(cached -> test.verify(() -> assertEquals(Optional.of(1), cached))))
+      .compose(cached -> {
+        ActionCache.invalidate(vertx, ProfileService.class, "load", "yev");
+        return bus.<Integer>request("load", "yev");
+      })
+      .onComplete(test.succeeding(reloaded -> test.verify(() -> {
+        assertEquals(Optional.of(2), reloaded);
+        test.completeNow();
+      })));
+  }
+}
@@ -0,0 +1,144 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class AdmissionControlTest {
+
+  private static final String NAME = AdmissionControlTest.class.getName();
+
+  /**
+   * Submits a task that stays running until its promise is completed.
+   */
+  private static Future<Object> hold(AdmissionControl control, Context context, String action, Priority priority,
+                                     List<Promise<Object>> running) {
+    return control.submit(context, action, priority, () -> {
+      Promise<Object> promise = Promise.promise();
+      running.add(promise);
+      return promise.future();
+    });
+  }
+
+  @Test
+  void runsUnlimitedServicesRightAway(Vertx vertx) {
+    AdmissionControl control = AdmissionControl.of(vertx, AdmissionControlTest.class, new JsonObject());
+
+    Future<Object> result = control.submit(vertx.getOrCreateContext(), "any", Priority.NORMAL, () -> Future.succeededFuture("done"));
+
+    assertEquals("done", result.result());
+    assertTrue(AdmissionControl.stats(vertx).isEmpty());
+  }
+
+  @Test
+  void queuesThenRejectsOverTheLimit(Vertx vertx, VertxTestContext test) {
+    AdmissionControl control = AdmissionControl.of(vertx, AdmissionControlTest.class,
+      new JsonObject().put("maxConcurrent", 2).put("maxQueued", 1));
+    Context context = vertx.getOrCreateContext();
+    List<Promise<Object>> running = Collections.synchronizedList(new ArrayList<>());
+
+    hold(control, context, "a", Priority.NORMAL, running);
+    hold(control, context, "a", Priority.NORMAL, running);
+    Future<Object> queued = hold(control, context, "a", Priority.NORMAL, running);
+    Future<Object> rejected = hold(control, context, "a", Priority.NORMAL, running);
+
+    assertEquals(2, running.size());
+    assertFalse(queued.isComplete());
+    assertEquals(Service.OVERLOADED, ((ReplyException) rejected.cause()).failureCode());
+    JsonObject stats = AdmissionControl.stats(vertx).getJsonObject(NAME);
+    assertEquals(2, stats.getInteger("running"));
+    assertEquals(1, stats.getInteger("queued"));
+    assertEquals(1L, stats.getLong("rejected"));
+
+    running.get(0).complete("first");
+    queued.onComplete(test.succeeding(result -> test.verify(() -> {
+      assertEquals("third", result);
+      assertTrue(context == Vertx.currentContext(), "queued tasks resume on their context");
+      assertEquals(1, AdmissionControl.stats(vertx).getJsonObject(NAME).getInteger("running"));
+      test.completeNow();
+    })));
+    vertx.setTimer(50, id -> test.verify(() -> {
+      assertEquals(3, running.size());
+      running.get(2).complete("third");
+    }));
+  }
+
+  @Test
+  void limitsActionsOnTheirOwn(Vertx vertx) {
+    JsonObject config = new JsonObject()
+      .put("actions", new JsonObject().put("search", new JsonObject().put("maxConcurrent", 1).put("maxQueued", 0)));
+    AdmissionControl control = AdmissionControl.of(vertx, AdmissionControlTest.class, config);
+    Context context = vertx.getOrCreateContext();
+    List<Promise<Object>> running = new ArrayList<>();
+
+    hold(control, context, "search", Priority.NORMAL, running);
+    Future<Object> rejected = hold(control, context, "search", Priority.NORMAL, running);
+    Future<Object> other = hold(control, context, "find", Priority.NORMAL, running);
+
+    assertTrue(rejected.failed());
+    assertFalse(other.failed());
+    assertEquals(2, running.size());
+    assertTrue(AdmissionControl.stats(vertx).containsKey(NAME + ".search"));
+  }
+
+  @Test
+  void releasesThePermitOfAThrowingTask(Vertx vertx) {
+    AdmissionControl control = AdmissionControl.of(vertx, AdmissionControlTest.class,
+      new JsonObject().put("maxConcurrent", 1).put("maxQueued", 0));
+    Context context = vertx.getOrCreateContext();
+
+    Future<Object> thrown = control.submit(context, "a", Priority.NORMAL, () -> {
+      throw new IllegalStateException("boom");
+    });
+
+    assertTrue(thrown.cause() instanceof IllegalStateException);
+    assertEquals("ok", control.submit(context, "a", Priority.NORMAL, () -> Future.succeededFuture("ok")).result());
+  }
+
+  @Test
+  void admitsQueuedLanesByWeight(Vertx vertx, VertxTestContext test) {
+    AdmissionControl control = AdmissionControl.of(vertx, AdmissionControlTest.class,
+      new JsonObject().put("maxConcurrent", 1).put("maxQueued", 10));
+    Context context = vertx.getOrCreateContext();
+    List<Promise<Object>> running = Collections.synchronizedList(new ArrayList<>());
+    List<Priority> admitted = Collections.synchronizedList(new ArrayList<>());
+
+    hold(control, context, "a", Priority.NORMAL, running);
+    for (int i = 0; i < 5; i++) {
+      for (Priority priority : new Priority[]{Priority.BULK, Priority.INTERACTIVE}) {
+        control.submit(context, "a", priority, () -> {
+          admitted.add(priority);
+          return Future.succeededFuture();
+        });
+      }
+    }
+    assertEquals(5, AdmissionControl.stats(vertx).getJsonObject(NAME).getJsonObject("lanes").getJsonObject("bulk").getInteger("queued"));
+
+    running.get(0).complete();
+    vertx.setTimer(100, id -> test.verify(() -> {
+      assertEquals(10, admitted.size());
+      assertEquals(Priority.INTERACTIVE, admitted.get(0));
+      assertTrue(admitted.subList(0, 5).stream().filter(Priority.INTERACTIVE::equals).count() >= 4, admitted.toString());
+      assertEquals(0, AdmissionControl.stats(vertx).getJsonObject(NAME).getInteger("running"));
+      test.completeNow();
+    }));
+  }
+}
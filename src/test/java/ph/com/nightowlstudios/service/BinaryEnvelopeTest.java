@@ -0,0 +1,142 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+import ph.com.nightowlstudios.dto.DTO;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class BinaryEnvelopeTest {
+
+  public static class Point extends DTO {
+    public int x;
+    public int y;
+
+    public Point() {
+    }
+
+    Point(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Point && ((Point) o).x == this.x && ((Point) o).y == this.y;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.x, this.y);
+    }
+  }
+
+  public static class Registered extends DTO {
+    public String name;
+
+    public Registered() {
+    }
+
+    Registered(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Registered && Objects.equals(((Registered) o).name, this.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(this.name);
+    }
+  }
+
+  public static class Late extends DTO {
+  }
+
+  @Test
+  void roundTripsRequestArguments() {
+    UUID id = UUID.randomUUID();
+    Instant now = Instant.now();
+    Object[] args = {
+      "edge", 1, 2L, 3.5d, 4.5f, true, (short) 6, (byte) 7, 'c', id, now, null,
+      new JsonObject().put("k", "v"), new JsonArray().add(1), Buffer.buffer("buf")
+    };
+
+    Object[] decoded = BinaryEnvelope.decodeRequest(BinaryEnvelope.encodeRequest(0, args));
+
+    assertArrayEquals(args, decoded);
+  }
+
+  @Test
+  void roundTripsBytesAndLists() {
+    List<Object> mixed = Arrays.asList("a", 1, null, new Point(1, 2));
+    List<Integer> uniform = Arrays.asList(1, 2, 3);
+
+    Object[] decoded = BinaryEnvelope.decodeRequest(
+      BinaryEnvelope.encodeRequest(0, new byte[]{1, 2}, mixed, uniform, Collections.emptyList()));
+
+    assertArrayEquals(new byte[]{1, 2}, (byte[]) decoded[0]);
+    assertEquals(mixed, decoded[1]);
+    assertEquals(uniform, decoded[2]);
+    assertEquals(Collections.emptyList(), decoded[3]);
+  }
+
+  @Test
+  void roundTripsRepliesAndUnwrapsOptionals() {
+    assertEquals(new Point(3, 4), BinaryEnvelope.decodeReply(BinaryEnvelope.encodeReply(0, new Point(3, 4))));
+    assertEquals("x", BinaryEnvelope.decodeReply(BinaryEnvelope.encodeReply(0, Optional.of("x"))));
+    assertNull(BinaryEnvelope.decodeReply(BinaryEnvelope.encodeReply(0, Optional.empty())));
+  }
+
+  @Test
+  void compressesBodiesAboveTheThreshold() {
+    char[] text = new char[4096];
+    Arrays.fill(text, 'e');
+    String large = new String(text);
+
+    Buffer plain = BinaryEnvelope.encodeReply(0, large);
+    Buffer compressed = BinaryEnvelope.encodeReply(1024, large);
+
+    assertEquals(0, plain.getByte(2));
+    assertEquals(1, compressed.getByte(2));
+    assertTrue(compressed.length() < plain.length());
+    assertEquals(large, BinaryEnvelope.decodeReply(compressed));
+    assertEquals(0, BinaryEnvelope.encodeReply(1024, "small").getByte(2));
+  }
+
+  @Test
+  void sendsRegisteredTypesByIdAndChecksTheFingerprint() {
+    ServiceTypes.register(Registered.class);
+    Buffer byId = BinaryEnvelope.encodeReply(0, new Registered("edge"));
+    Buffer byName = BinaryEnvelope.encodeReply(0, new Point(5, 6));
+
+    assertEquals(ServiceTypes.idOf(Registered.class), byId.getShort(7));
+    assertEquals(ServiceTypes.fingerprint(), byId.getInt(3));
+    assertEquals(new Registered("edge"), BinaryEnvelope.decodeReply(byId));
+
+    ServiceTypes.register(Late.class);
+
+    assertThrows(IllegalStateException.class, () -> BinaryEnvelope.decodeReply(byId));
+    assertEquals(new Point(5, 6), BinaryEnvelope.decodeReply(byName), "named types do not depend on the registry");
+  }
+
+  @Test
+  void rejectsForeignBuffers() {
+    Buffer envelope = BinaryEnvelope.encodeReply(0, "x");
+    envelope.setByte(1, (byte) (BinaryEnvelope.VERSION + 1));
+
+    assertThrows(IllegalArgumentException.class, () -> BinaryEnvelope.decodeReply(Buffer.buffer("{\"payload\":1}")));
+    assertThrows(IllegalArgumentException.class, () -> BinaryEnvelope.decodeReply(envelope));
+  }
+}
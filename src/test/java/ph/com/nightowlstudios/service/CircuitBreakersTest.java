@@ -0,0 +1,173 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Breakers are shared by service name, so each test guards a service class of its own.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class CircuitBreakersTest {
+
+  private static final Future<Object> FAILED = Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, 500, "boom"));
+  private static final Future<Object> REJECTED = Future.failedFuture(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, 400, "bad"));
+  private static final Future<Object> OK = Future.succeededFuture("ok");
+
+  static class Opening {
+  }
+
+  static class ClientErrors {
+  }
+
+  static class Probing {
+  }
+
+  static class Reopening {
+  }
+
+  static class Slow {
+  }
+
+  static class PerAction {
+  }
+
+  private static JsonObject config(Class<?> serviceClass, JsonObject breaker) {
+    return new JsonObject().put(serviceClass.getSimpleName(), breaker);
+  }
+
+  private static JsonObject breaker() {
+    return new JsonObject().put("windowSize", 4).put("minimumCalls", 4).put("failureRateThreshold", 50).put("openMillis", 200);
+  }
+
+  private static String state(Class<?> serviceClass) {
+    return CircuitBreakers.stats().getJsonObject(serviceClass.getName()).getString("state");
+  }
+
+  /**
+   * Runs <code>calls</code> through the breaker one after the other.
+   */
+  @SafeVarargs
+  private static Future<Object> run(CircuitBreakers.Breaker breaker, Future<Object>... calls) {
+    Future<Object> chain = Future.succeededFuture();
+    for (Future<Object> call : calls) {
+      chain = chain.transform(ignore -> breaker.execute(() -> call).transform(done -> Future.succeededFuture(done.result())));
+    }
+    return chain;
+  }
+
+  @Test
+  void hasNoBreakerWithoutConfiguration(Vertx vertx) {
+    assertNull(CircuitBreakers.of(vertx, CircuitBreakersTest.class, "any", new JsonObject()));
+  }
+
+  @Test
+  void opensOnceTheFailureRateIsReached(Vertx vertx, VertxTestContext test) {
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(vertx, Opening.class, "a", config(Opening.class, breaker()));
+    AtomicInteger invoked = new AtomicInteger();
+
+    run(breaker, OK, FAILED, OK)
+      .compose(ignore -> {
+        assertEquals("CLOSED", state(Opening.class), "fewer than minimumCalls");
+        return run(breaker, FAILED);
+      })
+      .compose(ignore -> breaker.execute(() -> {
+        invoked.incrementAndGet();
+        return OK;
+      }))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(Service.OVERLOADED, ((ReplyException) failure).failureCode());
+        assertEquals(0, invoked.get());
+        assertEquals("OPEN", state(Opening.class));
+        assertEquals(1L, CircuitBreakers.stats().getJsonObject(Opening.class.getName()).getLong("rejected"));
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void ignoresClientErrors(Vertx vertx, VertxTestContext test) {
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(vertx, ClientErrors.class, "a", config(ClientErrors.class, breaker()));
+
+    run(breaker, REJECTED, REJECTED, REJECTED, REJECTED).onComplete(test.succeeding(ignore -> test.verify(() -> {
+      assertEquals("CLOSED", state(ClientErrors.class));
+      assertEquals(0d, CircuitBreakers.stats().getJsonObject(ClientErrors.class.getName()).getDouble("failureRate"));
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void closesAfterASuccessfulProbe(Vertx vertx, VertxTestContext test) {
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(vertx, Probing.class, "a", config(Probing.class, breaker()));
+
+    run(breaker, FAILED, FAILED, FAILED, FAILED).onComplete(test.succeeding(ignore -> {
+      test.verify(() -> assertEquals("OPEN", state(Probing.class)));
+      vertx.setTimer(400, id -> test.verify(() -> {
+        assertEquals("HALF_OPEN", state(Probing.class));
+        breaker.execute(() -> OK).onComplete(test.succeeding(result -> test.verify(() -> {
+          assertEquals("CLOSED", state(Probing.class));
+          assertEquals(0d, CircuitBreakers.stats().getJsonObject(Probing.class.getName()).getDouble("failureRate"));
+          test.completeNow();
+        })));
+      }));
+    }));
+  }
+
+  @Test
+  void reopensAfterAFailedProbe(Vertx vertx, VertxTestContext test) {
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(vertx, Reopening.class, "a", config(Reopening.class, breaker()));
+
+    run(breaker, FAILED, FAILED, FAILED, FAILED).onComplete(test.succeeding(ignore ->
+      vertx.setTimer(400, id -> breaker.execute(() -> FAILED).onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(500, ((ReplyException) failure).failureCode());
+        assertEquals("OPEN", state(Reopening.class));
+        test.completeNow();
+      }))))));
+  }
+
+  @Test
+  void opensOnSlowCalls(Vertx vertx, VertxTestContext test) {
+    JsonObject config = breaker().put("slowCallMillis", 20).put("slowCallRateThreshold", 50).put("minimumCalls", 2);
+    CircuitBreakers.Breaker breaker = CircuitBreakers.of(vertx, Slow.class, "a", config(Slow.class, config));
+
+    breaker.execute(() -> OK)
+      .compose(ignore -> breaker.execute(() -> Future.future(promise -> vertx.setTimer(50, id -> promise.complete("late")))))
+      .onComplete(test.succeeding(result -> test.verify(() -> {
+        assertEquals("late", result);
+        assertEquals("OPEN", state(Slow.class));
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void givesConfiguredActionsABreakerOfTheirOwn(Vertx vertx) {
+    JsonObject config = config(PerAction.class, breaker().put("actions", new JsonObject().put("search", new JsonObject().put("slowCallMillis", 10))));
+
+    CircuitBreakers.Breaker search = CircuitBreakers.of(vertx, PerAction.class, "search", config);
+    CircuitBreakers.Breaker find = CircuitBreakers.of(vertx, PerAction.class, "find", config);
+
+    assertNotSame(search, find);
+    assertSame(find, CircuitBreakers.of(vertx, PerAction.class, "get", config));
+    assertTrue(CircuitBreakers.stats().containsKey(PerAction.class.getName() + ".search"));
+  }
+
+  @Test
+  void countsOnlyDegradedReplies() {
+    assertTrue(CircuitBreakers.isFailure(new IllegalStateException()));
+    assertTrue(CircuitBreakers.isFailure(new ReplyException(ReplyFailure.TIMEOUT, -1, "timeout")));
+    assertTrue(CircuitBreakers.isFailure(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, 503, "down")));
+    assertFalse(CircuitBreakers.isFailure(new ReplyException(ReplyFailure.RECIPIENT_FAILURE, 404, "missing")));
+  }
+}
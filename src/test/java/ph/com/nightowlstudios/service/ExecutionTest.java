@@ -0,0 +1,133 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.core.Deadline;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ExecutionTest {
+
+  public static class BlockingService extends Service {
+    private final CountDownLatch arrived = new CountDownLatch(2);
+
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public Boolean onEventLoop() {
+      return Context.isOnEventLoopThread();
+    }
+
+    /**
+     * Blocks until the other caller arrived too, which only happens when both run at the same time.
+     */
+    public Boolean rendezvous() throws InterruptedException {
+      this.arrived.countDown();
+      return this.arrived.await(5, TimeUnit.SECONDS);
+    }
+
+    public Long remaining() {
+      Deadline deadline = Deadline.current();
+      return deadline == null ? -1L : deadline.remaining();
+    }
+
+    public String broken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+  private static Future<String> deploy(Vertx vertx, Execution execution) {
+    return vertx.deployVerticle(new BlockingService(), new DeploymentOptions()
+      .setConfig(new JsonObject().put(Execution.CONFIG_KEY, execution.name())));
+  }
+
+  private static ServiceBus<BlockingService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, BlockingService.class);
+  }
+
+  @Test
+  void parsesModesWhateverTheDefaultLocale() {
+    Locale locale = Locale.getDefault();
+    try {
+      Locale.setDefault(new Locale("tr", "TR"));
+      assertEquals(Execution.VIRTUAL_THREADS, Execution.of("virtual_threads"));
+      assertEquals(Execution.WORKER, Execution.of("worker"));
+      assertEquals(Execution.EVENT_LOOP, Execution.of(null));
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test
+  void runsOnTheEventLoopByDefault(Vertx vertx, VertxTestContext test) {
+    deploy(vertx, Execution.EVENT_LOOP)
+      .compose(id -> bus(vertx).<Boolean>request("onEventLoop"))
+      .onComplete(test.succeeding(onEventLoop -> test.verify(() -> {
+        assertEquals(Optional.of(true), onEventLoop);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void runsVirtualThreadActionsOffTheEventLoop(Vertx vertx, VertxTestContext test) {
+    deploy(vertx, Execution.VIRTUAL_THREADS)
+      .compose(id -> bus(vertx).<Boolean>request("onEventLoop"))
+      .onComplete(test.succeeding(onEventLoop -> test.verify(() -> {
+        assertEquals(Optional.of(false), onEventLoop);
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void runsVirtualThreadActionsConcurrently(Vertx vertx, VertxTestContext test) {
+    deploy(vertx, Execution.VIRTUAL_THREADS).onComplete(test.succeeding(id -> {
+      Future<Optional<Boolean>> first = bus(vertx).request("rendezvous");
+      Future<Optional<Boolean>> second = bus(vertx).request("rendezvous");
+      CompositeFuture.all(first, second).onComplete(test.succeeding(done -> test.verify(() -> {
+        assertEquals(Optional.of(true), first.result());
+        assertEquals(Optional.of(true), second.result());
+        test.completeNow();
+      })));
+    }));
+  }
+
+  @Test
+  void carriesTheDeadlineToTheVirtualThread(Vertx vertx, VertxTestContext test) {
+    deploy(vertx, Execution.VIRTUAL_THREADS)
+      .compose(id -> bus(vertx).withDeadline(Deadline.in(5_000)).<Long>request("remaining"))
+      .onComplete(test.succeeding(remaining -> test.verify(() -> {
+        assertTrue(remaining.get() > 0, "remaining " + remaining.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void repliesWithTheFailureOfAThrowingAction(Vertx vertx, VertxTestContext test) {
+    deploy(vertx, Execution.VIRTUAL_THREADS)
+      .compose(id -> bus(vertx).<String>request("broken"))
+      .onComplete(test.failing(failure -> test.verify(() -> {
+        assertEquals(500, ((ReplyException) failure).failureCode());
+        test.completeNow();
+      })));
+  }
+}
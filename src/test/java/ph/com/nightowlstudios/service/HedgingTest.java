@@ -0,0 +1,144 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Actions are tracked by name across tests, so each test hedges an action of its own.
+ *
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class HedgingTest {
+
+  private static final Class<?> SERVICE = HedgingTest.class;
+
+  private static Hedging hedging(int budgetPercent) {
+    return Hedging.of(new JsonObject().put("percentile", 95d).put("minDelayMillis", 20L).put("budgetPercent", budgetPercent));
+  }
+
+  /**
+   * Times enough fast replies for <code>action</code> to be hedged from then on.
+   */
+  private static void warmUp(Vertx vertx, Hedging hedging, String action) {
+    for (int i = 0; i < 128; i++) {
+      hedging.run(vertx, SERVICE, action, address -> Future.succeededFuture());
+    }
+  }
+
+  private static JsonObject stats(String action) {
+    return Hedging.stats().getJsonObject("actions").getJsonObject(SERVICE.getName() + "." + action);
+  }
+
+  @Test
+  void doesNotHedgeUntilEnoughRepliesWereTimed(Vertx vertx, VertxTestContext test) {
+    List<String> addresses = Collections.synchronizedList(new ArrayList<>());
+    Promise<String> reply = Promise.promise();
+
+    hedging(100).run(vertx, SERVICE, "cold", address -> {
+      addresses.add(address);
+      return reply.future();
+    }).onComplete(test.succeeding(result -> test.verify(() -> {
+      assertEquals(Collections.singletonList(SERVICE.getName()), addresses);
+      assertNull(stats("cold").getJsonObject("delayMillis").getValue("p95"));
+      test.completeNow();
+    })));
+    vertx.setTimer(100, id -> reply.complete("late"));
+  }
+
+  @Test
+  void hedgesToAnInstanceAndTakesTheFirstReply(Vertx vertx, VertxTestContext test) {
+    Hedging hedging = hedging(100);
+    warmUp(vertx, hedging, "find");
+    String instance = Hedging.join(vertx, SERVICE);
+    List<String> addresses = Collections.synchronizedList(new ArrayList<>());
+
+    hedging.run(vertx, SERVICE, "find", address -> {
+      addresses.add(address);
+      return address.equals(instance) ? Future.succeededFuture("hedge") : Promise.<String>promise().future();
+    }).onComplete(test.succeeding(result -> vertx.runOnContext(v -> test.verify(() -> {
+      Hedging.leave(vertx, SERVICE, instance);
+      assertEquals("hedge", result);
+      assertEquals(SERVICE.getName(), addresses.get(0));
+      assertEquals(instance, addresses.get(1));
+      JsonObject stats = stats("find");
+      assertEquals(1L, stats.getLong("hedged"));
+      assertEquals(1L, stats.getLong("hedgeWins"));
+      assertTrue(stats.getJsonObject("delayMillis").getDouble("p95") >= 0);
+      test.completeNow();
+    }))));
+  }
+
+  @Test
+  void succeedsWhenOnlyOneAttemptFails(Vertx vertx, VertxTestContext test) {
+    Hedging hedging = hedging(100);
+    warmUp(vertx, hedging, "get");
+    List<String> addresses = Collections.synchronizedList(new ArrayList<>());
+
+    hedging.run(vertx, SERVICE, "get", address -> {
+      boolean hedge = !addresses.isEmpty();
+      addresses.add(address);
+      // The primary fails once the hedge was sent, the hedge replies after that.
+      return Future.future(promise -> vertx.setTimer(hedge ? 60 : 50, id -> {
+        if (hedge) {
+          promise.complete("hedge");
+        } else {
+          promise.fail("primary down");
+        }
+      }));
+    }).onComplete(test.succeeding(result -> test.verify(() -> {
+      assertEquals("hedge", result);
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void failsOnceEveryAttemptFailed(Vertx vertx, VertxTestContext test) {
+    Hedging hedging = hedging(100);
+    warmUp(vertx, hedging, "load");
+    List<String> failures = new ArrayList<>();
+
+    hedging.run(vertx, SERVICE, "load", address -> {
+      String failure = "attempt " + failures.size();
+      failures.add(failure);
+      return Future.future(promise -> vertx.setTimer(50, id -> promise.fail(failure)));
+    }).onComplete(test.failing(failure -> test.verify(() -> {
+      assertEquals(2, failures.size());
+      assertEquals("attempt 0", failure.getMessage());
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void hedgesNoMoreThanTheBudgetAllows(Vertx vertx, VertxTestContext test) {
+    Hedging hedging = hedging(0);
+    warmUp(vertx, hedging, "scan");
+    List<Future> requests = new ArrayList<>();
+
+    for (int i = 0; i < 12; i++) {
+      requests.add(hedging.run(vertx, SERVICE, "scan",
+        address -> Future.future(promise -> vertx.setTimer(100, id -> promise.complete(address)))));
+    }
+
+    CompositeFuture.all(requests).onComplete(test.succeeding(done -> test.verify(() -> {
+      long hedged = stats("scan").getLong("hedged");
+      assertTrue(hedged < 12, "hedged " + hedged);
+      assertTrue(Hedging.stats().getDouble("budgetTokens") < 1);
+      test.completeNow();
+    })));
+  }
+}
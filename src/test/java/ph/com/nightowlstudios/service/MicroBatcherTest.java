@@ -0,0 +1,122 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class MicroBatcherTest {
+
+  public static class StockService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public Future<Integer> stock(String sku) {
+      return "missing".equals(sku)
+        ? Future.failedFuture(new NoSuchElementException("no " + sku))
+        : Future.succeededFuture(sku.length());
+    }
+  }
+
+  private final AtomicInteger batches = new AtomicInteger();
+
+  @BeforeEach
+  void deploy(Vertx vertx, VertxTestContext test) {
+    vertx.eventBus().addOutboundInterceptor(delivery -> {
+      if (delivery.message().headers().contains(ServiceUtils.BATCH)) {
+        this.batches.incrementAndGet();
+      }
+      delivery.next();
+    });
+    vertx.deployVerticle(new StockService(), test.succeedingThenComplete());
+  }
+
+  private static ServiceBus<StockService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, StockService.class);
+  }
+
+  @Test
+  void repliesToEveryCallOfABatchInOrder(Vertx vertx, VertxTestContext test) {
+    List<Object[]> payloads = Arrays.asList(new Object[]{"a"}, new Object[]{"missing"}, new Object[]{"abc"});
+
+    bus(vertx).<Integer>requestBatch("stock", payloads).onComplete(test.succeeding(results -> test.verify(() -> {
+      assertEquals(3, results.size());
+      assertEquals(Optional.of(1), results.get(0).result());
+      AsyncResult<Optional<Integer>> missing = results.get(1);
+      assertTrue(missing.failed());
+      assertEquals(404, ((ReplyException) missing.cause()).failureCode());
+      assertEquals(Optional.of(3), results.get(2).result());
+      assertEquals(1, this.batches.get());
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void sendsAFullBatchRightAway(Vertx vertx, VertxTestContext test) {
+    MicroBatcher<Integer> batcher = bus(vertx).batcher("stock", 60_000, 3);
+
+    Future<Optional<Integer>> a = batcher.request("a");
+    Future<Optional<Integer>> ab = batcher.request("ab");
+    Future<Optional<Integer>> abc = batcher.request("abc");
+
+    CompositeFuture.all(a, ab, abc).onComplete(test.succeeding(done -> test.verify(() -> {
+      assertEquals(Optional.of(1), a.result());
+      assertEquals(Optional.of(2), ab.result());
+      assertEquals(Optional.of(3), abc.result());
+      assertEquals(1, this.batches.get());
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void sendsWhatJoinedOnceTheWindowCloses(Vertx vertx, VertxTestContext test) {
+    MicroBatcher<Integer> batcher = bus(vertx).batcher("stock", 20, 100);
+
+    Future<Optional<Integer>> a = batcher.request("a");
+    Future<Optional<Integer>> missing = batcher.request("missing");
+
+    CompositeFuture.join(a, missing).onComplete(done -> test.verify(() -> {
+      assertEquals(Optional.of(1), a.result());
+      assertEquals(404, ((ReplyException) missing.cause()).failureCode());
+      assertEquals(1, this.batches.get());
+      test.completeNow();
+    }));
+  }
+
+  @Test
+  void flushesPendingCallsOnDemand(Vertx vertx, VertxTestContext test) {
+    MicroBatcher<Integer> batcher = bus(vertx).batcher("stock", 60_000, 100);
+
+    Future<Optional<Integer>> ab = batcher.request("ab");
+    batcher.flush();
+    Future<Optional<Integer>> abc = batcher.request("abc");
+    batcher.flush();
+
+    CompositeFuture.all(ab, abc).onComplete(test.succeeding(done -> test.verify(() -> {
+      assertEquals(Optional.of(2), ab.result());
+      assertEquals(Optional.of(3), abc.result());
+      assertEquals(2, this.batches.get());
+      test.completeNow();
+    })));
+  }
+}
@@ -0,0 +1,131 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class PayloadCodecsTest {
+
+  enum Color {RED, GREEN}
+
+  interface Named {
+  }
+
+  interface Labeled {
+  }
+
+  interface Tagged extends Named {
+  }
+
+  static class Base {
+  }
+
+  static class Derived extends Base implements Named {
+  }
+
+  static class Both implements Labeled, Named {
+  }
+
+  static class Indirect implements Tagged, Labeled {
+  }
+
+  /**
+   * Encodes <code>value</code>, sends it through its JSON text form, and decodes it back as <code>type</code>.
+   */
+  private static Object roundTrip(Class<?> type, Object value) {
+    String wire = new JsonObject().put("payload", PayloadCodecs.encode(value)).encode();
+    return PayloadCodecs.decode(type, new JsonObject(wire).getValue("payload"));
+  }
+
+  @Test
+  void roundTripsBuiltIns() {
+    UUID id = UUID.randomUUID();
+    Instant now = Instant.now();
+
+    assertEquals(42L, roundTrip(Long.class, 42L));
+    assertEquals((short) 7, roundTrip(Short.class, (short) 7));
+    assertEquals('x', roundTrip(Character.class, 'x'));
+    assertEquals(id, roundTrip(UUID.class, id));
+    assertEquals(now, roundTrip(Instant.class, now));
+    assertEquals(LocalDate.of(2026, 10, 17), roundTrip(LocalDate.class, LocalDate.of(2026, 10, 17)));
+    assertEquals(new BigDecimal("12.50"), roundTrip(BigDecimal.class, new BigDecimal("12.50")));
+    assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) roundTrip(byte[].class, new byte[]{1, 2, 3}));
+    assertEquals(Buffer.buffer("edge"), roundTrip(Buffer.class, Buffer.buffer("edge")));
+    assertEquals(Color.GREEN, roundTrip(Color.class, Color.GREEN));
+  }
+
+  @Test
+  void roundTripsCollectionsWithTheirItemTypes() {
+    List<Object> list = new ArrayList<>(Arrays.asList(1L, "two", null, Color.RED));
+    Set<UUID> set = new LinkedHashSet<>(Collections.singleton(UUID.randomUUID()));
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("when", LocalDate.of(2026, 10, 17));
+    map.put("items", list);
+
+    assertEquals(list, roundTrip(ArrayList.class, list));
+    assertEquals(set, roundTrip(LinkedHashSet.class, set));
+    assertEquals(map, roundTrip(LinkedHashMap.class, map));
+    assertTrue(roundTrip(TreeMap.class, new TreeMap<>(map)) instanceof TreeMap);
+  }
+
+  @Test
+  void rejectsMapsWithNonStringKeys() {
+    Map<Integer, String> map = Collections.singletonMap(1, "one");
+
+    assertThrows(IllegalArgumentException.class, () -> PayloadCodecs.encode(new HashMap<>(map)));
+  }
+
+  @Test
+  void prefersTheNearestSuperclassOverInterfaces() {
+    PayloadCodecs.register(Named.class, PayloadCodecs.of(value -> "named", value -> null));
+    PayloadCodecs.register(Base.class, PayloadCodecs.of(value -> "base", value -> null));
+
+    assertEquals("base", PayloadCodecs.encode(new Derived()));
+  }
+
+  @Test
+  void resolvesInterfacesBreadthFirstInDeclarationOrder() {
+    PayloadCodecs.register(Named.class, PayloadCodecs.of(value -> "named", value -> null));
+    PayloadCodecs.register(Labeled.class, PayloadCodecs.of(value -> "labeled", value -> null));
+
+    assertEquals("labeled", PayloadCodecs.encode(new Both()));
+    assertEquals("labeled", PayloadCodecs.encode(new Indirect()), "direct interfaces come before inherited ones");
+  }
+
+  @Test
+  void registeringReplacesResolvedCodecs() {
+    class Money {
+    }
+    Money money = new Money();
+    assertSame(money, PayloadCodecs.encode(money));
+
+    PayloadCodecs.register(Money.class, PayloadCodecs.of(value -> "money", value -> new Money()));
+
+    assertEquals("money", PayloadCodecs.encode(money));
+  }
+
+  @Test
+  void rejectsUnknownTypeNames() {
+    assertThrows(IllegalArgumentException.class, () -> PayloadCodecs.classOf("ph.com.nightowlstudios.Missing"));
+  }
+
+  @Test
+  void encodesBytesWithTheAlphabetOfJsonBinaries() {
+    byte[] bytes = {(byte) 0xfb, (byte) 0xff, (byte) 0xfe, 1};
+
+    assertArrayEquals(bytes, new JsonObject().put("payload", PayloadCodecs.encode(bytes)).getBinary("payload"));
+    assertArrayEquals(bytes, (byte[]) PayloadCodecs.decode(byte[].class, new JsonObject().put("payload", bytes).getValue("payload")));
+    assertEquals(Buffer.buffer(bytes), PayloadCodecs.decode(Buffer.class, new JsonObject().put("payload", bytes).getValue("payload")));
+  }
+}
@@ -0,0 +1,154 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import org.junit.jupiter.api.Test;
+import ph.com.nightowlstudios.metrics.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+class ServiceActionsTest {
+
+  public static class GreetingService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public String greet(String name) {
+      return "Hello, " + name;
+    }
+
+    public String greet(String name, int times) {
+      return "Hello x" + times + ", " + name;
+    }
+
+    public Future<Integer> add(int a, int b) {
+      return Future.succeededFuture(a + b);
+    }
+
+    public Integer add(Integer a, Integer b) {
+      return -1;
+    }
+
+    public void ping() {
+    }
+
+    public int size(Collection<?> items) {
+      return items.size();
+    }
+
+    public int size(List<?> items) {
+      return -items.size();
+    }
+
+    @Override
+    public void start() {
+    }
+  }
+
+  public static class MapKeyService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public List<Map<Integer, String>> byId() {
+      return null;
+    }
+  }
+
+  private final ServiceActions actions = ServiceActions.of(new GreetingService());
+
+  @Test
+  void resolvesOverloadsByWireTypes() throws Throwable {
+    ServiceActions.Action one = actions.lookup("greet", new JsonArray().add(String.class.getName()));
+    ServiceActions.Action two = actions.lookup("greet", new JsonArray().add(String.class.getName()).add(Integer.class.getName()));
+
+    assertEquals("Hello, edge", one.invoke(new Object[]{"edge"}));
+    assertEquals("Hello x2, edge", two.invoke(new Object[]{"edge", 2}));
+  }
+
+  @Test
+  void resolvesOverloadsByArgumentClasses() throws Throwable {
+    assertEquals("Hello, edge", actions.lookup("greet", new Object[]{"edge"}).invoke(new Object[]{"edge"}));
+    assertNull(actions.lookup("greet", new Object[]{"edge", "2"}));
+    assertNull(actions.lookup("greet", new Object[]{"edge", null}), "null cannot be passed as a primitive");
+  }
+
+  @Test
+  void resolvesArgumentsOfASubtypeOfTheParameter() throws Throwable {
+    Object[] set = {new HashSet<>(Arrays.asList(1, 2))};
+    Object[] list = {new ArrayList<>(Arrays.asList(1, 2, 3))};
+    Object[] unmodifiable = {Collections.unmodifiableList(Arrays.asList(1, 2, 3, 4))};
+
+    assertEquals(2, actions.lookup("size", set).invoke(set));
+    assertEquals(-3, actions.lookup("size", list).invoke(list));
+    assertEquals(-4, actions.lookup("size", unmodifiable).invoke(unmodifiable));
+    assertNotNull(actions.lookup("size", new Object[]{null}));
+    assertNull(actions.lookup("size", new Object[]{"not a collection"}));
+  }
+
+  @Test
+  void resolvesWireTypesOfASubtypeOfTheParameter() throws Throwable {
+    JsonArray set = new JsonArray().add(HashSet.class.getName());
+    JsonArray list = new JsonArray().add(ArrayList.class.getName());
+
+    assertEquals(1, actions.lookup("size", set).invoke(new Object[]{Collections.singleton(1)}));
+    assertEquals(-1, actions.lookup("size", list).invoke(new Object[]{Collections.singletonList(1)}));
+    assertNotNull(actions.lookup("size", new JsonArray().add(ServiceUtils.NIL_TYPE)));
+    assertNull(actions.lookup("size", new JsonArray().add(String.class.getName())));
+    assertNull(actions.lookup("size", new JsonArray().add("ph.com.nightowlstudios.Missing")));
+    assertNull(actions.lookup("greet", new JsonArray().add(String.class.getName()).add(ServiceUtils.NIL_TYPE)),
+      "null cannot be passed as a primitive");
+  }
+
+  @Test
+  void keepsThePrimitiveOverloadOfAnAmbiguousPair() throws Throwable {
+    ServiceActions.Action add = actions.lookup("add", new JsonArray().add(Integer.class.getName()).add(Integer.class.getName()));
+
+    assertArrayEquals(new Class<?>[]{Integer.class, Integer.class}, add.wireParameterTypes());
+    assertEquals(3, ((Future<?>) add.invoke(new Object[]{1, 2})).result());
+  }
+
+  @Test
+  void returnsNullForUnknownActionsAndSignatures() {
+    assertNull(actions.lookup("farewell", new JsonArray()));
+    assertNull(actions.lookup("greet", new JsonArray().add(Long.class.getName())));
+    assertNull(actions.lookup("ping", new JsonArray().add(String.class.getName())));
+    assertNotNull(actions.lookup("ping", new JsonArray()));
+  }
+
+  @Test
+  void excludesLifecycleAndInheritedMethods() {
+    assertFalse(actions.contains("start"));
+    assertFalse(actions.contains("setup"));
+    assertFalse(actions.contains("getVertx"));
+    assertFalse(actions.contains("deploymentID"));
+    assertFalse(actions.hasCachedActions());
+  }
+
+  @Test
+  void labelsMetricsWithKnownActionsOnly() {
+    assertEquals("greet", ServiceActions.metricsLabel(GreetingService.class, "greet"));
+    assertEquals(Metrics.UNKNOWN_ACTION, ServiceActions.metricsLabel(GreetingService.class, "start"));
+    assertEquals(Metrics.UNKNOWN_ACTION, ServiceActions.metricsLabel(GreetingService.class, "x" + System.nanoTime()));
+    assertEquals(Metrics.UNKNOWN_ACTION, ServiceActions.metricsLabel(GreetingService.class, null));
+  }
+
+  @Test
+  void rejectsMapPayloadsWithNonStringKeys() {
+    assertThrows(IllegalStateException.class, () -> ServiceActions.of(new MapKeyService()));
+  }
+
+  @Test
+  void namesSignaturesLikeTheGeneratedSkeletons() throws NoSuchMethodException {
+    assertEquals("greet(java.lang.String,int)",
+      ServiceActions.signatureOf(GreetingService.class.getMethod("greet", String.class, int.class)));
+  }
+}
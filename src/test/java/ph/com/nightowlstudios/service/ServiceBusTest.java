@@ -0,0 +1,150 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ServiceBusTest {
+
+  public static class CatalogService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public Integer count(List<String> names) {
+      return names.size();
+    }
+
+    public String total(Map<String, Integer> scores) {
+      return scores.keySet() + "=" + scores.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public String describe(String prefix, Collection<Integer> numbers) {
+      return prefix + ":" + numbers;
+    }
+
+    public String describe(String prefix, List<Integer> numbers) {
+      return "list " + prefix + ":" + numbers;
+    }
+
+    public Set<String> tags(Set<String> tags) {
+      return new TreeSet<>(tags);
+    }
+
+    public Integer visit(String page) {
+      return visits.incrementAndGet();
+    }
+  }
+
+  static final AtomicInteger visits = new AtomicInteger();
+
+  @BeforeEach
+  void deploy(Vertx vertx, VertxTestContext test) {
+    visits.set(0);
+    vertx.deployVerticle(new CatalogService(), test.succeedingThenComplete());
+  }
+
+  private static ServiceBus<CatalogService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, CatalogService.class);
+  }
+
+  @Test
+  void callsActionsDeclaringCollectionParameters(Vertx vertx, VertxTestContext test) {
+    Map<String, Integer> scores = new LinkedHashMap<>();
+    scores.put("a", 1);
+    scores.put("b", 2);
+    ServiceBus<CatalogService> bus = bus(vertx);
+
+    Future<Optional<Integer>> count = bus.request("count", Arrays.asList("x", "y", "z"));
+    Future<Optional<String>> total = bus.request("total", scores);
+    Future<Optional<Set<String>>> tags = bus.request("tags", new HashSet<>(Arrays.asList("b", "a")));
+
+    CompositeFuture.all(count, total, tags).onComplete(test.succeeding(done -> test.verify(() -> {
+      assertEquals(3, count.result().get());
+      assertEquals("[a, b]=3", total.result().get());
+      assertEquals(new TreeSet<>(Arrays.asList("a", "b")), tags.result().get());
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void prefersTheOverloadDeclaringTheExactType(Vertx vertx, VertxTestContext test) {
+    ServiceBus<CatalogService> bus = bus(vertx);
+
+    Future<Optional<String>> list = bus.request("describe", "n", new ArrayList<>(Arrays.asList(1, 2)));
+    Future<Optional<String>> set = bus.request("describe", "n", new LinkedHashSet<>(Arrays.asList(1, 2)));
+
+    CompositeFuture.all(list, set).onComplete(test.succeeding(done -> test.verify(() -> {
+      assertEquals("list n:[1, 2]", list.result().get());
+      assertEquals("n:[1, 2]", set.result().get());
+      test.completeNow();
+    })));
+  }
+
+  @Test
+  void sendsNullArguments(Vertx vertx, VertxTestContext test) {
+    bus(vertx).<String>request("describe", null, new ArrayList<>(Collections.singletonList(1)))
+      .onComplete(test.succeeding(reply -> test.verify(() -> {
+        assertEquals("list null:[1]", reply.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void callsActionsDeclaringCollectionParametersInBinary(Vertx vertx, VertxTestContext test) {
+    bus(vertx).wireFormat(ServiceBus.WireFormat.BINARY).<Integer>request("count", Arrays.asList("x", "y"))
+      .onComplete(test.succeeding(reply -> test.verify(() -> {
+        assertEquals(2, reply.get());
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void bindsOptionsOnACopy(Vertx vertx) {
+    ServiceBus<CatalogService> bus = bus(vertx);
+
+    assertNotSame(bus, bus.wireFormat(ServiceBus.WireFormat.BINARY));
+    assertNotSame(bus, bus.priority(Priority.INTERACTIVE));
+    assertNotSame(bus, bus.partitionBy(0));
+    assertNotSame(bus, bus.coalesce("visit"));
+    assertNotSame(bus, bus.hedge("visit"));
+    assertNotSame(bus, bus.fallback("visit", failure -> 0));
+  }
+
+  @Test
+  void leavesTheBusItCoalescesFromAsIs(Vertx vertx, VertxTestContext test) {
+    ServiceBus<CatalogService> bus = bus(vertx);
+    ServiceBus<CatalogService> coalescing = bus.coalesce("visit");
+
+    // requests are made on a context so the first reply cannot land before the second request
+    vertx.runOnContext(v -> {
+      Future<Optional<Integer>> first = coalescing.request("visit", "home");
+      Future<Optional<Integer>> second = coalescing.request("visit", "home");
+      CompositeFuture.all(first, second)
+        .onComplete(test.succeeding(shared -> test.verify(() -> {
+          assertEquals(first.result(), second.result());
+          assertEquals(1, visits.get());
+        })))
+        .compose(shared -> CompositeFuture.all(bus.request("visit", "home"), bus.request("visit", "home")))
+        .onComplete(test.succeeding(separate -> test.verify(() -> {
+          assertEquals(3, visits.get());
+          test.completeNow();
+        })));
+    });
+  }
+}
@@ -0,0 +1,121 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ServicePartitionsTest {
+
+  enum Region {NORTH, SOUTH}
+
+  private static final Class<?> SERVICE = ServicePartitionsTest.class;
+
+  private static List<String> keys() {
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      keys.add("order-" + i);
+    }
+    return keys;
+  }
+
+  private static void start(Vertx vertx, int instances) {
+    for (int i = 0; i < instances; i++) {
+      ServicePartitions.join(vertx, SERVICE, ServicePartitions.claim(vertx, SERVICE));
+    }
+  }
+
+  @Test
+  void claimsTheLowestFreePartition(Vertx vertx) {
+    assertEquals(0, ServicePartitions.claim(vertx, SERVICE));
+    assertEquals(1, ServicePartitions.claim(vertx, SERVICE));
+    assertEquals(2, ServicePartitions.claim(vertx, SERVICE));
+
+    ServicePartitions.release(vertx, SERVICE, 1);
+
+    assertEquals(1, ServicePartitions.claim(vertx, SERVICE));
+    assertEquals(0, ServicePartitions.claim(vertx, String.class), "partitions are counted per service");
+  }
+
+  @Test
+  void routesToTheServiceAddressWithoutPartitions(Vertx vertx) {
+    ServicePartitions.claim(vertx, SERVICE);
+
+    assertEquals(SERVICE.getName(), ServicePartitions.addressOf(vertx, SERVICE, "key"), "claimed partitions get no keys");
+  }
+
+  @Test
+  void routesEveryKeyToAJoinedPartition(Vertx vertx) {
+    start(vertx, 4);
+    Map<String, Integer> load = new HashMap<>();
+
+    for (String key : keys()) {
+      String address = ServicePartitions.addressOf(vertx, SERVICE, key);
+      assertEquals(address, ServicePartitions.addressOf(vertx, SERVICE, key));
+      load.merge(address, 1, Integer::sum);
+    }
+
+    assertEquals(4, load.size());
+    for (int partition = 0; partition < 4; partition++) {
+      assertTrue(load.get(ServicePartitions.address(SERVICE, partition)) > 100, load.toString());
+    }
+  }
+
+  @Test
+  void movesOnlyTheKeysOfALeavingPartition(Vertx vertx) {
+    start(vertx, 4);
+    String leaving = ServicePartitions.address(SERVICE, 2);
+    Map<String, String> before = new HashMap<>();
+    keys().forEach(key -> before.put(key, ServicePartitions.addressOf(vertx, SERVICE, key)));
+
+    ServicePartitions.leave(vertx, SERVICE, 2);
+
+    before.forEach((key, address) -> {
+      String after = ServicePartitions.addressOf(vertx, SERVICE, key);
+      assertNotEquals(leaving, after);
+      if (!address.equals(leaving)) {
+        assertEquals(address, after, key);
+      }
+    });
+  }
+
+  @Test
+  void keepsRingsPerVertx(Vertx vertx) {
+    Vertx other = Vertx.vertx();
+    try {
+      start(vertx, 2);
+
+      assertEquals(SERVICE.getName(), ServicePartitions.addressOf(other, SERVICE, "key"));
+      assertEquals(0, ServicePartitions.claim(other, SERVICE));
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  void hashesKeysByValue(Vertx vertx) {
+    start(vertx, 8);
+    UUID id = UUID.randomUUID();
+    PartitionKey key = () -> "order-7";
+
+    assertEquals(ServicePartitions.addressOf(vertx, SERVICE, "order-7"), ServicePartitions.addressOf(vertx, SERVICE, key));
+    assertEquals(ServicePartitions.addressOf(vertx, SERVICE, "NORTH"), ServicePartitions.addressOf(vertx, SERVICE, Region.NORTH));
+    assertEquals(ServicePartitions.addressOf(vertx, SERVICE, "42"), ServicePartitions.addressOf(vertx, SERVICE, 42L));
+    assertEquals(ServicePartitions.addressOf(vertx, SERVICE, id), ServicePartitions.addressOf(vertx, SERVICE, UUID.fromString(id.toString())));
+  }
+
+  @Test
+  void rejectsKeysNotHashedByValue(Vertx vertx) {
+    assertThrows(IllegalArgumentException.class, () -> ServicePartitions.addressOf(vertx, SERVICE, new Object()));
+    assertThrows(IllegalArgumentException.class, () -> ServicePartitions.addressOf(vertx, SERVICE, null));
+  }
+}
@@ -0,0 +1,180 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class ServiceStreamTest {
+
+  /**
+   * Emits <code>1..count</code> on its context, only while there is demand.
+   */
+  static final class Numbers implements ReadStream<Integer> {
+    private final Context context = Vertx.currentContext();
+    private final int count;
+    private Handler<Integer> handler;
+    private Handler<Void> endHandler;
+    private long demand;
+    private int next = 1;
+    private boolean scheduled;
+
+    Numbers(int count) {
+      this.count = count;
+    }
+
+    private void emit() {
+      this.scheduled = false;
+      while (this.demand > 0 && this.handler != null && this.next <= this.count) {
+        this.demand--;
+        this.handler.handle(this.next++);
+      }
+      if (this.next > this.count && this.endHandler != null) {
+        Handler<Void> end = this.endHandler;
+        this.endHandler = null;
+        end.handle(null);
+      }
+    }
+
+    @Override
+    public ReadStream<Integer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> handler(Handler<Integer> handler) {
+      this.handler = handler;
+      if (handler == null) {
+        cancelled.incrementAndGet();
+      }
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> pause() {
+      this.demand = 0;
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> resume() {
+      return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<Integer> fetch(long amount) {
+      this.demand = amount;
+      if (!this.scheduled) {
+        this.scheduled = true;
+        this.context.runOnContext(v -> emit());
+      }
+      return this;
+    }
+
+    @Override
+    public ReadStream<Integer> endHandler(Handler<Void> endHandler) {
+      this.endHandler = endHandler;
+      return this;
+    }
+  }
+
+  static final AtomicInteger cancelled = new AtomicInteger();
+
+  public static class NumberService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public ReadStream<Integer> count(Integer count) {
+      return new Numbers(count);
+    }
+
+    public List<String> letters() {
+      return Arrays.asList("a", "b", "c");
+    }
+  }
+
+  @BeforeEach
+  void deploy(Vertx vertx, VertxTestContext test) {
+    cancelled.set(0);
+    vertx.deployVerticle(new NumberService(), test.succeedingThenComplete());
+  }
+
+  private static ServiceBus<NumberService> bus(Vertx vertx) {
+    return new ServiceBus<>(vertx, NumberService.class);
+  }
+
+  @Test
+  void readsEveryItemThroughTheCreditWindow(Vertx vertx, VertxTestContext test) {
+    List<Integer> items = new ArrayList<>();
+    bus(vertx).<Integer>stream("count", 1000).onComplete(test.succeeding(stream -> stream
+      .handler(items::add)
+      .endHandler(v -> test.verify(() -> {
+        assertEquals(1000, items.size());
+        assertEquals(1, items.get(0));
+        assertEquals(1000, items.get(999));
+        test.completeNow();
+      }))));
+  }
+
+  @Test
+  void emitsOnlyWhatWasFetched(Vertx vertx, VertxTestContext test) {
+    List<Integer> items = new ArrayList<>();
+    bus(vertx).<Integer>stream("count", 100).onComplete(test.succeeding(stream -> {
+      stream.pause().handler(items::add).endHandler(v -> test.verify(() -> {
+        assertEquals(100, items.size());
+        test.completeNow();
+      }));
+      stream.fetch(5);
+      vertx.setTimer(200, id -> test.verify(() -> {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), items);
+        stream.resume();
+      }));
+    }));
+  }
+
+  @Test
+  void cancelsTheServiceStreamOnClose(Vertx vertx, VertxTestContext test) {
+    bus(vertx).<Integer>stream("count", 100_000).onComplete(test.succeeding(stream -> {
+      List<Integer> items = new ArrayList<>();
+      stream.handler(item -> {
+        items.add(item);
+        if (items.size() == 10) {
+          ((ServiceStream<Integer>) stream).close();
+        }
+      });
+      vertx.setTimer(300, id -> test.verify(() -> {
+        assertEquals(1, cancelled.get());
+        test.completeNow();
+      }));
+    }));
+  }
+
+  @Test
+  void emitsCollectionRepliesItemByItem(Vertx vertx, VertxTestContext test) {
+    List<String> items = new ArrayList<>();
+    bus(vertx).<String>stream("letters").onComplete(test.succeeding(stream -> stream
+      .handler(items::add)
+      .endHandler(v -> test.verify(() -> {
+        assertEquals(Arrays.asList("a", "b", "c"), items);
+        test.completeNow();
+      }))));
+  }
+}
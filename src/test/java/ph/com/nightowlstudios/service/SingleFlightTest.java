@@ -0,0 +1,131 @@
+package ph.com.nightowlstudios.service;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.core.Deadline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class SingleFlightTest {
+
+  private static final String SERVICE = "UserService";
+
+  private static <T> Future<T> run(Vertx vertx, Priority priority, Deadline deadline, Object[] arguments, Supplier<Future<T>> request) {
+    return SingleFlight.run(vertx, SERVICE, "find", priority, deadline, arguments, request);
+  }
+
+  @Test
+  void coalescesIdenticalRequestsInFlight(Vertx vertx) {
+    Promise<String> response = Promise.promise();
+    AtomicInteger sent = new AtomicInteger();
+    Supplier<Future<String>> request = () -> {
+      sent.incrementAndGet();
+      return response.future();
+    };
+
+    Future<String> leader = run(vertx, Priority.NORMAL, null, new Object[]{"id-1"}, request);
+    Future<String> follower = run(vertx, Priority.NORMAL, null, new Object[]{"id-1"}, request);
+    Future<String> other = run(vertx, Priority.NORMAL, null, new Object[]{"id-2"}, request);
+    response.complete("user");
+
+    assertEquals(2, sent.get());
+    assertEquals("user", leader.result());
+    assertEquals("user", follower.result());
+    assertEquals("user", other.result());
+    JsonObject stats = SingleFlight.stats(vertx).getJsonObject(SERVICE + ".find");
+    assertEquals(2L, stats.getLong("sent"));
+    assertEquals(1L, stats.getLong("coalesced"));
+  }
+
+  @Test
+  void forgetsCompletedRequests(Vertx vertx) {
+    AtomicInteger sent = new AtomicInteger();
+    Supplier<Future<Integer>> request = () -> Future.succeededFuture(sent.incrementAndGet());
+
+    assertEquals(1, run(vertx, Priority.NORMAL, null, new Object[0], request).result());
+    assertEquals(2, run(vertx, Priority.NORMAL, null, new Object[0], request).result());
+  }
+
+  @Test
+  void forgetsRequestsThatThrow(Vertx vertx) {
+    Future<Object> thrown = run(vertx, Priority.NORMAL, null, new Object[0], () -> {
+      throw new IllegalStateException("boom");
+    });
+
+    assertTrue(thrown.cause() instanceof IllegalStateException);
+    assertEquals("again", run(vertx, Priority.NORMAL, null, new Object[0], () -> Future.succeededFuture((Object) "again")).result());
+  }
+
+  @Test
+  void keepsLanesAndDeadlinesApart(Vertx vertx) {
+    Promise<String> response = Promise.promise();
+    AtomicInteger sent = new AtomicInteger();
+    Supplier<Future<String>> request = () -> {
+      sent.incrementAndGet();
+      return response.future();
+    };
+    Deadline deadline = Deadline.in(10_000);
+    Object[] arguments = {"id-1"};
+
+    run(vertx, Priority.NORMAL, null, arguments, request);
+    run(vertx, Priority.BULK, null, arguments, request);
+    run(vertx, Priority.NORMAL, deadline, arguments, request);
+    run(vertx, Priority.NORMAL, deadline, arguments, request);
+    run(vertx, Priority.NORMAL, Deadline.in(20_000), arguments, request);
+
+    assertEquals(4, sent.get());
+  }
+
+  @Test
+  void keepsVertxInstancesApart(Vertx vertx) {
+    Vertx other = Vertx.vertx();
+    try {
+      Promise<String> response = Promise.promise();
+      AtomicInteger sent = new AtomicInteger();
+      Supplier<Future<String>> request = () -> {
+        sent.incrementAndGet();
+        return response.future();
+      };
+
+      run(vertx, Priority.NORMAL, null, new Object[0], request);
+      run(other, Priority.NORMAL, null, new Object[0], request);
+
+      assertEquals(2, sent.get());
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  void completesFollowersOnTheirOwnContext(Vertx vertx, VertxTestContext test) {
+    Context leaderContext = vertx.getOrCreateContext();
+    Context followerContext = vertx.getOrCreateContext();
+    Promise<String> response = Promise.promise();
+
+    leaderContext.runOnContext(v -> {
+      run(vertx, Priority.NORMAL, null, new Object[]{"id"}, response::future);
+      followerContext.runOnContext(w -> run(vertx, Priority.NORMAL, null, new Object[]{"id"}, () -> Future.<String>failedFuture("not coalesced"))
+        .onComplete(test.succeeding(result -> test.verify(() -> {
+          assertEquals("user", result);
+          assertSame(followerContext, Vertx.currentContext());
+          test.completeNow();
+        }))));
+      vertx.setTimer(50, id -> leaderContext.runOnContext(x -> response.complete("user")));
+    });
+  }
+}
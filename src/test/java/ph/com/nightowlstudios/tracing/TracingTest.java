@@ -0,0 +1,186 @@
+package ph.com.nightowlstudios.tracing;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ph.com.nightowlstudios.service.Service;
+import ph.com.nightowlstudios.service.ServiceBus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author <a href="mailto:josephharveyangeles@gmail.com">Joseph Harvey Angeles - <i>yev</i></a>
+ * @since 10/17/26
+ **/
+@ExtendWith(VertxExtension.class)
+class TracingTest {
+
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+  private static final String PARENT_ID = "00f067aa0ba902b7";
+
+  public static class TracedService extends Service {
+    @Override
+    protected void setup(Vertx vertx) {
+    }
+
+    public String traceparent() {
+      return Tracing.current().traceparent();
+    }
+  }
+
+  private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+
+  @BeforeEach
+  void enable() {
+    // Tracing stays enabled once configured, every test of the JVM shares it.
+    Tracing.configure(Sampler.ALWAYS, this.exporter);
+  }
+
+  @Test
+  void continuesAValidTraceparent() {
+    Span span = Tracing.start("GET /users", "00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+
+    assertEquals(TRACE_ID, span.traceId());
+    assertEquals(PARENT_ID, span.parentId());
+    assertTrue(span.sampled());
+    assertFalse(Tracing.start("GET /users", "00-" + TRACE_ID + "-" + PARENT_ID + "-00").sampled());
+  }
+
+  @Test
+  void acceptsFieldsAddedByLaterVersions() {
+    Span span = Tracing.start("GET /users", "01-" + TRACE_ID + "-" + PARENT_ID + "-01-extra");
+
+    assertEquals(TRACE_ID, span.traceId());
+  }
+
+  @Test
+  void startsANewTraceOnInvalidHeaders() {
+    String[] invalid = {
+      "",
+      "00-" + TRACE_ID + "-" + PARENT_ID,
+      "00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01",
+      "00-" + TRACE_ID + "0-" + PARENT_ID + "-01",
+      "00-00000000000000000000000000000000-" + PARENT_ID + "-01",
+      "00-" + TRACE_ID + "-0000000000000000-01",
+      "ff-" + TRACE_ID + "-" + PARENT_ID + "-01",
+      "00-" + TRACE_ID + "-" + PARENT_ID + "-01-extra",
+      "0g-" + TRACE_ID + "-" + PARENT_ID + "-01"
+    };
+    for (String traceparent : invalid) {
+      Span span = Tracing.start("GET /users", traceparent);
+      assertNotEquals(TRACE_ID, span.traceId(), traceparent);
+      assertNull(span.parentId(), traceparent);
+    }
+  }
+
+  @Test
+  void writesChildrenAsTraceparents() {
+    Span root = Tracing.start("root", (String) null);
+    Span child = root.child("child");
+
+    assertEquals(root.traceId(), child.traceId());
+    assertEquals(root.spanId(), child.parentId());
+    assertEquals("00-" + child.traceId() + "-" + child.spanId() + "-01", child.traceparent());
+    assertTrue(child.traceparent().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"), child.traceparent());
+  }
+
+  @Test
+  void isCurrentOnlyWhileCalled() {
+    Span root = Tracing.start("root", (String) null);
+
+    Span child = Tracing.call(root, () -> Tracing.start("child"));
+
+    assertEquals(root.spanId(), child.parentId());
+    assertNull(Tracing.current());
+  }
+
+  @Test
+  void exportsSampledSpansOnce() {
+    Span span = Tracing.start("work", (String) null).tag("key", "value");
+    span.end(new IllegalStateException("broken"));
+    span.end();
+
+    List<Span> spans = this.exporter.spans();
+    assertEquals(1, spans.size());
+    assertEquals("value", spans.get(0).tags().get("key"));
+    assertEquals("broken", spans.get(0).error());
+    assertTrue(spans.get(0).durationNanos() >= 0);
+  }
+
+  @Test
+  void keepsNothingOfUnsampledSpans() {
+    Span span = Tracing.start("work", "00-" + TRACE_ID + "-" + PARENT_ID + "-00").tag("key", "value");
+    span.end();
+
+    assertTrue(span.tags().isEmpty());
+    assertTrue(this.exporter.spans().isEmpty());
+  }
+
+  @Test
+  void samplesTheSameTraceTheSameWay() {
+    Sampler half = Sampler.ratio(0.5);
+    int sampled = 0;
+    for (int i = 0; i < 1000; i++) {
+      String traceId = Span.newTraceId();
+      assertEquals(half.sample(traceId), half.sample(traceId));
+      sampled += half.sample(traceId) ? 1 : 0;
+    }
+    assertTrue(sampled > 400 && sampled < 600, "sampled " + sampled);
+    assertSame(Sampler.NEVER, Sampler.ratio(0));
+    assertSame(Sampler.ALWAYS, Sampler.ratio(1));
+  }
+
+  @Test
+  void carriesTheTraceToTheService(Vertx vertx, VertxTestContext test) {
+    Span root = Tracing.start("GET /users", (String) null);
+    vertx.deployVerticle(new TracedService())
+      .compose(id -> new ServiceBus<>(vertx, TracedService.class).withSpan(root).<String>request("traceparent"))
+      .onComplete(test.succeeding(traceparent -> test.verify(() -> {
+        String[] parts = traceparent.get().split("-");
+        assertEquals(root.traceId(), parts[1]);
+
+        Span server = find(parts[2]);
+        Span client = find(server.parentId());
+        assertEquals(root.spanId(), client.parentId());
+        assertEquals("server", server.tags().get("span.kind"));
+        assertEquals("client", client.tags().get("span.kind"));
+        test.completeNow();
+      })));
+  }
+
+  @Test
+  void continuesTheTraceOfHttpRequests(Vertx vertx, VertxTestContext test) {
+    Router router = Router.router(vertx);
+    router.route().handler(Tracing.handler());
+    router.get("/trace").handler(ctx -> ctx.response().end(Tracing.current().traceparent()));
+    vertx.createHttpServer().requestHandler(router).listen(0)
+      .compose(server -> vertx.createHttpClient()
+        .request(HttpMethod.GET, server.actualPort(), "localhost", "/trace")
+        .compose(request -> request.putHeader(Tracing.HEADER, "00-" + TRACE_ID + "-" + PARENT_ID + "-01").send())
+        .compose(response -> response.body()))
+      .onComplete(test.succeeding(body -> test.verify(() -> {
+        String[] parts = body.toString().split("-");
+        assertEquals(TRACE_ID, parts[1]);
+        assertNotEquals(PARENT_ID, parts[2]);
+        test.completeNow();
+      })));
+  }
+
+  /**
+   * @return the exported span with the given id, spans end before their replies are read.
+   */
+  private Span find(String spanId) {
+    return this.exporter.spans().stream()
+      .filter(span -> span.spanId().equals(spanId))
+      .findFirst()
+      .orElseThrow(() -> new AssertionError("No exported span " + spanId));
+  }
+}